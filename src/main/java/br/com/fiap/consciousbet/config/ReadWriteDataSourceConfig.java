@@ -0,0 +1,77 @@
+package br.com.fiap.consciousbet.config;
+
+import br.com.fiap.consciousbet.datasource.ReadWriteRoutingDataSource;
+import br.com.fiap.consciousbet.datasource.ReadYourWritesTracker;
+import br.com.fiap.consciousbet.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Roteamento primário/réplicas (consciousbet.datasource.routing.enabled=true). Desligado, vale o
+// DataSource único do spring.datasource.*
+@Configuration
+@ConditionalOnProperty(name = "consciousbet.datasource.routing.enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${consciousbet.datasource.sticky-ms:10000}") long stickyMs) {
+        return new ReadYourWritesTracker(stickyMs);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            DataSourceProperties properties, ReadYourWritesTracker tracker,
+            @Value("${consciousbet.datasource.replica-urls:}") List<String> replicaUrls,
+            @Value("${consciousbet.datasource.replica-username:}") String replicaUsername,
+            @Value("${consciousbet.datasource.replica-password:}") String replicaPassword) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+
+        // Sem usuário próprio, as réplicas usam as credenciais do primário
+        boolean ownCredentials = !replicaUsername.isBlank();
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(ownCredentials ? replicaUsername : properties.determineUsername())
+                    .password(ownCredentials ? replicaPassword : properties.determinePassword())
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, tracker);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReadWriteRoutingDataSource routingDataSource,
+            @Value("${consciousbet.datasource.replica-lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${consciousbet.datasource.replica-lag-column:Seconds_Behind_Source}") String lagColumn,
+            @Value("${consciousbet.datasource.replica-max-lag-seconds:5}") long maxLagSeconds) {
+        return new ReplicaLagMonitor(routingDataSource, lagQuery, lagColumn, maxLagSeconds);
+    }
+
+    // DataSource usado por JPA, JdbcTemplate e Flyway
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
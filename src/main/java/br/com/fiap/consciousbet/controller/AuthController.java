@@ -93,13 +93,13 @@ public class AuthController {
         System.out.println("🎫 Token extracted (first 30 chars): " + token.substring(0, Math.min(30, token.length())) + "...");
 
         try {
-            boolean isValid = jwtUtil.validateToken(token);
+            String email = jwtUtil.verify(token);
+            boolean isValid = email != null;
 
             Map<String, Object> response = new HashMap<>();
             response.put("valid", isValid);
 
             if (isValid) {
-                String email = jwtUtil.extractEmail(token);
                 response.put("email", email);
                 response.put("message", "Token is valid");
                 System.out.println("✅ Token validation successful for: " + email);
@@ -1,9 +1,25 @@
 package br.com.fiap.consciousbet.controller;
 
+import br.com.fiap.consciousbet.dto.BetBatchCreateDTO;
+import br.com.fiap.consciousbet.dto.BetBatchResponseDTO;
 import br.com.fiap.consciousbet.dto.BetCreateDTO;
+import br.com.fiap.consciousbet.dto.BetIngestionStatusDTO;
+import br.com.fiap.consciousbet.dto.BetStatsRebuildResultDTO;
 import br.com.fiap.consciousbet.dto.BetResponseDTO;
+import br.com.fiap.consciousbet.dto.BetSearchDTO;
 import br.com.fiap.consciousbet.dto.BetUpdateDTO;
+import br.com.fiap.consciousbet.dto.CursorPageDTO;
+import br.com.fiap.consciousbet.dto.IdListDTO;
+import br.com.fiap.consciousbet.dto.IdempotentBetResult;
+import br.com.fiap.consciousbet.dto.LookupItemDTO;
+import br.com.fiap.consciousbet.dto.UserBetStatsDTO;
+import br.com.fiap.consciousbet.export.ExportFormat;
+import br.com.fiap.consciousbet.export.RowExportWriter;
+import br.com.fiap.consciousbet.ledger.LimitDecision;
 import br.com.fiap.consciousbet.service.BetService;
+import br.com.fiap.consciousbet.service.BetStatsService;
+import br.com.fiap.consciousbet.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,15 +27,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -29,10 +50,20 @@ import java.util.Map;
 @Tag(name = "Bet Management", description = "APIs for managing bets")
 public class BetController {
 
+    private static final String[] BET_CSV_HEADER =
+            {"id", "userId", "userName", "userEmail", "amount", "type", "description", "status", "timestamp"};
+
     private final BetService betService;
+    private final IdempotencyService idempotencyService;
+    private final BetStatsService betStatsService;
+    private final ObjectMapper objectMapper;
 
-    public BetController(BetService betService) {
+    public BetController(BetService betService, IdempotencyService idempotencyService,
+                         BetStatsService betStatsService, ObjectMapper objectMapper) {
         this.betService = betService;
+        this.idempotencyService = idempotencyService;
+        this.betStatsService = betStatsService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -40,12 +71,65 @@ public class BetController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Bet created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input data or betting limits exceeded"),
-            @ApiResponse(responseCode = "404", description = "User not found")
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "422", description = "Betting limit exceeded"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key reused with a different body or still in progress")
     })
-    public ResponseEntity<BetResponseDTO> createBet(@Valid @RequestBody BetCreateDTO dto) {
+    public ResponseEntity<BetResponseDTO> createBet(
+            @Valid @RequestBody BetCreateDTO dto,
+            @Parameter(description = "Unique key so that client retries create the bet only once")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         System.out.println("POST /api/bets - Creating bet for user: " + dto.getUserId());
-        BetResponseDTO createdBet = betService.create(dto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdBet);
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            BetResponseDTO createdBet = betService.create(dto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdBet);
+        }
+
+        if (idempotencyKey.length() > 100) {
+            throw new IllegalArgumentException("Idempotency-Key must not exceed 100 characters");
+        }
+        IdempotentBetResult result = idempotencyService.createBet(idempotencyKey, dto);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(result.isReplayed()))
+                .body(result.getBet());
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create bets in batch", description = "Creates up to 500 bets in one request, returning a result per item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; each item is CREATED or REJECTED with a reason"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    public ResponseEntity<BetBatchResponseDTO> createBets(@Valid @RequestBody BetBatchCreateDTO dto) {
+        System.out.println("POST /api/bets/batch - Creating " + dto.getBets().size() + " bets");
+        BetBatchResponseDTO result = betService.createBatch(dto.getBets());
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/async")
+    @Operation(summary = "Submit a bet asynchronously",
+            description = "Admits the bet against the daily limits and queues it for group-committed persistence")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Bet accepted and queued"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "503", description = "Asynchronous ingestion disabled or queue full")
+    })
+    public ResponseEntity<BetIngestionStatusDTO> submitBet(@Valid @RequestBody BetCreateDTO dto) {
+        BetIngestionStatusDTO status = betService.submit(dto);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/bets/async/" + status.getTrackingId()))
+                .body(status);
+    }
+
+    @GetMapping("/async/{trackingId}")
+    @Operation(summary = "Get queued bet status", description = "Returns QUEUED, PERSISTED (with bet ID) or FAILED")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status found"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired tracking ID")
+    })
+    public ResponseEntity<BetIngestionStatusDTO> getSubmissionStatus(@PathVariable String trackingId) {
+        return ResponseEntity.ok(betService.getIngestionStatus(trackingId));
     }
 
     @GetMapping
@@ -57,33 +141,101 @@ public class BetController {
         return ResponseEntity.ok(bets);
     }
 
-    @GetMapping("/list")
-    @Operation(summary = "Get all bets as list", description = "Retrieves all bets as a simple list")
-    @ApiResponse(responseCode = "200", description = "Bets retrieved successfully")
-    public ResponseEntity<List<BetResponseDTO>> getAllBetsList() {
-        List<BetResponseDTO> bets = betService.findAll();
-        return ResponseEntity.ok(bets);
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get bets by IDs",
+            description = "Retrieves several bets in one query (ids=1,2,3); results follow the request order " +
+                    "and missing IDs come back with found=false")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bets retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No IDs or too many IDs")
+    })
+    public ResponseEntity<List<LookupItemDTO<BetResponseDTO>>> getBetsByIds(@Valid @ModelAttribute IdListDTO dto) {
+        return ResponseEntity.ok(betService.findAllById(dto.getIds()));
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Get bets by IDs (body)", description = "Same as GET /api/bets?ids=..., for long ID lists")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bets retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No IDs or too many IDs")
+    })
+    public ResponseEntity<List<LookupItemDTO<BetResponseDTO>>> lookupBets(@Valid @RequestBody IdListDTO dto) {
+        return ResponseEntity.ok(betService.findAllById(dto.getIds()));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get bets by cursor",
+            description = "Retrieves bets newest first using keyset pagination; pass nextCursor to get the next slice")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bets retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPageDTO<BetResponseDTO>> getBetsByCursor(
+            @Parameter(description = "Opaque cursor from the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(betService.findSlice(cursor, size));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search bets",
+            description = "Combines optional filters (userId, status, type, minAmount, maxAmount, from, to) " +
+                    "and returns bets newest first using keyset pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bets retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filters or cursor")
+    })
+    public ResponseEntity<CursorPageDTO<BetResponseDTO>> searchBets(
+            @ParameterObject @Valid @ModelAttribute BetSearchDTO filters,
+            @Parameter(description = "Opaque cursor from the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(betService.search(filters, cursor, size));
+    }
+
+    @GetMapping(value = "/list", produces = {ExportFormat.NDJSON_VALUE, ExportFormat.CSV_VALUE})
+    @Operation(summary = "Export all bets",
+            description = "Streams all bets as NDJSON (default) or CSV (format=csv or Accept: text/csv), one row at a time")
+    @ApiResponse(responseCode = "200", description = "Bets streamed successfully")
+    public ResponseEntity<StreamingResponseBody> getAllBetsList(
+            @Parameter(description = "ndjson or csv") @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        ExportFormat exportFormat = ExportFormat.resolve(format, accept);
+        System.out.println("GET /api/bets/list - Exporting bets as " + exportFormat);
+
+        StreamingResponseBody body = out -> {
+            try (RowExportWriter<BetResponseDTO> writer = RowExportWriter.open(exportFormat, out, objectMapper,
+                    BET_CSV_HEADER, BetController::toCsvColumns)) {
+                betService.exportAll(writer::write);
+            }
+        };
+        return ResponseEntity.ok().contentType(exportFormat.getMediaType()).body(body);
+    }
+
+    @GetMapping("/count")
+    @Operation(summary = "Count bets", description = "Returns the total number of bets")
+    @ApiResponse(responseCode = "200", description = "Bet count retrieved successfully")
+    public ResponseEntity<Long> countBets() {
+        return ResponseEntity.ok(betService.count());
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get bet by ID", description = "Retrieves a specific bet by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Bet found"),
+            @ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)"),
             @ApiResponse(responseCode = "404", description = "Bet not found")
     })
-    public ResponseEntity<BetResponseDTO> getBetById(@PathVariable Long id) {
+    public ResponseEntity<BetResponseDTO> getBetById(@PathVariable Long id, WebRequest request) {
         System.out.println("GET /api/bets/" + id);
-        BetResponseDTO bet = betService.findById(id);
-        return ResponseEntity.ok(bet);
+        return ConditionalGet.respond(request, betService.getVersion(id), () -> betService.findById(id));
     }
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get bets by user", description = "Retrieves all bets for a specific user")
     @ApiResponse(responseCode = "200", description = "User bets retrieved successfully")
-    public ResponseEntity<List<BetResponseDTO>> getBetsByUserId(@PathVariable Long userId) {
+    public ResponseEntity<List<BetResponseDTO>> getBetsByUserId(@PathVariable Long userId, WebRequest request) {
         System.out.println("GET /api/bets/user/" + userId);
-        List<BetResponseDTO> bets = betService.findByUserId(userId);
-        return ResponseEntity.ok(bets);
+        return ConditionalGet.respond(request, betService.getUserBetsVersion(userId),
+                () -> betService.findByUserId(userId));
     }
 
     @GetMapping("/user/{userId}/paginated")
@@ -91,9 +243,26 @@ public class BetController {
     @ApiResponse(responseCode = "200", description = "User bets retrieved successfully")
     public ResponseEntity<Page<BetResponseDTO>> getBetsByUserIdPaginated(
             @PathVariable Long userId,
-            @PageableDefault(size = 10, sort = "timestamp") Pageable pageable) {
-        Page<BetResponseDTO> bets = betService.findByUserId(userId, pageable);
-        return ResponseEntity.ok(bets);
+            @PageableDefault(size = 10, sort = "timestamp") Pageable pageable,
+            WebRequest request) {
+        return ConditionalGet.respond(request, betService.getUserBetsVersion(userId),
+                () -> betService.findByUserId(userId, pageable));
+    }
+
+    @GetMapping("/user/{userId}/cursor")
+    @Operation(summary = "Get bets by user by cursor",
+            description = "Retrieves user bets newest first using keyset pagination; pass nextCursor to get the next slice")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User bets retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPageDTO<BetResponseDTO>> getBetsByUserIdCursor(
+            @PathVariable Long userId,
+            @Parameter(description = "Opaque cursor from the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return ConditionalGet.respond(request, betService.getUserBetsVersion(userId),
+                () -> betService.findSliceByUserId(userId, cursor, size));
     }
 
     @GetMapping("/user/{userId}/recent")
@@ -180,39 +349,46 @@ public class BetController {
     @GetMapping("/user/{userId}/stats")
     @Operation(summary = "Get user betting statistics", description = "Retrieves betting statistics for a user")
     @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
-    public ResponseEntity<Map<String, Object>> getUserBettingStats(@PathVariable Long userId) {
-        BigDecimal totalAmount = betService.getTotalAmountByUserId(userId);
-        long totalBets = betService.countByUserId(userId);
-
-        LocalDateTime yesterday = LocalDateTime.now().minusHours(24);
-        BigDecimal dailyAmount = betService.getTotalAmountByUserIdSince(userId, yesterday);
-        long dailyBets = betService.countByUserIdSince(userId, yesterday);
-
-        Map<String, Object> stats = Map.of(
-                "userId", userId,
-                "totalAmount", totalAmount,
-                "totalBets", totalBets,
-                "dailyAmount", dailyAmount,
-                "dailyBets", dailyBets,
-                "averageBetAmount", totalBets > 0 ? totalAmount.divide(BigDecimal.valueOf(totalBets), 2, BigDecimal.ROUND_HALF_UP) : BigDecimal.ZERO
-        );
-
+    public ResponseEntity<UserBetStatsDTO> getUserBettingStats(@PathVariable Long userId) {
+        UserBetStatsDTO stats = betStatsService.getStats(userId);
         return ResponseEntity.ok(stats);
     }
 
+    @PostMapping("/stats/rebuild")
+    @Operation(summary = "Rebuild betting statistics", description = "Rebuilds the per-user statistics rollup from the bets table in parallel")
+    @ApiResponse(responseCode = "200", description = "Rollup rebuilt successfully")
+    public ResponseEntity<BetStatsRebuildResultDTO> rebuildBettingStats() {
+        System.out.println("POST /api/bets/stats/rebuild");
+        BetStatsRebuildResultDTO result = betStatsService.rebuild();
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/user/{userId}/can-bet")
-    @Operation(summary = "Check if user can bet", description = "Checks if a user can place a bet of specified amount")
+    @Operation(summary = "Check if user can bet", description = "Checks if a user can place a bet of specified amount (and optionally type)")
     @ApiResponse(responseCode = "200", description = "Check completed successfully")
     public ResponseEntity<Map<String, Object>> canUserBet(@PathVariable Long userId,
-                                                          @RequestParam BigDecimal amount) {
-        boolean canBet = betService.canUserBet(userId, amount);
+                                                          @RequestParam BigDecimal amount,
+                                                          @RequestParam(required = false) String type) {
+        String betType = type != null ? type.toUpperCase() : null;
+        LimitDecision decision = betService.evaluateBet(userId, betType, amount);
 
-        Map<String, Object> result = Map.of(
-                "userId", userId,
-                "requestedAmount", amount,
-                "canBet", canBet
-        );
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("userId", userId);
+        result.put("requestedAmount", amount);
+        result.put("canBet", decision.isAllowed());
+        if (!decision.isAllowed()) {
+            result.put("violatedRule", decision.getRule());
+            result.put("betType", decision.getScope());
+            result.put("message", decision.getMessage());
+        }
+        result.put("remainingAmount", decision.getRemainingAmount());
+        result.put("remainingBets", decision.getRemainingBets());
 
         return ResponseEntity.ok(result);
     }
-}
\ No newline at end of file
+
+    private static Object[] toCsvColumns(BetResponseDTO bet) {
+        return new Object[]{bet.getId(), bet.getUserId(), bet.getUserName(), bet.getUserEmail(), bet.getAmount(),
+                bet.getType(), bet.getDescription(), bet.getStatus(), bet.getTimestamp()};
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.fiap.consciousbet.controller;
+
+import br.com.fiap.consciousbet.dto.ResourceVersionDTO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// GET condicional: compara o If-None-Match com o ETag antes de montar a resposta, então um 304
+// não carrega entidades nem serializa corpo. Respostas têm dados pessoais: só cache privado.
+final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    // Aposta liquidada: os dados dela não mudam, mas nome e email do usuário na resposta sim. Fica
+    // fresca por pouco tempo e depois é revalidada pelo ETag (que inclui a versão do usuário)
+    private static final CacheControl SETTLED = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePrivate().mustRevalidate();
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(WebRequest request, ResourceVersionDTO version, Supplier<T> body) {
+        CacheControl cacheControl = version.isSettled() ? SETTLED : REVALIDATE;
+        String eTag = version.getETag();
+        if (eTag == null) {
+            return ResponseEntity.ok().body(body.get());
+        }
+
+        // checkNotModified já grava o status 304 e o ETag na resposta
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(body.get());
+    }
+}
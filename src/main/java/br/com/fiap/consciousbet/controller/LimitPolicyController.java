@@ -0,0 +1,65 @@
+package br.com.fiap.consciousbet.controller;
+
+import br.com.fiap.consciousbet.dto.LimitPolicyDTO;
+import br.com.fiap.consciousbet.dto.LimitPolicyResponseDTO;
+import br.com.fiap.consciousbet.service.LimitPolicyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/limits")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Limit Policies", description = "APIs for managing per-user responsible gambling limits")
+public class LimitPolicyController {
+
+    private final LimitPolicyService limitPolicyService;
+
+    public LimitPolicyController(LimitPolicyService limitPolicyService) {
+        this.limitPolicyService = limitPolicyService;
+    }
+
+    @GetMapping("/users/{userId}")
+    @Operation(summary = "Get user limit policies", description = "Retrieves the active limit policies of a user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Policies retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<List<LimitPolicyResponseDTO>> getUserPolicies(@PathVariable Long userId) {
+        System.out.println("GET /api/limits/users/" + userId);
+        return ResponseEntity.ok(limitPolicyService.findByUserId(userId));
+    }
+
+    @PutMapping("/users/{userId}")
+    @Operation(summary = "Set user limit policy",
+            description = "Creates or replaces the user's limit for a period (DAILY, WEEKLY, MONTHLY) and bet type. Takes effect immediately")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Policy saved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<LimitPolicyResponseDTO> setUserPolicy(@PathVariable Long userId,
+                                                                @Valid @RequestBody LimitPolicyDTO dto) {
+        System.out.println("PUT /api/limits/users/" + userId);
+        return ResponseEntity.ok(limitPolicyService.upsert(userId, dto));
+    }
+
+    @DeleteMapping("/users/{userId}/{policyId}")
+    @Operation(summary = "Remove user limit policy", description = "Removes a limit policy; global limits still apply")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Policy removed successfully"),
+            @ApiResponse(responseCode = "404", description = "Policy not found")
+    })
+    public ResponseEntity<Void> deleteUserPolicy(@PathVariable Long userId, @PathVariable Long policyId) {
+        System.out.println("DELETE /api/limits/users/" + userId + "/" + policyId);
+        limitPolicyService.delete(userId, policyId);
+        return ResponseEntity.noContent().build();
+    }
+}
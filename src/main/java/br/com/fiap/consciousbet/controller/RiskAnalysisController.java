@@ -1,14 +1,19 @@
 package br.com.fiap.consciousbet.controller;
 
 import br.com.fiap.consciousbet.dto.AlertResponse;
+import br.com.fiap.consciousbet.dto.RiskSweepStatusDTO;
 import br.com.fiap.consciousbet.service.RiskAnalysisService;
+import br.com.fiap.consciousbet.service.RiskSweepService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/bets/alerts")
@@ -17,9 +22,11 @@ import org.springframework.web.bind.annotation.*;
 public class RiskAnalysisController {
 
     private final RiskAnalysisService riskAnalysisService;
+    private final RiskSweepService riskSweepService;
 
-    public RiskAnalysisController(RiskAnalysisService riskAnalysisService) {
+    public RiskAnalysisController(RiskAnalysisService riskAnalysisService, RiskSweepService riskSweepService) {
         this.riskAnalysisService = riskAnalysisService;
+        this.riskSweepService = riskSweepService;
     }
 
     @GetMapping("/{userId}")
@@ -34,4 +41,33 @@ public class RiskAnalysisController {
         AlertResponse analysis = riskAnalysisService.analyze(userId);
         return ResponseEntity.ok(analysis);
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to risk alerts",
+            description = "Server-Sent Events stream: sends the current alert, then a new 'alert' event whenever the user's risk level changes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscribed"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "503", description = "Subscriber limit reached")
+    })
+    public SseEmitter streamUserRisk(@PathVariable Long userId) {
+        System.out.println("GET /api/bets/alerts/" + userId + "/stream - Subscribing to risk alerts");
+        return riskAnalysisService.subscribe(userId);
+    }
+
+    @PostMapping("/sweep")
+    @Operation(summary = "Start risk sweep",
+            description = "Starts a background risk sweep over all users and writes the results to risk_snapshots")
+    @ApiResponse(responseCode = "202", description = "Sweep started (or already running)")
+    public ResponseEntity<RiskSweepStatusDTO> startSweep() {
+        System.out.println("POST /api/bets/alerts/sweep");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(riskSweepService.start());
+    }
+
+    @GetMapping("/sweep")
+    @Operation(summary = "Get risk sweep status", description = "Progress and throughput of the current or last risk sweep")
+    @ApiResponse(responseCode = "200", description = "Status retrieved successfully")
+    public ResponseEntity<RiskSweepStatusDTO> getSweepStatus() {
+        return ResponseEntity.ok(riskSweepService.getStatus());
+    }
+}
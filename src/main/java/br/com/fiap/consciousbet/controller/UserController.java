@@ -1,9 +1,16 @@
 package br.com.fiap.consciousbet.controller;
 
+import br.com.fiap.consciousbet.dto.CursorPageDTO;
+import br.com.fiap.consciousbet.dto.EmailFilterStatsDTO;
+import br.com.fiap.consciousbet.dto.IdListDTO;
+import br.com.fiap.consciousbet.dto.LookupItemDTO;
 import br.com.fiap.consciousbet.dto.UserCreateDTO;
 import br.com.fiap.consciousbet.dto.UserResponseDTO;
 import br.com.fiap.consciousbet.dto.UserUpdateDTO;
+import br.com.fiap.consciousbet.export.ExportFormat;
+import br.com.fiap.consciousbet.export.RowExportWriter;
 import br.com.fiap.consciousbet.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,22 +21,30 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+
 @RestController
 @RequestMapping("/api/users")
 @SecurityRequirement(name = "bearerAuth")
 @Tag(name = "User Management", description = "APIs for managing users")
 public class UserController {
 
+    private static final String[] USER_CSV_HEADER = {"id", "name", "email", "age", "createdAt", "updatedAt"};
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -53,8 +68,7 @@ public class UserController {
             @Parameter(description = "Use pagination") @RequestParam(defaultValue = "true") boolean paginated) {
 
         if (!paginated) {
-            List<UserResponseDTO> users = userService.findAll();
-            // Converter lista para Page para manter consistência da API
+            // Lista completa só via exportação em streaming (/api/users/list)
             return ResponseEntity.ok(Page.empty());
         }
 
@@ -62,24 +76,81 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
-    @GetMapping("/list")
-    @Operation(summary = "Get all users as list", description = "Retrieves all users as a simple list")
+    @GetMapping("/search")
+    @Operation(summary = "Search users by name",
+            description = "Partial, accent- and case-insensitive name search ranked by relevance " +
+                    "(whole words and word prefixes first)")
     @ApiResponse(responseCode = "200", description = "Users retrieved successfully")
-    public ResponseEntity<List<UserResponseDTO>> getAllUsersList() {
-        List<UserResponseDTO> users = userService.findAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<Page<UserResponseDTO>> searchUsersByName(
+            @RequestParam String name,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(userService.searchByName(name, pageable));
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get users by IDs",
+            description = "Retrieves several users in one query (ids=1,2,3); results follow the request order " +
+                    "and missing IDs come back with found=false")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No IDs or too many IDs")
+    })
+    public ResponseEntity<List<LookupItemDTO<UserResponseDTO>>> getUsersByIds(@Valid @ModelAttribute IdListDTO dto) {
+        return ResponseEntity.ok(userService.findAllById(dto.getIds()));
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Get users by IDs (body)", description = "Same as GET /api/users?ids=..., for long ID lists")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No IDs or too many IDs")
+    })
+    public ResponseEntity<List<LookupItemDTO<UserResponseDTO>>> lookupUsers(@Valid @RequestBody IdListDTO dto) {
+        return ResponseEntity.ok(userService.findAllById(dto.getIds()));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get users by cursor",
+            description = "Retrieves users in ID order using keyset pagination; pass nextCursor to get the next slice")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> getUsersByCursor(
+            @Parameter(description = "Opaque cursor from the previous slice") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.findSlice(cursor, size));
+    }
+
+    @GetMapping(value = "/list", produces = {ExportFormat.NDJSON_VALUE, ExportFormat.CSV_VALUE})
+    @Operation(summary = "Export all users",
+            description = "Streams all users as NDJSON (default) or CSV (format=csv or Accept: text/csv), one row at a time")
+    @ApiResponse(responseCode = "200", description = "Users streamed successfully")
+    public ResponseEntity<StreamingResponseBody> getAllUsersList(
+            @Parameter(description = "ndjson or csv") @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        ExportFormat exportFormat = ExportFormat.resolve(format, accept);
+        System.out.println("GET /api/users/list - Exporting users as " + exportFormat);
+
+        StreamingResponseBody body = out -> {
+            try (RowExportWriter<UserResponseDTO> writer = RowExportWriter.open(exportFormat, out, objectMapper,
+                    USER_CSV_HEADER, UserController::toCsvColumns)) {
+                userService.exportAll(writer::write);
+            }
+        };
+        return ResponseEntity.ok().contentType(exportFormat.getMediaType()).body(body);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Retrieves a specific user by their ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User found"),
+            @ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
-    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id, WebRequest request) {
         System.out.println("GET /api/users/" + id);
-        UserResponseDTO user = userService.findById(id);
-        return ResponseEntity.ok(user);
+        return ConditionalGet.respond(request, userService.getVersion(id), () -> userService.findById(id));
     }
 
     @GetMapping("/email/{email}")
@@ -151,4 +222,16 @@ public class UserController {
         boolean exists = userService.existsByEmail(email);
         return ResponseEntity.ok(exists);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/email-filter/stats")
+    @Operation(summary = "Email filter metrics", description = "Returns the size, false-positive rate and last rebuild time of the in-memory email filter")
+    @ApiResponse(responseCode = "200", description = "Email filter metrics retrieved successfully")
+    public ResponseEntity<EmailFilterStatsDTO> emailFilterStats() {
+        return ResponseEntity.ok(userService.getEmailFilterStats());
+    }
+
+    private static Object[] toCsvColumns(UserResponseDTO user) {
+        return new Object[]{user.getId(), user.getName(), user.getEmail(), user.getAge(),
+                user.getCreatedAt(), user.getUpdatedAt()};
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.fiap.consciousbet.counter;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.event.BetEvent;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import br.com.fiap.consciousbet.repository.UserRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Totais de usuários e apostas mantidos em memória, no lugar do COUNT(*) (varredura completa no InnoDB).
+// Ajustados depois do commit: criações de apostas pelos BetEvents, exclusões e usuários pelos serviços.
+// A reconciliação periódica corrige o que outras instâncias ou alterações diretas no banco mudaram.
+// O COUNT(*) vai ao primário e só é aceito se nenhum ajuste estava em andamento nem começou durante ele:
+// um ajuste concorrente pode ou não estar no COUNT, então a correção fica para a próxima rodada.
+@Component
+public class EntityCounters {
+
+    private final UserRepository userRepository;
+    private final BetRepository betRepository;
+    private final PrimaryReads primaryReads;
+    private final Counter users = new Counter("users");
+    private final Counter bets = new Counter("bets");
+
+    public EntityCounters(UserRepository userRepository, BetRepository betRepository, PrimaryReads primaryReads) {
+        this.userRepository = userRepository;
+        this.betRepository = betRepository;
+        this.primaryReads = primaryReads;
+    }
+
+    // Enquanto não houver a primeira carga, o COUNT(*) do banco
+    public long users() {
+        return users.get(userRepository::count);
+    }
+
+    public long bets() {
+        return bets.get(betRepository::count);
+    }
+
+    public void addUsers(long delta) {
+        adjust(users, delta);
+    }
+
+    public void addBets(long delta) {
+        adjust(bets, delta);
+    }
+
+    // Usuário excluído junto com as apostas dele (ON DELETE CASCADE); chamar antes da exclusão
+    public void removeUser(Long userId) {
+        long userBets = betRepository.countByUserId(userId);
+        adjust(users, -1);
+        adjust(bets, -userBets);
+    }
+
+    // Criações de apostas (criação única, lote e ingestão assíncrona), ainda dentro da transação:
+    // o ajuste fica em andamento até o commit (ou rollback)
+    @EventListener
+    public void onBetEvent(BetEvent event) {
+        if (event.getKind() == BetEvent.Kind.CREATED) {
+            adjust(bets, 1);
+        }
+    }
+
+    // Primeira execução logo na subida (carga inicial)
+    @Scheduled(fixedDelayString = "${consciousbet.counters.reconcile-ms:300000}")
+    public void reconcile() {
+        try {
+            users.reconcile(() -> primaryReads.read(userRepository::count));
+            bets.reconcile(() -> primaryReads.read(betRepository::count));
+        } catch (RuntimeException e) {
+            System.out.println("Counter reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    // Em andamento desde já; aplicado só se a transação confirmar
+    private static void adjust(Counter counter, long delta) {
+        counter.begin();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.end(delta, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                counter.end(delta, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private static final class Counter {
+
+        private final String name;
+        private final LongAdder value = new LongAdder();
+        // Ajustes iniciados (total) e ainda sem commit ou rollback
+        private final AtomicLong started = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean seeded;
+
+        Counter(String name) {
+            this.name = name;
+        }
+
+        long get(LongSupplier fallback) {
+            return seeded ? Math.max(0, value.sum()) : fallback.getAsLong();
+        }
+
+        void begin() {
+            started.incrementAndGet();
+            inFlight.incrementAndGet();
+        }
+
+        void end(long delta, boolean committed) {
+            if (committed) {
+                value.add(delta);
+            }
+            inFlight.decrementAndGet();
+        }
+
+        // Sem nada em andamento, o valor em memória corresponde a um estado confirmado do banco; se nada
+        // começou até o fim do COUNT, o banco não mudou por esta instância no meio e a diferença é só drift
+        synchronized void reconcile(LongSupplier dbCount) {
+            long mark = started.get();
+            if (inFlight.get() > 0) {
+                System.out.println("Counter '" + name + "' busy, reconciliation skipped");
+                return;
+            }
+            long before = value.sum();
+            long actual = dbCount.getAsLong();
+            if (started.get() != mark) {
+                System.out.println("Counter '" + name + "' changed during count, reconciliation skipped");
+                return;
+            }
+            long drift = actual - before;
+            value.add(drift);
+            if (seeded && drift != 0) {
+                System.out.println("Counter '" + name + "' corrected by " + drift + " (now " + actual + ")");
+            }
+            seeded = true;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.fiap.consciousbet.datasource;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+// Leituras que carregam estado mantido em memória (ledger de limites, risco, sketches, políticas).
+// Esse estado fica em cache por até 24h e depois só recebe incrementos, então não pode ser montado a
+// partir de uma réplica atrasada: dentro de uma transação readOnly (ou fora de transação, onde os
+// repositórios abrem uma readOnly), a leitura roda numa transação de escrita nova, que vai ao primário.
+@Component
+public class PrimaryReads {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PrimaryReads(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> T read(Supplier<T> query) {
+        // Transação de escrita em andamento: já está no primário
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return query.get();
+        }
+        return transactionTemplate.execute(status -> query.get());
+    }
+}
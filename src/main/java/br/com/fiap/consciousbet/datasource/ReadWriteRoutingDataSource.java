@@ -0,0 +1,95 @@
+package br.com.fiap.consciousbet.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Escritas e leituras fora de transação vão para o primário; transações readOnly vão para uma réplica
+// saudável (rodízio), exceto logo após uma escrita do mesmo cliente. Precisa ficar atrás de um
+// LazyConnectionDataSourceProxy: a conexão só é pedida depois que a transação marcou o readOnly.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger next = new AtomicInteger();
+    // Índices das réplicas dentro do limite de atraso (atualizado pelo ReplicaLagMonitor)
+    private volatile List<Integer> healthyReplicas = List.of();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker tracker) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(replicaKey(i), this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = ReadYourWritesTracker.currentClient();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Transação de escrita: abre a janela de aderência ao primário quando confirmar
+            if (client != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        tracker.recordWrite(client);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+
+        List<Integer> healthy = healthyReplicas;
+        if (healthy.isEmpty() || tracker.isSticky(client)) {
+            return PRIMARY;
+        }
+        return replicaKey(healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size())));
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public List<Integer> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    void updateHealthyReplicas(List<Integer> healthy) {
+        this.healthyReplicas = List.copyOf(healthy);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            closeQuietly(replica);
+        }
+        closeQuietly(primary);
+    }
+
+    private static void closeQuietly(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static String replicaKey(int index) {
+        return "replica-" + index;
+    }
+}
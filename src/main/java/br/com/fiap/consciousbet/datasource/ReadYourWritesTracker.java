@@ -0,0 +1,60 @@
+package br.com.fiap.consciousbet.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Lembra quem escreveu recentemente: durante a janela, as leituras desse cliente ficam no primário
+// para que ele veja a própria escrita mesmo com a réplica atrasada.
+// Cliente = usuário autenticado (JWT) ou, nas rotas públicas, o endereço de origem da requisição.
+public class ReadYourWritesTracker {
+
+    private final long stickyMs;
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long stickyMs) {
+        this.stickyMs = stickyMs;
+    }
+
+    // null fora de uma requisição (jobs, ingestão assíncrona): sem aderência
+    public static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            return "addr:" + request.getRemoteAddr();
+        }
+        return null;
+    }
+
+    public void recordWrite(String client) {
+        if (client != null) {
+            lastWrites.put(client, System.currentTimeMillis());
+        }
+    }
+
+    public boolean isSticky(String client) {
+        if (client == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(client);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < stickyMs;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long limit = System.currentTimeMillis() - stickyMs;
+        lastWrites.values().removeIf(lastWrite -> lastWrite < limit);
+    }
+}
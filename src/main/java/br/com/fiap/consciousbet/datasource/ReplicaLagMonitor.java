@@ -0,0 +1,67 @@
+package br.com.fiap.consciousbet.datasource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Mede o atraso de cada réplica e tira da rotação as que passam do limite, estão com a replicação
+// parada ou não respondem. Com lagQuery vazia (ex.: H2 local) só verifica a conexão.
+public class ReplicaLagMonitor {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final List<JdbcTemplate> replicas = new ArrayList<>();
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routingDataSource, String lagQuery, String lagColumn,
+                             long maxLagSeconds) {
+        this.routingDataSource = routingDataSource;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLagSeconds;
+        for (DataSource replica : routingDataSource.getReplicas()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+            jdbcTemplate.setQueryTimeout(2);
+            replicas.add(jdbcTemplate);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${consciousbet.datasource.replica-check-ms:2000}")
+    public void check() {
+        List<Integer> healthy = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            if (isWithinLag(replicas.get(i))) {
+                healthy.add(i);
+            }
+        }
+
+        if (!healthy.equals(routingDataSource.getHealthyReplicas())) {
+            System.out.println("Read replicas in rotation: " + healthy + " of " + replicas.size());
+        }
+        routingDataSource.updateHealthyReplicas(healthy);
+    }
+
+    private boolean isWithinLag(JdbcTemplate replica) {
+        try {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                replica.queryForObject("SELECT 1", Integer.class);
+                return true;
+            }
+            // Sem linha = não é réplica; coluna nula = replicação parada
+            List<Map<String, Object>> rows = replica.queryForList(lagQuery);
+            if (rows.isEmpty()) {
+                return false;
+            }
+            Object lag = rows.get(0).get(lagColumn);
+            return lag instanceof Number seconds && seconds.longValue() <= maxLagSeconds;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.fiap.consciousbet.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BetBatchCreateDTO {
+
+    // Cada item é validado individualmente para que um item inválido não rejeite o lote inteiro
+    @NotEmpty(message = "At least one bet is required")
+    @Size(max = 500, message = "A batch must not exceed 500 bets")
+    private List<BetCreateDTO> bets = new ArrayList<>();
+
+    // Constructors
+    public BetBatchCreateDTO() {
+    }
+
+    public BetBatchCreateDTO(List<BetCreateDTO> bets) {
+        this.bets = bets;
+    }
+
+    // Getters and Setters
+    public List<BetCreateDTO> getBets() {
+        return bets;
+    }
+
+    public void setBets(List<BetCreateDTO> bets) {
+        this.bets = bets;
+    }
+}
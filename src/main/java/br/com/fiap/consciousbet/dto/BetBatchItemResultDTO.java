@@ -0,0 +1,64 @@
+package br.com.fiap.consciousbet.dto;
+
+public class BetBatchItemResultDTO {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String status;
+    private BetResponseDTO bet;
+    private String reason;
+
+    // Constructors
+    public BetBatchItemResultDTO() {
+    }
+
+    public BetBatchItemResultDTO(int index, String status, BetResponseDTO bet, String reason) {
+        this.index = index;
+        this.status = status;
+        this.bet = bet;
+        this.reason = reason;
+    }
+
+    public static BetBatchItemResultDTO created(int index, BetResponseDTO bet) {
+        return new BetBatchItemResultDTO(index, CREATED, bet, null);
+    }
+
+    public static BetBatchItemResultDTO rejected(int index, String reason) {
+        return new BetBatchItemResultDTO(index, REJECTED, null, reason);
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public BetResponseDTO getBet() {
+        return bet;
+    }
+
+    public void setBet(BetResponseDTO bet) {
+        this.bet = bet;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.fiap.consciousbet.dto;
+
+import java.util.List;
+
+public class BetBatchResponseDTO {
+
+    private int created;
+    private int rejected;
+    private List<BetBatchItemResultDTO> results;
+
+    // Constructors
+    public BetBatchResponseDTO() {
+    }
+
+    public BetBatchResponseDTO(List<BetBatchItemResultDTO> results) {
+        this.results = results;
+        for (BetBatchItemResultDTO result : results) {
+            if (BetBatchItemResultDTO.CREATED.equals(result.getStatus())) {
+                created++;
+            } else {
+                rejected++;
+            }
+        }
+    }
+
+    // Getters and Setters
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BetBatchItemResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BetBatchItemResultDTO> results) {
+        this.results = results;
+    }
+}
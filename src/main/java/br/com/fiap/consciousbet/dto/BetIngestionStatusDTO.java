@@ -0,0 +1,92 @@
+package br.com.fiap.consciousbet.dto;
+
+import java.time.LocalDateTime;
+
+public class BetIngestionStatusDTO {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String PERSISTED = "PERSISTED";
+    public static final String FAILED = "FAILED";
+
+    private String trackingId;
+    private String status;
+    private Long betId;
+    private String reason;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public BetIngestionStatusDTO() {
+    }
+
+    public BetIngestionStatusDTO(String trackingId, String status, Long betId, String reason,
+                                 LocalDateTime acceptedAt, LocalDateTime completedAt) {
+        this.trackingId = trackingId;
+        this.status = status;
+        this.betId = betId;
+        this.reason = reason;
+        this.acceptedAt = acceptedAt;
+        this.completedAt = completedAt;
+    }
+
+    public static BetIngestionStatusDTO queued(String trackingId, LocalDateTime acceptedAt) {
+        return new BetIngestionStatusDTO(trackingId, QUEUED, null, null, acceptedAt, null);
+    }
+
+    public static BetIngestionStatusDTO persisted(String trackingId, LocalDateTime acceptedAt, Long betId) {
+        return new BetIngestionStatusDTO(trackingId, PERSISTED, betId, null, acceptedAt, LocalDateTime.now());
+    }
+
+    public static BetIngestionStatusDTO failed(String trackingId, LocalDateTime acceptedAt, String reason) {
+        return new BetIngestionStatusDTO(trackingId, FAILED, null, reason, acceptedAt, LocalDateTime.now());
+    }
+
+    // Getters and Setters
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public void setTrackingId(String trackingId) {
+        this.trackingId = trackingId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getBetId() {
+        return betId;
+    }
+
+    public void setBetId(Long betId) {
+        this.betId = betId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public LocalDateTime getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    public void setAcceptedAt(LocalDateTime acceptedAt) {
+        this.acceptedAt = acceptedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
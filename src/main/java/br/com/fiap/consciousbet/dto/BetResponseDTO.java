@@ -14,6 +14,8 @@ public class BetResponseDTO {
     private String description;
     private String status;
     private LocalDateTime timestamp;
+    // Preenchido só na criação: valor muito acima do habitual para o usuário
+    private Boolean anomalous;
 
     // Constructors
     public BetResponseDTO() {
@@ -105,4 +107,12 @@ public class BetResponseDTO {
     public void setTimestamp(LocalDateTime timestamp) {
         this.timestamp = timestamp;
     }
-}
\ No newline at end of file
+
+    public Boolean getAnomalous() {
+        return anomalous;
+    }
+
+    public void setAnomalous(Boolean anomalous) {
+        this.anomalous = anomalous;
+    }
+}
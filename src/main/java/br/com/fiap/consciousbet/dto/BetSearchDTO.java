@@ -0,0 +1,102 @@
+package br.com.fiap.consciousbet.dto;
+
+import jakarta.validation.constraints.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Filtros combináveis da busca de apostas; todos opcionais
+public class BetSearchDTO {
+
+    private Long userId;
+
+    @Pattern(regexp = "^(?i)(PENDING|WON|LOST|CANCELLED)$", message = "Invalid status. Must be: PENDING, WON, LOST, or CANCELLED")
+    private String status;
+
+    @Pattern(regexp = "^(?i)(SPORTS|CASINO|LOTTERY|POKER)$", message = "Invalid bet type. Must be: SPORTS, CASINO, LOTTERY, or POKER")
+    private String type;
+
+    @DecimalMin(value = "0.00", message = "Minimum amount cannot be negative")
+    private BigDecimal minAmount;
+
+    @DecimalMin(value = "0.00", message = "Maximum amount cannot be negative")
+    private BigDecimal maxAmount;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // Constructors
+    public BetSearchDTO() {
+    }
+
+    @AssertTrue(message = "minAmount must not be greater than maxAmount")
+    public boolean isAmountRangeValid() {
+        return minAmount == null || maxAmount == null || minAmount.compareTo(maxAmount) <= 0;
+    }
+
+    @AssertTrue(message = "from must not be after to")
+    public boolean isTimeRangeValid() {
+        return from == null || to == null || !from.isAfter(to);
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+}
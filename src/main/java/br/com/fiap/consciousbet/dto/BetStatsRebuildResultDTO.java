@@ -0,0 +1,53 @@
+package br.com.fiap.consciousbet.dto;
+
+public class BetStatsRebuildResultDTO {
+
+    private int partitions;
+    private long usersRebuilt;
+    private long hourlyBucketsRebuilt;
+    private long durationMs;
+
+    // Constructors
+    public BetStatsRebuildResultDTO() {
+    }
+
+    public BetStatsRebuildResultDTO(int partitions, long usersRebuilt, long hourlyBucketsRebuilt, long durationMs) {
+        this.partitions = partitions;
+        this.usersRebuilt = usersRebuilt;
+        this.hourlyBucketsRebuilt = hourlyBucketsRebuilt;
+        this.durationMs = durationMs;
+    }
+
+    // Getters and Setters
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public long getUsersRebuilt() {
+        return usersRebuilt;
+    }
+
+    public void setUsersRebuilt(long usersRebuilt) {
+        this.usersRebuilt = usersRebuilt;
+    }
+
+    public long getHourlyBucketsRebuilt() {
+        return hourlyBucketsRebuilt;
+    }
+
+    public void setHourlyBucketsRebuilt(long hourlyBucketsRebuilt) {
+        this.hourlyBucketsRebuilt = hourlyBucketsRebuilt;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
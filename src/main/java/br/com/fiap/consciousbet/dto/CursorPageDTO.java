@@ -0,0 +1,56 @@
+package br.com.fiap.consciousbet.dto;
+
+import java.util.List;
+
+// Página por cursor (sem contagem total); nextCursor é null na última página
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    // Constructors
+    public CursorPageDTO() {
+    }
+
+    public CursorPageDTO(List<T> items, int size, boolean hasNext, String nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.fiap.consciousbet.dto;
+
+import java.time.LocalDateTime;
+
+public class EmailFilterStatsDTO {
+
+    private boolean ready;
+    private long bits;
+    private int hashFunctions;
+    private long capacity;
+    private long insertions;
+    private double expectedFalsePositiveRate;
+    private double observedFalsePositiveRate;
+    private long definiteNegatives;
+    private long confirmedPositives;
+    private long falsePositives;
+    private long lastRebuildMs;
+    private LocalDateTime lastRebuildAt;
+
+    // Constructors
+    public EmailFilterStatsDTO() {
+    }
+
+    public EmailFilterStatsDTO(boolean ready, long bits, int hashFunctions, long capacity, long insertions,
+                               double expectedFalsePositiveRate, double observedFalsePositiveRate,
+                               long definiteNegatives, long confirmedPositives, long falsePositives,
+                               long lastRebuildMs, LocalDateTime lastRebuildAt) {
+        this.ready = ready;
+        this.bits = bits;
+        this.hashFunctions = hashFunctions;
+        this.capacity = capacity;
+        this.insertions = insertions;
+        this.expectedFalsePositiveRate = expectedFalsePositiveRate;
+        this.observedFalsePositiveRate = observedFalsePositiveRate;
+        this.definiteNegatives = definiteNegatives;
+        this.confirmedPositives = confirmedPositives;
+        this.falsePositives = falsePositives;
+        this.lastRebuildMs = lastRebuildMs;
+        this.lastRebuildAt = lastRebuildAt;
+    }
+
+    // Getters and Setters
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    public long getBits() {
+        return bits;
+    }
+
+    public void setBits(long bits) {
+        this.bits = bits;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    public void setHashFunctions(int hashFunctions) {
+        this.hashFunctions = hashFunctions;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(long capacity) {
+        this.capacity = capacity;
+    }
+
+    public long getInsertions() {
+        return insertions;
+    }
+
+    public void setInsertions(long insertions) {
+        this.insertions = insertions;
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        return expectedFalsePositiveRate;
+    }
+
+    public void setExpectedFalsePositiveRate(double expectedFalsePositiveRate) {
+        this.expectedFalsePositiveRate = expectedFalsePositiveRate;
+    }
+
+    public double getObservedFalsePositiveRate() {
+        return observedFalsePositiveRate;
+    }
+
+    public void setObservedFalsePositiveRate(double observedFalsePositiveRate) {
+        this.observedFalsePositiveRate = observedFalsePositiveRate;
+    }
+
+    public long getDefiniteNegatives() {
+        return definiteNegatives;
+    }
+
+    public void setDefiniteNegatives(long definiteNegatives) {
+        this.definiteNegatives = definiteNegatives;
+    }
+
+    public long getConfirmedPositives() {
+        return confirmedPositives;
+    }
+
+    public void setConfirmedPositives(long confirmedPositives) {
+        this.confirmedPositives = confirmedPositives;
+    }
+
+    public long getFalsePositives() {
+        return falsePositives;
+    }
+
+    public void setFalsePositives(long falsePositives) {
+        this.falsePositives = falsePositives;
+    }
+
+    public long getLastRebuildMs() {
+        return lastRebuildMs;
+    }
+
+    public void setLastRebuildMs(long lastRebuildMs) {
+        this.lastRebuildMs = lastRebuildMs;
+    }
+
+    public LocalDateTime getLastRebuildAt() {
+        return lastRebuildAt;
+    }
+
+    public void setLastRebuildAt(LocalDateTime lastRebuildAt) {
+        this.lastRebuildAt = lastRebuildAt;
+    }
+}
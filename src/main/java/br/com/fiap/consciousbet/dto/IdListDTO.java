@@ -0,0 +1,34 @@
+package br.com.fiap.consciousbet.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// IDs de uma busca múltipla (?ids=1,2,3 ou corpo JSON); a resposta segue a mesma ordem
+public class IdListDTO {
+
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty(message = "At least one ID is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " IDs per request")
+    private List<@NotNull(message = "IDs cannot be null") Long> ids;
+
+    // Constructors
+    public IdListDTO() {
+    }
+
+    public IdListDTO(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
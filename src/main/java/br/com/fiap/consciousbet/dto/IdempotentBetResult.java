@@ -0,0 +1,21 @@
+package br.com.fiap.consciousbet.dto;
+
+public class IdempotentBetResult {
+
+    private final BetResponseDTO bet;
+    private final boolean replayed;
+
+    public IdempotentBetResult(BetResponseDTO bet, boolean replayed) {
+        this.bet = bet;
+        this.replayed = replayed;
+    }
+
+    public BetResponseDTO getBet() {
+        return bet;
+    }
+
+    // true quando a resposta veio de uma execução anterior com a mesma chave
+    public boolean isReplayed() {
+        return replayed;
+    }
+}
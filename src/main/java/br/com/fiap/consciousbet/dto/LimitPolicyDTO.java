@@ -0,0 +1,72 @@
+package br.com.fiap.consciousbet.dto;
+
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+
+// Limite autoimposto: ao menos um de maxAmount / maxBets deve ser informado
+public class LimitPolicyDTO {
+
+    @NotBlank(message = "Period is required")
+    @Pattern(regexp = "^(DAILY|WEEKLY|MONTHLY)$", message = "Invalid period. Must be: DAILY, WEEKLY, or MONTHLY")
+    private String period;
+
+    @Pattern(regexp = "^(ALL|SPORTS|CASINO|LOTTERY|POKER)$", message = "Invalid bet type. Must be: ALL, SPORTS, CASINO, LOTTERY, or POKER")
+    private String betType;
+
+    @DecimalMin(value = "1.00", message = "Maximum amount must be at least 1.00")
+    @Digits(integer = 10, fraction = 2, message = "Invalid amount format")
+    private BigDecimal maxAmount;
+
+    @Min(value = 1, message = "Maximum bets must be at least 1")
+    private Integer maxBets;
+
+    // Constructors
+    public LimitPolicyDTO() {
+    }
+
+    public LimitPolicyDTO(String period, String betType, BigDecimal maxAmount, Integer maxBets) {
+        this.period = period;
+        this.betType = betType;
+        this.maxAmount = maxAmount;
+        this.maxBets = maxBets;
+    }
+
+    @AssertTrue(message = "At least one of maxAmount or maxBets is required")
+    public boolean isLimitPresent() {
+        return maxAmount != null || maxBets != null;
+    }
+
+    // Getters and Setters
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public String getBetType() {
+        return betType;
+    }
+
+    public void setBetType(String betType) {
+        this.betType = betType;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public Integer getMaxBets() {
+        return maxBets;
+    }
+
+    public void setMaxBets(Integer maxBets) {
+        this.maxBets = maxBets;
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.fiap.consciousbet.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class LimitPolicyResponseDTO {
+
+    private Long id;
+    private Long userId;
+    private String period;
+    private String betType;
+    private BigDecimal maxAmount;
+    private Integer maxBets;
+    private Long version;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public LimitPolicyResponseDTO() {
+    }
+
+    public LimitPolicyResponseDTO(Long id, Long userId, String period, String betType, BigDecimal maxAmount,
+                                  Integer maxBets, Long version, LocalDateTime updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.period = period;
+        this.betType = betType;
+        this.maxAmount = maxAmount;
+        this.maxBets = maxBets;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public String getBetType() {
+        return betType;
+    }
+
+    public void setBetType(String betType) {
+        this.betType = betType;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public Integer getMaxBets() {
+        return maxBets;
+    }
+
+    public void setMaxBets(Integer maxBets) {
+        this.maxBets = maxBets;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
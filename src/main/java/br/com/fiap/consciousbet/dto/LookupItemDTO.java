@@ -0,0 +1,48 @@
+package br.com.fiap.consciousbet.dto;
+
+// Resultado de um ID da busca múltipla: found=false e item nulo quando o ID não existe
+public class LookupItemDTO<T> {
+
+    private Long id;
+    private boolean found;
+    private T item;
+
+    // Constructors
+    public LookupItemDTO() {
+    }
+
+    public LookupItemDTO(Long id, boolean found, T item) {
+        this.id = id;
+        this.found = found;
+        this.item = item;
+    }
+
+    public static <T> LookupItemDTO<T> of(Long id, T item) {
+        return new LookupItemDTO<>(id, item != null, item);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public T getItem() {
+        return item;
+    }
+
+    public void setItem(T item) {
+        this.item = item;
+    }
+}
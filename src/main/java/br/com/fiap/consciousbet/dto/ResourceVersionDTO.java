@@ -0,0 +1,34 @@
+package br.com.fiap.consciousbet.dto;
+
+// ETag de um recurso e se ele é uma aposta liquidada (só os dados do usuário ainda podem mudar)
+public class ResourceVersionDTO {
+
+    private String eTag;
+    private boolean settled;
+
+    // Constructors
+    public ResourceVersionDTO() {
+    }
+
+    public ResourceVersionDTO(String eTag, boolean settled) {
+        this.eTag = eTag;
+        this.settled = settled;
+    }
+
+    // Getters and Setters
+    public String getETag() {
+        return eTag;
+    }
+
+    public void setETag(String eTag) {
+        this.eTag = eTag;
+    }
+
+    public boolean isSettled() {
+        return settled;
+    }
+
+    public void setSettled(boolean settled) {
+        this.settled = settled;
+    }
+}
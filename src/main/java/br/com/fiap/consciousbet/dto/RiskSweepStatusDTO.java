@@ -0,0 +1,154 @@
+package br.com.fiap.consciousbet.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class RiskSweepStatusDTO {
+
+    private String status;
+    private LocalDate snapshotDate;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long totalChunks;
+    private long completedChunks;
+    private long userIdsScanned;
+    private long snapshotsWritten;
+    private long highRiskUsers;
+    private long moderateRiskUsers;
+    private double userIdsPerSecond;
+    private long durationMs;
+    private String error;
+
+    // Constructors
+    public RiskSweepStatusDTO() {
+    }
+
+    public RiskSweepStatusDTO(String status, LocalDate snapshotDate, LocalDateTime startedAt, LocalDateTime finishedAt,
+                              long totalChunks, long completedChunks, long userIdsScanned, long snapshotsWritten,
+                              long highRiskUsers, long moderateRiskUsers, double userIdsPerSecond, long durationMs,
+                              String error) {
+        this.status = status;
+        this.snapshotDate = snapshotDate;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.totalChunks = totalChunks;
+        this.completedChunks = completedChunks;
+        this.userIdsScanned = userIdsScanned;
+        this.snapshotsWritten = snapshotsWritten;
+        this.highRiskUsers = highRiskUsers;
+        this.moderateRiskUsers = moderateRiskUsers;
+        this.userIdsPerSecond = userIdsPerSecond;
+        this.durationMs = durationMs;
+        this.error = error;
+    }
+
+    // Nenhuma varredura executada desde que a aplicação subiu
+    public static RiskSweepStatusDTO idle() {
+        return new RiskSweepStatusDTO("IDLE", null, null, null, 0, 0, 0, 0, 0, 0, 0, 0, null);
+    }
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public void setSnapshotDate(LocalDate snapshotDate) {
+        this.snapshotDate = snapshotDate;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getTotalChunks() {
+        return totalChunks;
+    }
+
+    public void setTotalChunks(long totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public long getCompletedChunks() {
+        return completedChunks;
+    }
+
+    public void setCompletedChunks(long completedChunks) {
+        this.completedChunks = completedChunks;
+    }
+
+    public long getUserIdsScanned() {
+        return userIdsScanned;
+    }
+
+    public void setUserIdsScanned(long userIdsScanned) {
+        this.userIdsScanned = userIdsScanned;
+    }
+
+    public long getSnapshotsWritten() {
+        return snapshotsWritten;
+    }
+
+    public void setSnapshotsWritten(long snapshotsWritten) {
+        this.snapshotsWritten = snapshotsWritten;
+    }
+
+    public long getHighRiskUsers() {
+        return highRiskUsers;
+    }
+
+    public void setHighRiskUsers(long highRiskUsers) {
+        this.highRiskUsers = highRiskUsers;
+    }
+
+    public long getModerateRiskUsers() {
+        return moderateRiskUsers;
+    }
+
+    public void setModerateRiskUsers(long moderateRiskUsers) {
+        this.moderateRiskUsers = moderateRiskUsers;
+    }
+
+    public double getUserIdsPerSecond() {
+        return userIdsPerSecond;
+    }
+
+    public void setUserIdsPerSecond(double userIdsPerSecond) {
+        this.userIdsPerSecond = userIdsPerSecond;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
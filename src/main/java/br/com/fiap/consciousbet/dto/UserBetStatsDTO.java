@@ -0,0 +1,76 @@
+package br.com.fiap.consciousbet.dto;
+
+import java.math.BigDecimal;
+
+public class UserBetStatsDTO {
+
+    private Long userId;
+    private BigDecimal totalAmount;
+    private long totalBets;
+    private BigDecimal dailyAmount;
+    private long dailyBets;
+    private BigDecimal averageBetAmount;
+
+    // Constructors
+    public UserBetStatsDTO() {
+    }
+
+    public UserBetStatsDTO(Long userId, BigDecimal totalAmount, long totalBets,
+                           BigDecimal dailyAmount, long dailyBets, BigDecimal averageBetAmount) {
+        this.userId = userId;
+        this.totalAmount = totalAmount;
+        this.totalBets = totalBets;
+        this.dailyAmount = dailyAmount;
+        this.dailyBets = dailyBets;
+        this.averageBetAmount = averageBetAmount;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public long getTotalBets() {
+        return totalBets;
+    }
+
+    public void setTotalBets(long totalBets) {
+        this.totalBets = totalBets;
+    }
+
+    public BigDecimal getDailyAmount() {
+        return dailyAmount;
+    }
+
+    public void setDailyAmount(BigDecimal dailyAmount) {
+        this.dailyAmount = dailyAmount;
+    }
+
+    public long getDailyBets() {
+        return dailyBets;
+    }
+
+    public void setDailyBets(long dailyBets) {
+        this.dailyBets = dailyBets;
+    }
+
+    public BigDecimal getAverageBetAmount() {
+        return averageBetAmount;
+    }
+
+    public void setAverageBetAmount(BigDecimal averageBetAmount) {
+        this.averageBetAmount = averageBetAmount;
+    }
+}
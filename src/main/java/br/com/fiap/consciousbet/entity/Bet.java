@@ -10,8 +10,10 @@ import java.time.LocalDateTime;
 @Table(name = "bets")
 public class Bet {
 
+    // IDs em blocos de 50 (tabela bets_seq) em vez de IDENTITY, para permitir batch de INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bets_seq")
+    @SequenceGenerator(name = "bets_seq", sequenceName = "bets_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, precision = 10, scale = 2)
@@ -30,6 +32,11 @@ public class Bet {
     @Column(name = "timestamp", nullable = false, updatable = false)
     private LocalDateTime timestamp;
 
+    // Incrementada a cada alteração (ETag e controle de concorrência)
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -103,6 +110,14 @@ public class Bet {
         this.user = user;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Bet{" +
@@ -114,4 +129,4 @@ public class Bet {
                 ", userId=" + (user != null ? user.getId() : null) +
                 '}';
     }
-}
\ No newline at end of file
+}
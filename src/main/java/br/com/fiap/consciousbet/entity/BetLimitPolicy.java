@@ -0,0 +1,144 @@
+package br.com.fiap.consciousbet.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Limite autoimposto por um usuário para um período (e opcionalmente um tipo de aposta)
+@Entity
+@Table(name = "bet_limit_policies",
+        uniqueConstraints = @UniqueConstraint(name = "uk_bet_limit_policies_scope",
+                columnNames = {"user_id", "period", "bet_type"}))
+public class BetLimitPolicy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // DAILY, WEEKLY ou MONTHLY
+    @Column(nullable = false, length = 20)
+    private String period;
+
+    // SPORTS, CASINO, LOTTERY, POKER ou ALL
+    @Column(name = "bet_type", nullable = false, length = 50)
+    private String betType = "ALL";
+
+    @Column(name = "max_amount", precision = 12, scale = 2)
+    private BigDecimal maxAmount;
+
+    @Column(name = "max_bets")
+    private Integer maxBets;
+
+    // Políticas removidas ficam inativas para que as outras instâncias percebam a mudança
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public BetLimitPolicy() {
+    }
+
+    public BetLimitPolicy(Long userId, String period, String betType) {
+        this.userId = userId;
+        this.period = period;
+        this.betType = betType;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public String getBetType() {
+        return betType;
+    }
+
+    public void setBetType(String betType) {
+        this.betType = betType;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public Integer getMaxBets() {
+        return maxBets;
+    }
+
+    public void setMaxBets(Integer maxBets) {
+        this.maxBets = maxBets;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -5,9 +5,12 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_email_normalized", columnNames = "email_normalized")
+})
 public class User {
 
     @Id
@@ -20,6 +23,10 @@ public class User {
     @Column(unique = true, nullable = false, length = 150)
     private String email;
 
+    // Email em minúsculas e sem espaços, mantido pelo setEmail: buscas e duplicidade sem LOWER() na coluna
+    @Column(name = "email_normalized", length = 150)
+    private String emailNormalized;
+
     @Column(nullable = false)
     private Integer age;
 
@@ -31,13 +38,18 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Incrementada a cada alteração (ETag e controle de concorrência)
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
     // Constructors
     public User() {
     }
 
     public User(String name, String email, Integer age) {
         this.name = name;
-        this.email = email;
+        setEmail(email);
         this.age = age;
     }
 
@@ -64,6 +76,16 @@ public class User {
 
     public void setEmail(String email) {
         this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
+
+    public String getEmailNormalized() {
+        return emailNormalized;
+    }
+
+    // Forma canônica do email (mesma regra do backfill V14: LOWER(TRIM(email)))
+    public static String normalizeEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
     }
 
     public Integer getAge() {
@@ -90,6 +112,14 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "User{" +
@@ -101,4 +131,4 @@ public class User {
                 ", updatedAt=" + updatedAt +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package br.com.fiap.consciousbet.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Rollup com o total apostado por usuário (apostas não canceladas), mantido a cada alteração de aposta
+@Entity
+@Table(name = "user_bet_stats")
+public class UserBetStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "total_bets", nullable = false)
+    private Long totalBets = 0L;
+
+    // Incrementada a cada alteração nas apostas do usuário
+    @Column(nullable = false)
+    private Long version = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public UserBetStats() {
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Long getTotalBets() {
+        return totalBets;
+    }
+
+    public void setTotalBets(Long totalBets) {
+        this.totalBets = totalBets;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.fiap.consciousbet.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Rollup por hora do total apostado por usuário (apostas não canceladas)
+@Entity
+@Table(name = "user_bet_stats_hourly")
+@IdClass(UserBetStatsHourly.Key.class)
+public class UserBetStatsHourly {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "hour_start")
+    private LocalDateTime hourStart;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "total_bets", nullable = false)
+    private Long totalBets = 0L;
+
+    // Constructors
+    public UserBetStatsHourly() {
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getHourStart() {
+        return hourStart;
+    }
+
+    public void setHourStart(LocalDateTime hourStart) {
+        this.hourStart = hourStart;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Long getTotalBets() {
+        return totalBets;
+    }
+
+    public void setTotalBets(Long totalBets) {
+        this.totalBets = totalBets;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long userId;
+        private LocalDateTime hourStart;
+
+        public Key() {
+        }
+
+        public Key(Long userId, LocalDateTime hourStart) {
+            this.userId = userId;
+            this.hourStart = hourStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(hourStart, key.hourStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, hourStart);
+        }
+    }
+}
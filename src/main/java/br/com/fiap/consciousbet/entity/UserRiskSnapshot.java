@@ -0,0 +1,127 @@
+package br.com.fiap.consciousbet.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Resultado diário da varredura de risco para um usuário com apostas nas últimas 24h
+@Entity
+@Table(name = "risk_snapshots")
+@IdClass(UserRiskSnapshot.Key.class)
+public class UserRiskSnapshot {
+
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "bet_count", nullable = false)
+    private Long betCount = 0L;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "last_bet_at")
+    private LocalDateTime lastBetAt;
+
+    // LOW, MODERATE ou HIGH
+    @Column(name = "risk_level", nullable = false, length = 20)
+    private String riskLevel;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    // Constructors
+    public UserRiskSnapshot() {
+    }
+
+    // Getters and Setters
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public void setSnapshotDate(LocalDate snapshotDate) {
+        this.snapshotDate = snapshotDate;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getBetCount() {
+        return betCount;
+    }
+
+    public void setBetCount(Long betCount) {
+        this.betCount = betCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public LocalDateTime getLastBetAt() {
+        return lastBetAt;
+    }
+
+    public void setLastBetAt(LocalDateTime lastBetAt) {
+        this.lastBetAt = lastBetAt;
+    }
+
+    public String getRiskLevel() {
+        return riskLevel;
+    }
+
+    public void setRiskLevel(String riskLevel) {
+        this.riskLevel = riskLevel;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    public static class Key implements Serializable {
+
+        private LocalDate snapshotDate;
+        private Long userId;
+
+        public Key() {
+        }
+
+        public Key(LocalDate snapshotDate, Long userId) {
+            this.snapshotDate = snapshotDate;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(snapshotDate, key.snapshotDate) && Objects.equals(userId, key.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(snapshotDate, userId);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.fiap.consciousbet.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Sketch de quantis dos valores apostados por usuário (serializado por StakeSketch.toBytes)
+@Entity
+@Table(name = "user_stake_sketches")
+public class UserStakeSketch {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false, columnDefinition = "VARBINARY(512)")
+    private byte[] sketch;
+
+    @Column(name = "bet_count", nullable = false)
+    private Long betCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version = 0L;
+
+    // Constructors
+    public UserStakeSketch() {
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public byte[] getSketch() {
+        return sketch;
+    }
+
+    public void setSketch(byte[] sketch) {
+        this.sketch = sketch;
+    }
+
+    public Long getBetCount() {
+        return betCount;
+    }
+
+    public void setBetCount(Long betCount) {
+        this.betCount = betCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.fiap.consciousbet.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Variação confirmada (ou a confirmar) nas apostas de um usuário. Publicada dentro da transação;
+// os consumidores usam @TransactionalEventListener para só ver o que foi de fato gravado.
+public class BetEvent {
+
+    public enum Kind {
+        CREATED,
+        UPDATED,
+        CANCELLED
+    }
+
+    private final Kind kind;
+    private final Long betId;
+    private final Long userId;
+    private final String type;
+    private final LocalDateTime timestamp;
+    private final BigDecimal amountDelta;
+    private final int countDelta;
+
+    public BetEvent(Kind kind, Long betId, Long userId, String type, LocalDateTime timestamp,
+                    BigDecimal amountDelta, int countDelta) {
+        this.kind = kind;
+        this.betId = betId;
+        this.userId = userId;
+        this.type = type;
+        this.timestamp = timestamp;
+        this.amountDelta = amountDelta;
+        this.countDelta = countDelta;
+    }
+
+    public static BetEvent created(Long betId, Long userId, String type, LocalDateTime timestamp, BigDecimal amount) {
+        return new BetEvent(Kind.CREATED, betId, userId, type, timestamp, amount, 1);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getBetId() {
+        return betId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public BigDecimal getAmountDelta() {
+        return amountDelta;
+    }
+
+    public int getCountDelta() {
+        return countDelta;
+    }
+}
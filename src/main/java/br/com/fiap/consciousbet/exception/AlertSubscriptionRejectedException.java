@@ -0,0 +1,9 @@
+package br.com.fiap.consciousbet.exception;
+
+// Lançada quando o limite de assinaturas de alertas (SSE) foi atingido (HTTP 503)
+public class AlertSubscriptionRejectedException extends RuntimeException {
+
+    public AlertSubscriptionRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.fiap.consciousbet.exception;
+
+// Aposta já liquidada (WON/LOST) não pode mais ser alterada (HTTP 409)
+public class BetAlreadySettledException extends RuntimeException {
+
+    public BetAlreadySettledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.fiap.consciousbet.exception;
+
+import br.com.fiap.consciousbet.ledger.LimitDecision;
+
+// Aposta rejeitada por um limite (HTTP 422). Sem stack trace: rejeição é um resultado esperado.
+public class BetLimitExceededException extends RuntimeException {
+
+    private final transient LimitDecision decision;
+
+    public BetLimitExceededException(LimitDecision decision) {
+        super(null, null, false, false);
+        this.decision = decision;
+    }
+
+    public LimitDecision getDecision() {
+        return decision;
+    }
+
+    @Override
+    public String getMessage() {
+        return decision.getMessage();
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.fiap.consciousbet.exception;
 
+import br.com.fiap.consciousbet.ledger.LimitDecision;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -66,6 +67,106 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    // 🛑 Aposta rejeitada por limite (regra violada e folga restante)
+    @ExceptionHandler(BetLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleBetLimitExceeded(BetLimitExceededException ex) {
+        LimitDecision decision = ex.getDecision();
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.UNPROCESSABLE_ENTITY.value());
+        response.put("error", "Betting Limit Exceeded");
+        response.put("message", decision.getMessage());
+        response.put("rule", decision.getRule());
+        response.put("betType", decision.getScope());
+        response.put("remainingAmount", decision.getRemainingAmount());
+        response.put("remainingBets", decision.getRemainingBets());
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+    }
+
+    // 🛑 Idempotency-Key reutilizada com outro corpo ou ainda em andamento
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", "Idempotency Conflict");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    // 🛑 Ingestão assíncrona indisponível ou fila cheia
+    @ExceptionHandler(IngestionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleIngestionRejected(IngestionRejectedException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Service Unavailable");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(response);
+    }
+
+    // 🛑 Janela de limites do usuário em carga
+    @ExceptionHandler(LimitsUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleLimitsUnavailable(LimitsUnavailableException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Service Unavailable");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(response);
+    }
+
+    // 🛑 Limite de assinaturas de alertas atingido
+    @ExceptionHandler(AlertSubscriptionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleAlertSubscriptionRejected(AlertSubscriptionRejectedException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Service Unavailable");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "30")
+                .body(response);
+    }
+
+    // 🛑 Aposta já liquidada ou alterada por outra requisição ao mesmo tempo
+    @ExceptionHandler({
+            BetAlreadySettledException.class,
+            org.springframework.orm.ObjectOptimisticLockingFailureException.class
+    })
+    public ResponseEntity<Map<String, Object>> handleModificationConflict(Exception ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", "Modification Conflict");
+        response.put("message", ex instanceof BetAlreadySettledException
+                ? ex.getMessage()
+                : "Resource was modified concurrently, reload and try again");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    // 🛑 Cursor de paginação inválido ou adulterado
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursor(InvalidCursorException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("error", "Bad Request");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     // 🛑 Erros genéricos
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
@@ -0,0 +1,9 @@
+package br.com.fiap.consciousbet.exception;
+
+// Chave de idempotência reutilizada com outro corpo, ou requisição original ainda em andamento (HTTP 409)
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.fiap.consciousbet.exception;
+
+// Lançada quando a ingestão assíncrona está desligada ou a fila está cheia (HTTP 503)
+public class IngestionRejectedException extends RuntimeException {
+
+    public IngestionRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.fiap.consciousbet.exception;
+
+// Lançada quando o cursor de paginação não pôde ser decodificado (HTTP 400)
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
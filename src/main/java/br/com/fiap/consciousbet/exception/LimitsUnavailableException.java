@@ -0,0 +1,10 @@
+package br.com.fiap.consciousbet.exception;
+
+// Lançada quando a janela de 7/30 dias de um usuário não pôde ser carregada com segurança
+// porque as apostas dele não pararam de mudar durante a leitura (HTTP 503)
+public class LimitsUnavailableException extends RuntimeException {
+
+    public LimitsUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.fiap.consciousbet.export;
+
+import org.springframework.http.MediaType;
+
+// Formatos de exportação em streaming dos endpoints /list
+public enum ExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    // Parâmetro 'format' tem prioridade; depois o header Accept; o padrão é NDJSON
+    public static ExportFormat resolve(String format, String accept) {
+        if (format != null && !format.isBlank()) {
+            return "csv".equalsIgnoreCase(format.trim()) ? CSV : NDJSON;
+        }
+        return accept != null && accept.contains(CSV_VALUE) ? CSV : NDJSON;
+    }
+}
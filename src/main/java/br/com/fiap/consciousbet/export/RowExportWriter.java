@@ -0,0 +1,88 @@
+package br.com.fiap.consciousbet.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+// Escreve linhas direto no stream da resposta (NDJSON ou CSV), sem acumular nada em memória
+public class RowExportWriter<T> implements AutoCloseable {
+
+    private final BufferedWriter writer;
+    private final SequenceWriter json;
+    private final Function<T, Object[]> csvColumns;
+    private long rows;
+
+    private RowExportWriter(BufferedWriter writer, SequenceWriter json, Function<T, Object[]> csvColumns) {
+        this.writer = writer;
+        this.json = json;
+        this.csvColumns = csvColumns;
+    }
+
+    // csvHeader / csvColumns só são usados no formato CSV
+    public static <T> RowExportWriter<T> open(ExportFormat format, OutputStream out, ObjectMapper objectMapper,
+                                              String[] csvHeader, Function<T, Object[]> csvColumns) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ExportFormat.NDJSON) {
+            return new RowExportWriter<>(writer, objectMapper.writer().withRootValueSeparator("\n").writeValues(writer), null);
+        }
+        RowExportWriter<T> exportWriter = new RowExportWriter<>(writer, null, csvColumns);
+        exportWriter.writeCsvLine(csvHeader);
+        return exportWriter;
+    }
+
+    public void write(T row) {
+        try {
+            if (json != null) {
+                json.write(row);
+            } else {
+                writeCsvLine(csvColumns.apply(row));
+            }
+            rows++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.flush();
+            if (rows > 0) {
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
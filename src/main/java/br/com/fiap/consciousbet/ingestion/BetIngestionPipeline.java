@@ -0,0 +1,170 @@
+package br.com.fiap.consciousbet.ingestion;
+
+import br.com.fiap.consciousbet.dto.BetCreateDTO;
+import br.com.fiap.consciousbet.dto.BetIngestionStatusDTO;
+import br.com.fiap.consciousbet.entity.Bet;
+import br.com.fiap.consciousbet.exception.IngestionRejectedException;
+import br.com.fiap.consciousbet.ledger.BetLedger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Pipeline de gravação assíncrona: as apostas já admitidas nos limites em memória entram
+// numa fila limitada e uma única thread as grava em lotes (a cada N apostas ou poucos ms).
+@Component
+public class BetIngestionPipeline {
+
+    private final BetIngestionWriter writer;
+    private final BetLedger betLedger;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final long retentionMinutes;
+    private final BlockingQueue<PendingBet> queue;
+    private final ConcurrentHashMap<String, BetIngestionStatusDTO> statuses = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public BetIngestionPipeline(BetIngestionWriter writer,
+                                BetLedger betLedger,
+                                @Value("${consciousbet.ingestion.enabled:false}") boolean enabled,
+                                @Value("${consciousbet.ingestion.queue-capacity:10000}") int queueCapacity,
+                                @Value("${consciousbet.ingestion.batch-size:200}") int batchSize,
+                                @Value("${consciousbet.ingestion.max-delay-ms:5}") long maxDelayMs,
+                                @Value("${consciousbet.ingestion.status-retention-minutes:10}") long retentionMinutes) {
+        this.writer = writer;
+        this.betLedger = betLedger;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.retentionMinutes = retentionMinutes;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriter, "bet-ingestion-writer");
+        writerThread.start();
+        System.out.println("Bet ingestion pipeline started (batch size " + batchSize + ")");
+    }
+
+    // Para de aceitar apostas e espera a fila ser gravada
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled && running;
+    }
+
+    // Enfileira uma aposta cujo valor já foi reservado no ledger; se a fila estiver cheia a reserva é desfeita
+    public BetIngestionStatusDTO enqueue(BetCreateDTO dto) {
+        String trackingId = UUID.randomUUID().toString();
+        BetIngestionStatusDTO status = BetIngestionStatusDTO.queued(trackingId, LocalDateTime.now());
+        statuses.put(trackingId, status);
+
+        if (!running || !queue.offer(new PendingBet(trackingId, dto, status.getAcceptedAt()))) {
+            statuses.remove(trackingId);
+            betLedger.release(dto.getUserId(), dto.getType(), dto.getAmount());
+            throw new IngestionRejectedException("Bet ingestion queue is full, try again later");
+        }
+        return status;
+    }
+
+    public BetIngestionStatusDTO getStatus(String trackingId) {
+        return statuses.get(trackingId);
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    // Descarta status finalizados depois do período de retenção
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFinished() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(retentionMinutes);
+        statuses.values().removeIf(status -> status.getCompletedAt() != null && status.getCompletedAt().isBefore(limit));
+    }
+
+    private void runWriter() {
+        List<PendingBet> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingBet first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Junta o que chegar até completar o lote ou estourar o atraso máximo
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingBet next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                System.out.println("Bet ingestion writer error: " + e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingBet> batch) {
+        try {
+            complete(batch, writer.write(batch));
+        } catch (Exception batchError) {
+            // Um item inválido não pode derrubar o lote: tenta gravar um a um
+            System.out.println("Bet ingestion batch of " + batch.size() + " failed, retrying individually: "
+                    + batchError.getMessage());
+            for (PendingBet pending : batch) {
+                try {
+                    complete(List.of(pending), writer.write(List.of(pending)));
+                } catch (Exception e) {
+                    betLedger.release(pending.getDto().getUserId(), pending.getDto().getType(),
+                            pending.getDto().getAmount());
+                    statuses.put(pending.getTrackingId(), BetIngestionStatusDTO.failed(pending.getTrackingId(),
+                            pending.getAcceptedAt(), e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void complete(List<PendingBet> batch, List<Bet> savedBets) {
+        for (int i = 0; i < batch.size(); i++) {
+            PendingBet pending = batch.get(i);
+            betLedger.confirm(pending.getDto().getUserId(), pending.getDto().getType(), pending.getDto().getAmount());
+            statuses.put(pending.getTrackingId(), BetIngestionStatusDTO.persisted(pending.getTrackingId(),
+                    pending.getAcceptedAt(), savedBets.get(i).getId()));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.fiap.consciousbet.ingestion;
+
+import br.com.fiap.consciousbet.entity.Bet;
+import br.com.fiap.consciousbet.event.BetEvent;
+import br.com.fiap.consciousbet.mapper.BetMapper;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import br.com.fiap.consciousbet.repository.UserRepository;
+import br.com.fiap.consciousbet.service.BetStatsService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Grava um lote do pipeline em uma única transação (group commit)
+@Component
+public class BetIngestionWriter {
+
+    private final BetRepository betRepository;
+    private final UserRepository userRepository;
+    private final BetStatsService betStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BetIngestionWriter(BetRepository betRepository, UserRepository userRepository,
+                              BetStatsService betStatsService, ApplicationEventPublisher eventPublisher) {
+        this.betRepository = betRepository;
+        this.userRepository = userRepository;
+        this.betStatsService = betStatsService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Bet> write(List<PendingBet> batch) {
+        List<Bet> bets = new ArrayList<>(batch.size());
+        for (PendingBet pending : batch) {
+            bets.add(BetMapper.toEntity(pending.getDto(),
+                    userRepository.getReferenceById(pending.getDto().getUserId())));
+        }
+
+        List<Bet> savedBets = betRepository.saveAll(bets);
+        betRepository.flush();
+        for (Bet bet : savedBets) {
+            betStatsService.record(bet.getUser().getId(), bet.getTimestamp(), bet.getAmount(), 1);
+            eventPublisher.publishEvent(BetEvent.created(bet.getId(), bet.getUser().getId(), bet.getType(),
+                    bet.getTimestamp(), bet.getAmount()));
+        }
+        return savedBets;
+    }
+}
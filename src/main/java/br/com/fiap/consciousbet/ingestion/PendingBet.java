@@ -0,0 +1,31 @@
+package br.com.fiap.consciousbet.ingestion;
+
+import br.com.fiap.consciousbet.dto.BetCreateDTO;
+
+import java.time.LocalDateTime;
+
+// Aposta aceita e aguardando gravação pelo pipeline
+public class PendingBet {
+
+    private final String trackingId;
+    private final BetCreateDTO dto;
+    private final LocalDateTime acceptedAt;
+
+    public PendingBet(String trackingId, BetCreateDTO dto, LocalDateTime acceptedAt) {
+        this.trackingId = trackingId;
+        this.dto = dto;
+        this.acceptedAt = acceptedAt;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public BetCreateDTO getDto() {
+        return dto;
+    }
+
+    public LocalDateTime getAcceptedAt() {
+        return acceptedAt;
+    }
+}
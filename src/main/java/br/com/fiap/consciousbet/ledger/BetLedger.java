@@ -0,0 +1,161 @@
+package br.com.fiap.consciousbet.ledger;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.exception.LimitsUnavailableException;
+import br.com.fiap.consciousbet.repository.BetAmountView;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Ledger em memória com o total apostado e o número de apostas de cada usuário nas últimas 24h
+// (e nos últimos 7/30 dias, por tipo de aposta, para quem tem políticas de limite próprias).
+// A janela de um usuário é carregada do banco no primeiro acesso e depois mantida incrementalmente.
+// Cada janela tem seu próprio monitor, então usuários diferentes nunca disputam o mesmo lock.
+@Component
+public class BetLedger {
+
+    private static final long WINDOW_SECONDS = UserBetWindow.BUCKET_SECONDS * UserBetWindow.BUCKETS;
+    private static final long EXTENDED_WINDOW_SECONDS = WINDOW_SECONDS * UserBetWindow.DAYS_PER_MONTH;
+    // Tentativas de estender a janela e espera máxima, em cada uma, pelo fim das reservas em andamento
+    static final int EXTEND_ATTEMPTS = 5;
+    static final long EXTEND_WAIT_MS = 200;
+
+    private final BetRepository betRepository;
+    private final PrimaryReads primaryReads;
+    private final ConcurrentHashMap<Long, UserBetWindow> windows = new ConcurrentHashMap<>();
+
+    public BetLedger(BetRepository betRepository, PrimaryReads primaryReads) {
+        this.betRepository = betRepository;
+        this.primaryReads = primaryReads;
+    }
+
+    public BigDecimal getDailyAmount(Long userId) {
+        return fromCents(window(userId, false).dailyCents(now()));
+    }
+
+    public long getDailyCount(Long userId) {
+        return window(userId, false).dailyCount(now());
+    }
+
+    // Desfaz uma reserva cuja transação não foi confirmada
+    public void release(Long userId, String type, BigDecimal amount) {
+        UserBetWindow window = windows.get(userId);
+        if (window != null) {
+            window.release(BetTypes.slot(type), toCents(amount), now());
+        }
+    }
+
+    // A aposta reservada foi gravada
+    public void confirm(Long userId, String type, BigDecimal amount) {
+        UserBetWindow window = windows.get(userId);
+        if (window != null) {
+            window.confirm(BetTypes.slot(type), toCents(amount));
+        }
+    }
+
+    // Aplica uma variação já confirmada no banco (amount e count podem ser negativos)
+    public void record(Long userId, LocalDateTime timestamp, String type, BigDecimal amount, int count) {
+        UserBetWindow window = windows.get(userId);
+        if (window == null) {
+            // Ainda não carregado: o próximo acesso lê o estado atual do banco
+            return;
+        }
+        window.record(toEpochSecond(timestamp), BetTypes.slot(type), toCents(amount), count, now());
+    }
+
+    public void evict(Long userId) {
+        windows.remove(userId);
+    }
+
+    // Remove janelas sem movimento há mais de 24h
+    @Scheduled(fixedDelay = 600_000)
+    public void evictIdle() {
+        long limit = now() - WINDOW_SECONDS;
+        windows.entrySet().removeIf(entry -> entry.getValue().getLastTouched() < limit);
+    }
+
+    // Marca uma alteração de aposta que será aplicada com record após o commit; devolve a janela
+    // marcada (ou null se o usuário não está carregado), a ser passada a endChange no fim da transação
+    public UserBetWindow beginChange(Long userId) {
+        UserBetWindow window = windows.get(userId);
+        if (window != null) {
+            window.beginChange();
+        }
+        return window;
+    }
+
+    public void endChange(UserBetWindow window) {
+        if (window != null) {
+            window.endChange();
+        }
+    }
+
+    // Uma janela simples é estendida (30 dias) no lugar quando o usuário passa a ter políticas próprias;
+    // trocá-la por outra perderia as reservas feitas nela que ainda não foram gravadas
+    UserBetWindow window(Long userId, boolean extended) {
+        UserBetWindow window = windows.computeIfAbsent(userId, id -> hydrate(id, extended));
+        if (extended && !window.isExtended()) {
+            extend(userId, window);
+        }
+        return window;
+    }
+
+    // O histórico de 30 dias é lido do banco sem segurar o monitor da janela. A leitura só é aceita se
+    // começou sem reservas ou alterações em andamento e nenhuma começou até a instalação: assim toda aposta
+    // está ou só na leitura (gravada antes) ou só na janela (depois), nunca em ambas ou em nenhuma
+    private void extend(Long userId, UserBetWindow window) {
+        try {
+            for (int attempt = 0; attempt < EXTEND_ATTEMPTS; attempt++) {
+                long mark = window.awaitQuiescent(EXTEND_WAIT_MS);
+                if (mark < 0) {
+                    continue;
+                }
+                if (window.extend(hydrate(userId, true), mark)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new LimitsUnavailableException("Bet limits for user ID " + userId + " are being loaded, try again");
+    }
+
+    private UserBetWindow hydrate(Long userId, boolean extended) {
+        long now = now();
+        long windowSeconds = extended ? EXTENDED_WINDOW_SECONDS : WINDOW_SECONDS;
+        LocalDateTime since = LocalDateTime.ofEpochSecond(now - windowSeconds, 0, ZoneOffset.UTC);
+
+        UserBetWindow window = new UserBetWindow(extended);
+        // Sempre do primário: a janela fica em memória e uma réplica atrasada esconderia apostas recentes
+        List<BetAmountView> bets = primaryReads.read(() -> betRepository.findAmountsByUserIdAndTimestampAfter(userId, since));
+        for (BetAmountView bet : bets) {
+            window.record(toEpochSecond(bet.getTimestamp()), BetTypes.slot(bet.getType()),
+                    toCents(bet.getAmount()), 1, now);
+        }
+        return window;
+    }
+
+    static long now() {
+        return toEpochSecond(LocalDateTime.now());
+    }
+
+    // Os horários são LocalDateTime no fuso do servidor; usamos UTC só como referência fixa
+    static long toEpochSecond(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toEpochSecond(ZoneOffset.UTC) : now();
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
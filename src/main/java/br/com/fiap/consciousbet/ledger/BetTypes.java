@@ -0,0 +1,29 @@
+package br.com.fiap.consciousbet.ledger;
+
+// Índices dos tipos de aposta nos arrays do ledger (0 = todos os tipos)
+public final class BetTypes {
+
+    public static final String ALL = "ALL";
+    public static final int SLOTS = 5;
+
+    private BetTypes() {
+    }
+
+    public static int slot(String type) {
+        if (type == null) {
+            return 0;
+        }
+        switch (type) {
+            case "SPORTS":
+                return 1;
+            case "CASINO":
+                return 2;
+            case "LOTTERY":
+                return 3;
+            case "POKER":
+                return 4;
+            default:
+                return 0;
+        }
+    }
+}
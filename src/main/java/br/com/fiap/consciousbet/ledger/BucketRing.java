@@ -0,0 +1,87 @@
+package br.com.fiap.consciousbet.ledger;
+
+import java.util.Arrays;
+
+// Anel de buckets de tempo com soma (em centavos) e contagem por bucket.
+// Não é thread-safe: quem usa deve sincronizar o acesso.
+public class BucketRing {
+
+    private final long bucketSeconds;
+    private final int size;
+    private final long[] bucketIds;
+    private final long[] cents;
+    private final int[] counts;
+
+    public BucketRing(long bucketSeconds, int size) {
+        this.bucketSeconds = bucketSeconds;
+        this.size = size;
+        this.bucketIds = new long[size];
+        this.cents = new long[size];
+        this.counts = new int[size];
+        Arrays.fill(bucketIds, Long.MIN_VALUE);
+    }
+
+    // Registra um valor no bucket do instante informado (ignora o que está fora da janela)
+    public void add(long epochSecond, long amountCents, int count, long nowEpochSecond) {
+        long current = Math.floorDiv(nowEpochSecond, bucketSeconds);
+        long bucket = Math.min(Math.floorDiv(epochSecond, bucketSeconds), current);
+        if (bucket <= current - size) {
+            return;
+        }
+
+        int slot = (int) Math.floorMod(bucket, (long) size);
+        if (bucketIds[slot] != bucket) {
+            bucketIds[slot] = bucket;
+            cents[slot] = 0;
+            counts[slot] = 0;
+        }
+        cents[slot] += amountCents;
+        counts[slot] += count;
+    }
+
+    // Soma dos valores nos últimos 'buckets' buckets (incluindo o atual); visita só esses buckets
+    public long sumCents(long nowEpochSecond, int buckets) {
+        long current = Math.floorDiv(nowEpochSecond, bucketSeconds);
+        int span = Math.min(buckets, size);
+        long total = 0;
+        for (int i = 0; i < span; i++) {
+            long bucket = current - i;
+            int slot = (int) Math.floorMod(bucket, (long) size);
+            if (bucketIds[slot] == bucket) {
+                total += cents[slot];
+            }
+        }
+        return Math.max(total, 0);
+    }
+
+    // Contagem nos últimos 'buckets' buckets (incluindo o atual)
+    public int sumCount(long nowEpochSecond, int buckets) {
+        long current = Math.floorDiv(nowEpochSecond, bucketSeconds);
+        int span = Math.min(buckets, size);
+        int total = 0;
+        for (int i = 0; i < span; i++) {
+            long bucket = current - i;
+            int slot = (int) Math.floorMod(bucket, (long) size);
+            if (bucketIds[slot] == bucket) {
+                total += counts[slot];
+            }
+        }
+        return Math.max(total, 0);
+    }
+
+    public long sumCents(long nowEpochSecond) {
+        return sumCents(nowEpochSecond, size);
+    }
+
+    public int sumCount(long nowEpochSecond) {
+        return sumCount(nowEpochSecond, size);
+    }
+
+    public long getBucketSeconds() {
+        return bucketSeconds;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.fiap.consciousbet.ledger;
+
+import br.com.fiap.consciousbet.entity.BetLimitPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Conjunto de regras de um usuário pronto para avaliação em memória (limites globais + autoimpostos)
+public final class CompiledLimitPolicy {
+
+    // Limites globais de segurança
+    private static final long MAX_DAILY_AMOUNT_CENTS = 500_000;
+    private static final int MAX_DAILY_BETS = 20;
+
+    private static final PolicyRule DEFAULT_DAILY_RULE =
+            new PolicyRule(LimitPeriod.DAILY, 0, null, MAX_DAILY_AMOUNT_CENTS, MAX_DAILY_BETS);
+
+    public static final CompiledLimitPolicy DEFAULT = new CompiledLimitPolicy(0, new PolicyRule[]{DEFAULT_DAILY_RULE});
+
+    private final long version;
+    private final PolicyRule[] rules;
+    private final boolean extended;
+
+    private CompiledLimitPolicy(long version, PolicyRule[] rules) {
+        this.version = version;
+        this.rules = rules;
+        boolean needsExtended = false;
+        for (PolicyRule rule : rules) {
+            needsExtended |= rule.needsExtendedWindow();
+        }
+        this.extended = needsExtended;
+    }
+
+    // Recebe todas as políticas do usuário: as inativas só contam para a versão
+    // (soma de version + 1, a mesma de BetLimitPolicyRepository.findVersionByUserId)
+    public static CompiledLimitPolicy compile(List<BetLimitPolicy> policies) {
+        if (policies.isEmpty()) {
+            return DEFAULT;
+        }
+
+        List<PolicyRule> rules = new ArrayList<>(policies.size() + 1);
+        rules.add(DEFAULT_DAILY_RULE);
+        long version = 0;
+        for (BetLimitPolicy policy : policies) {
+            version += (policy.getVersion() != null ? policy.getVersion() : 0) + 1;
+            if (!policy.isActive()) {
+                continue;
+            }
+            String scope = BetTypes.ALL.equals(policy.getBetType()) ? null : policy.getBetType();
+            rules.add(new PolicyRule(
+                    LimitPeriod.valueOf(policy.getPeriod()),
+                    BetTypes.slot(scope),
+                    scope,
+                    policy.getMaxAmount() != null ? BetLedger.toCents(policy.getMaxAmount()) : -1,
+                    policy.getMaxBets() != null ? policy.getMaxBets() : -1));
+        }
+        return new CompiledLimitPolicy(version, rules.toArray(new PolicyRule[0]));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public PolicyRule[] getRules() {
+        return rules;
+    }
+
+    // true se alguma regra precisa dos anéis semanal/mensal ou por tipo de aposta
+    public boolean isExtended() {
+        return extended;
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.fiap.consciousbet.ledger;
+
+import java.math.BigDecimal;
+
+// Resultado da avaliação de limites, com a folga restante (antes da aposta avaliada). A reserva aprova
+// sempre com a mesma instância (ALLOWED, sem folga calculada); só a consulta (evaluate) e as rejeições
+// alocam um objeto.
+public final class LimitDecision {
+
+    // Folga em uma dimensão sem limite configurado
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    public static final LimitDecision ALLOWED = new LimitDecision(null, null, 0, 0, 0, UNLIMITED, UNLIMITED);
+
+    private final LimitRule rule;
+    private final String scope;
+    private final long limit;
+    private final long current;
+    private final long attempted;
+    private final long remainingAmountCents;
+    private final long remainingBets;
+
+    private LimitDecision(LimitRule rule, String scope, long limit, long current, long attempted,
+                          long remainingAmountCents, long remainingBets) {
+        this.rule = rule;
+        this.scope = scope;
+        this.limit = limit;
+        this.current = current;
+        this.attempted = attempted;
+        this.remainingAmountCents = remainingAmountCents;
+        this.remainingBets = remainingBets;
+    }
+
+    // Aprovação com a menor folga entre as regras que se aplicam à aposta
+    public static LimitDecision allowed(long remainingAmountCents, long remainingBets) {
+        if (remainingAmountCents == UNLIMITED && remainingBets == UNLIMITED) {
+            return ALLOWED;
+        }
+        return new LimitDecision(null, null, 0, 0, 0, remainingAmountCents, remainingBets);
+    }
+
+    // 'limit', 'current' e 'attempted' estão em centavos para regras de valor e em apostas para regras de quantidade
+    public static LimitDecision rejected(LimitRule rule, long limit, long current, long attempted,
+                                         long remainingAmountCents, long remainingBets) {
+        return rejected(rule, null, limit, current, attempted, remainingAmountCents, remainingBets);
+    }
+
+    // 'scope' é o tipo de aposta da regra violada, ou null quando vale para todos os tipos
+    public static LimitDecision rejected(LimitRule rule, String scope, long limit, long current, long attempted,
+                                         long remainingAmountCents, long remainingBets) {
+        return new LimitDecision(rule, scope, limit, current, attempted,
+                Math.max(remainingAmountCents, 0), Math.max(remainingBets, 0));
+    }
+
+    public boolean isAllowed() {
+        return rule == null;
+    }
+
+    public LimitRule getRule() {
+        return rule;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public BigDecimal getLimitAmount() {
+        return rule != null && rule.isAmountRule() ? BetLedger.fromCents(limit) : null;
+    }
+
+    public Long getLimitCount() {
+        return rule != null && !rule.isAmountRule() ? limit : null;
+    }
+
+    // null quando não há limite de valor aplicável
+    public BigDecimal getRemainingAmount() {
+        return remainingAmountCents != UNLIMITED ? BetLedger.fromCents(remainingAmountCents) : null;
+    }
+
+    // null quando não há limite de quantidade aplicável
+    public Long getRemainingBets() {
+        return remainingBets != UNLIMITED ? remainingBets : null;
+    }
+
+    // Mensagem montada só quando alguém a pede (resposta HTTP, item rejeitado de lote)
+    public String getMessage() {
+        if (rule == null) {
+            return "Bet allowed";
+        }
+        if (rule == LimitRule.MIN_SINGLE_BET || rule == LimitRule.MAX_SINGLE_BET) {
+            return rule.getDescription() + " is R$ " + BetLedger.fromCents(limit);
+        }
+        String description = scope != null ? rule.getDescription() + " for " + scope : rule.getDescription();
+        if (!rule.isAmountRule()) {
+            return description + " exceeded. Limit: " + limit + ", Current: " + current;
+        }
+        return description + " exceeded. Limit: R$ " + BetLedger.fromCents(limit) +
+                ", Current: R$ " + BetLedger.fromCents(current) +
+                ", Attempted: R$ " + BetLedger.fromCents(attempted);
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.fiap.consciousbet.ledger;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+// Avalia os limites de apostas sem usar exceções; a reserva aprovada não aloca nada além do ledger.
+// Limites diários globais e políticas próprias do usuário vêm do LimitPolicyCache.
+@Component
+public class LimitEvaluator {
+
+    // Limites de segurança para apostas (em centavos)
+    private static final long MIN_SINGLE_BET_CENTS = 100;
+    private static final long MAX_SINGLE_BET_CENTS = 200_000;
+
+    private final BetLedger betLedger;
+    private final LimitPolicyCache policyCache;
+
+    public LimitEvaluator(BetLedger betLedger, LimitPolicyCache policyCache) {
+        this.betLedger = betLedger;
+        this.policyCache = policyCache;
+    }
+
+    // Apenas o valor da aposta isolada
+    public LimitDecision checkAmount(BigDecimal amount) {
+        return checkAmount(BetLedger.toCents(amount));
+    }
+
+    // Verifica se a aposta caberia agora nos limites, sem reservar (type null = só regras de todos os tipos).
+    // Aprovada ou não, a decisão traz a folga restante
+    public LimitDecision evaluate(Long userId, String type, BigDecimal amount) {
+        long amountCents = BetLedger.toCents(amount);
+        LimitDecision decision = checkAmount(amountCents);
+        if (!decision.isAllowed()) {
+            return decision;
+        }
+        CompiledLimitPolicy policy = policyCache.get(userId);
+        return betLedger.window(userId, policy.isExtended())
+                .check(amountCents, BetTypes.slot(type), policy, BetLedger.now());
+    }
+
+    // Verifica e reserva atomicamente; quem chama deve liberar a reserva se a aposta não for gravada
+    public LimitDecision reserve(Long userId, String type, BigDecimal amount) {
+        long amountCents = BetLedger.toCents(amount);
+        LimitDecision decision = checkAmount(amountCents);
+        if (!decision.isAllowed()) {
+            return decision;
+        }
+        CompiledLimitPolicy policy = policyCache.get(userId);
+        return betLedger.window(userId, policy.isExtended())
+                .tryReserve(amountCents, BetTypes.slot(type), policy, BetLedger.now());
+    }
+
+    public void release(Long userId, String type, BigDecimal amount) {
+        betLedger.release(userId, type, amount);
+    }
+
+    public void confirm(Long userId, String type, BigDecimal amount) {
+        betLedger.confirm(userId, type, amount);
+    }
+
+    private static LimitDecision checkAmount(long amountCents) {
+        if (amountCents < MIN_SINGLE_BET_CENTS) {
+            return LimitDecision.rejected(LimitRule.MIN_SINGLE_BET, MIN_SINGLE_BET_CENTS, 0, amountCents, 0, 0);
+        }
+        if (amountCents > MAX_SINGLE_BET_CENTS) {
+            return LimitDecision.rejected(LimitRule.MAX_SINGLE_BET, MAX_SINGLE_BET_CENTS, 0, amountCents,
+                    MAX_SINGLE_BET_CENTS, 0);
+        }
+        return LimitDecision.ALLOWED;
+    }
+}
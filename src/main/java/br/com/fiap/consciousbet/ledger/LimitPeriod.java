@@ -0,0 +1,24 @@
+package br.com.fiap.consciousbet.ledger;
+
+// Períodos das políticas de limite (janelas deslizantes)
+public enum LimitPeriod {
+    DAILY(LimitRule.DAILY_AMOUNT, LimitRule.DAILY_COUNT),
+    WEEKLY(LimitRule.WEEKLY_AMOUNT, LimitRule.WEEKLY_COUNT),
+    MONTHLY(LimitRule.MONTHLY_AMOUNT, LimitRule.MONTHLY_COUNT);
+
+    private final LimitRule amountRule;
+    private final LimitRule countRule;
+
+    LimitPeriod(LimitRule amountRule, LimitRule countRule) {
+        this.amountRule = amountRule;
+        this.countRule = countRule;
+    }
+
+    public LimitRule getAmountRule() {
+        return amountRule;
+    }
+
+    public LimitRule getCountRule() {
+        return countRule;
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.fiap.consciousbet.ledger;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.repository.BetLimitPolicyRepository;
+import br.com.fiap.consciousbet.repository.PolicyVersionView;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cache das políticas compiladas por usuário. A política é lida do banco uma vez por usuário;
+// depois disso a avaliação de uma aposta não faz nenhuma consulta. Alterações feitas em outra
+// instância são detectadas pela coluna updated_at e invalidam só os usuários afetados.
+// A invalidação informa a versão das políticas já gravada: a política compilada (ou uma carga em
+// andamento que tenha lido o estado anterior) com versão menor é descartada e recarregada.
+@Component
+public class LimitPolicyCache {
+
+    private final BetLimitPolicyRepository policyRepository;
+    private final PrimaryReads primaryReads;
+    private final ConcurrentHashMap<Long, CompiledLimitPolicy> policies = new ConcurrentHashMap<>();
+    // Versão mínima aceita por usuário, registrada pelas invalidações
+    private final ConcurrentHashMap<Long, Long> requiredVersions = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastRefresh = LocalDateTime.now();
+
+    public LimitPolicyCache(BetLimitPolicyRepository policyRepository, PrimaryReads primaryReads) {
+        this.policyRepository = policyRepository;
+        this.primaryReads = primaryReads;
+    }
+
+    public CompiledLimitPolicy get(Long userId) {
+        CompiledLimitPolicy policy = policies.get(userId);
+        if (policy != null && policy.getVersion() >= requiredVersion(userId)) {
+            return policy;
+        }
+        // Do primário: a política compilada fica em cache até ser invalidada
+        return policies.compute(userId, (id, current) -> current != null && current.getVersion() >= requiredVersion(id)
+                ? current
+                : CompiledLimitPolicy.compile(primaryReads.read(() -> policyRepository.findByUserId(id))));
+    }
+
+    public void invalidate(Long userId, long version) {
+        requiredVersions.merge(userId, version, Math::max);
+        policies.computeIfPresent(userId, (id, current) -> current.getVersion() >= version ? current : null);
+    }
+
+    // Busca usuários com políticas alteradas (com folga para diferença de relógio entre instâncias)
+    @Scheduled(fixedDelay = 5_000)
+    public void refreshChanged() {
+        LocalDateTime now = LocalDateTime.now();
+        for (PolicyVersionView changed : policyRepository.findVersionsUpdatedAfter(lastRefresh.minusMinutes(1))) {
+            invalidate(changed.getUserId(), changed.getVersion());
+        }
+        lastRefresh = now;
+    }
+
+    private long requiredVersion(Long userId) {
+        return requiredVersions.getOrDefault(userId, 0L);
+    }
+}
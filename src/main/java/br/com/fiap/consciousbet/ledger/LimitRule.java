@@ -0,0 +1,30 @@
+package br.com.fiap.consciousbet.ledger;
+
+// Regras de limite que podem rejeitar uma aposta
+public enum LimitRule {
+    MIN_SINGLE_BET(true, "Minimum bet amount"),
+    MAX_SINGLE_BET(true, "Maximum single bet amount"),
+    DAILY_AMOUNT(true, "Daily betting limit"),
+    DAILY_COUNT(false, "Daily bet count limit"),
+    WEEKLY_AMOUNT(true, "Weekly betting limit"),
+    WEEKLY_COUNT(false, "Weekly bet count limit"),
+    MONTHLY_AMOUNT(true, "Monthly betting limit"),
+    MONTHLY_COUNT(false, "Monthly bet count limit");
+
+    private final boolean amountRule;
+    private final String description;
+
+    LimitRule(boolean amountRule, String description) {
+        this.amountRule = amountRule;
+        this.description = description;
+    }
+
+    // true quando o limite é um valor em centavos; false quando é uma quantidade de apostas
+    public boolean isAmountRule() {
+        return amountRule;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
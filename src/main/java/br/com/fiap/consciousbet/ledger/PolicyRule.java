@@ -0,0 +1,45 @@
+package br.com.fiap.consciousbet.ledger;
+
+// Regra compilada: período, tipo de aposta (slot) e limites em centavos / apostas (-1 = sem limite)
+public final class PolicyRule {
+
+    private final LimitPeriod period;
+    private final int typeSlot;
+    private final String scope;
+    private final long maxCents;
+    private final int maxBets;
+
+    public PolicyRule(LimitPeriod period, int typeSlot, String scope, long maxCents, int maxBets) {
+        this.period = period;
+        this.typeSlot = typeSlot;
+        this.scope = scope;
+        this.maxCents = maxCents;
+        this.maxBets = maxBets;
+    }
+
+    public LimitPeriod getPeriod() {
+        return period;
+    }
+
+    public int getTypeSlot() {
+        return typeSlot;
+    }
+
+    // Tipo de aposta ao qual a regra se aplica, ou null para todos
+    public String getScope() {
+        return scope;
+    }
+
+    public long getMaxCents() {
+        return maxCents;
+    }
+
+    public int getMaxBets() {
+        return maxBets;
+    }
+
+    // Regras diárias para todos os tipos usam o anel de 5 minutos; as demais precisam dos anéis estendidos
+    public boolean needsExtendedWindow() {
+        return period != LimitPeriod.DAILY || typeSlot != 0;
+    }
+}
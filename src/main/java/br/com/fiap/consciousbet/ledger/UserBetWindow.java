@@ -0,0 +1,226 @@
+package br.com.fiap.consciousbet.ledger;
+
+// Janelas deslizantes de um usuário. Sempre: 24h em 288 buckets de 5 minutos.
+// Para quem tem políticas próprias (janela estendida): 7 dias em buckets de 1h e 30 dias
+// em buckets de 1 dia, por tipo de aposta (slot 0 = todos os tipos), criados sob demanda.
+// Reservas ainda não confirmadas nem desfeitas e alterações de apostas ainda não aplicadas contam como
+// "em andamento": a extensão só aceita uma leitura do banco feita sem nada em andamento e sem que nada
+// tenha começado até ela ser instalada (ver BetLedger.window).
+public class UserBetWindow {
+
+    static final long BUCKET_SECONDS = 300;
+    static final int BUCKETS = 288;
+
+    private static final long HOUR_SECONDS = 3_600;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int HOURS_PER_WEEK = 168;
+    private static final long DAY_SECONDS = 86_400;
+    static final int DAYS_PER_MONTH = 30;
+
+    private final BucketRing daily = new BucketRing(BUCKET_SECONDS, BUCKETS);
+    private BucketRing[] hourly;
+    private BucketRing[] days;
+    private final long[] pendingCents = new long[BetTypes.SLOTS];
+    private final int[] pendingCounts = new int[BetTypes.SLOTS];
+    private int changesInFlight;
+    // Reservas e alterações iniciadas desde a criação da janela
+    private long started;
+    private volatile long lastTouched;
+
+    public UserBetWindow() {
+        this(false);
+    }
+
+    public UserBetWindow(boolean extended) {
+        this.hourly = extended ? new BucketRing[BetTypes.SLOTS] : null;
+        this.days = extended ? new BucketRing[BetTypes.SLOTS] : null;
+    }
+
+    public synchronized boolean isExtended() {
+        return hourly != null;
+    }
+
+    // Espera (até timeoutMs) não haver reserva nem alteração em andamento e devolve a marca a ser
+    // passada a extend; -1 se o tempo acabou
+    synchronized long awaitQuiescent(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (inFlight() > 0) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return -1;
+            }
+            wait(remaining);
+        }
+        return started;
+    }
+
+    // Passa a manter os anéis de 7/30 dias montados a partir de 'loaded', lido do banco depois de
+    // awaitQuiescent. Recusa (false) se alguma reserva ou alteração começou desde a marca: a leitura
+    // pode ou não tê-la visto, e aceitá-la perderia ou duplicaria a aposta
+    synchronized boolean extend(UserBetWindow loaded, long mark) {
+        if (hourly != null) {
+            return true;
+        }
+        if (started != mark || inFlight() > 0) {
+            return false;
+        }
+        hourly = loaded.hourly;
+        days = loaded.days;
+        return true;
+    }
+
+    // Uma alteração de aposta já confirmada vai ser gravada; termina com endChange (commit ou rollback)
+    public synchronized void beginChange() {
+        changesInFlight++;
+        started++;
+    }
+
+    public synchronized void endChange() {
+        changesInFlight = Math.max(0, changesInFlight - 1);
+        notifyIfQuiescent();
+    }
+
+    public synchronized void record(long epochSecond, int typeSlot, long amountCents, int count, long nowEpochSecond) {
+        add(epochSecond, typeSlot, amountCents, count, nowEpochSecond);
+        lastTouched = nowEpochSecond;
+    }
+
+    // Verifica as regras e reserva o valor na mesma seção crítica, sem janela para corrida
+    public synchronized LimitDecision tryReserve(long amountCents, int typeSlot, CompiledLimitPolicy policy,
+                                                 long nowEpochSecond) {
+        LimitDecision decision = check(amountCents, typeSlot, policy, nowEpochSecond, null);
+        if (decision.isAllowed()) {
+            add(nowEpochSecond, typeSlot, amountCents, 1, nowEpochSecond);
+            pendingCents[typeSlot] += amountCents;
+            pendingCounts[typeSlot]++;
+            started++;
+        }
+        return decision;
+    }
+
+    // A aposta reservada foi gravada: o valor já está nos anéis, só deixa de ser pendente
+    public synchronized void confirm(int typeSlot, long amountCents) {
+        settle(typeSlot, amountCents);
+        notifyIfQuiescent();
+    }
+
+    // A aposta reservada não foi gravada: desfaz a reserva
+    public synchronized void release(int typeSlot, long amountCents, long nowEpochSecond) {
+        add(nowEpochSecond, typeSlot, -amountCents, -1, nowEpochSecond);
+        settle(typeSlot, amountCents);
+        lastTouched = nowEpochSecond;
+        notifyIfQuiescent();
+    }
+
+    // Consulta sem reservar: aprovações trazem a folga restante
+    public synchronized LimitDecision check(long amountCents, int typeSlot, CompiledLimitPolicy policy,
+                                            long nowEpochSecond) {
+        long[] headroom = {LimitDecision.UNLIMITED, LimitDecision.UNLIMITED};
+        LimitDecision decision = check(amountCents, typeSlot, policy, nowEpochSecond, headroom);
+        return decision.isAllowed() ? LimitDecision.allowed(headroom[0], headroom[1]) : decision;
+    }
+
+    // 'headroom' (centavos, apostas) recebe a menor folga entre as regras aprovadas; null na reserva
+    private LimitDecision check(long amountCents, int typeSlot, CompiledLimitPolicy policy, long nowEpochSecond,
+                                long[] headroom) {
+        lastTouched = nowEpochSecond;
+        for (PolicyRule rule : policy.getRules()) {
+            if (rule.getTypeSlot() != 0 && rule.getTypeSlot() != typeSlot) {
+                continue;
+            }
+            LimitDecision decision = check(rule, amountCents, nowEpochSecond, headroom);
+            if (!decision.isAllowed()) {
+                return decision;
+            }
+        }
+        return LimitDecision.ALLOWED;
+    }
+
+    public synchronized long dailyCents(long nowEpochSecond) {
+        lastTouched = nowEpochSecond;
+        return daily.sumCents(nowEpochSecond);
+    }
+
+    public synchronized int dailyCount(long nowEpochSecond) {
+        lastTouched = nowEpochSecond;
+        return daily.sumCount(nowEpochSecond);
+    }
+
+    public long getLastTouched() {
+        return lastTouched;
+    }
+
+    private LimitDecision check(PolicyRule rule, long amountCents, long now, long[] headroom) {
+        long cents;
+        int count;
+        if (rule.needsExtendedWindow()) {
+            BucketRing ring = rule.getPeriod() == LimitPeriod.MONTHLY
+                    ? (days != null ? days[rule.getTypeSlot()] : null)
+                    : (hourly != null ? hourly[rule.getTypeSlot()] : null);
+            int buckets = rule.getPeriod() == LimitPeriod.DAILY ? HOURS_PER_DAY
+                    : rule.getPeriod() == LimitPeriod.WEEKLY ? HOURS_PER_WEEK : DAYS_PER_MONTH;
+            cents = ring != null ? ring.sumCents(now, buckets) : 0;
+            count = ring != null ? ring.sumCount(now, buckets) : 0;
+        } else {
+            cents = daily.sumCents(now);
+            count = daily.sumCount(now);
+        }
+
+        long maxCents = rule.getMaxCents();
+        int maxBets = rule.getMaxBets();
+        long remainingCents = maxCents >= 0 ? maxCents - cents : LimitDecision.UNLIMITED;
+        long remainingBets = maxBets >= 0 ? maxBets - count : LimitDecision.UNLIMITED;
+        if (maxCents >= 0 && cents + amountCents > maxCents) {
+            return LimitDecision.rejected(rule.getPeriod().getAmountRule(), rule.getScope(), maxCents, cents,
+                    amountCents, remainingCents, remainingBets);
+        }
+        if (maxBets >= 0 && count >= maxBets) {
+            return LimitDecision.rejected(rule.getPeriod().getCountRule(), rule.getScope(), maxBets, count, 1,
+                    remainingCents, 0);
+        }
+        if (headroom != null) {
+            headroom[0] = Math.min(headroom[0], remainingCents);
+            headroom[1] = Math.min(headroom[1], remainingBets);
+        }
+        return LimitDecision.ALLOWED;
+    }
+
+    private void add(long epochSecond, int typeSlot, long amountCents, int count, long now) {
+        daily.add(epochSecond, amountCents, count, now);
+        if (hourly != null) {
+            addExtended(0, epochSecond, amountCents, count, now);
+            if (typeSlot != 0) {
+                addExtended(typeSlot, epochSecond, amountCents, count, now);
+            }
+        }
+    }
+
+    // Sem ficar negativo: a reserva pode ter sido feita numa janela já descartada
+    private void settle(int typeSlot, long amountCents) {
+        pendingCents[typeSlot] = Math.max(0, pendingCents[typeSlot] - amountCents);
+        pendingCounts[typeSlot] = Math.max(0, pendingCounts[typeSlot] - 1);
+    }
+
+    private int inFlight() {
+        int total = changesInFlight;
+        for (int count : pendingCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    private void notifyIfQuiescent() {
+        if (inFlight() == 0) {
+            notifyAll();
+        }
+    }
+
+    private void addExtended(int slot, long epochSecond, long amountCents, int count, long now) {
+        if (hourly[slot] == null) {
+            hourly[slot] = new BucketRing(HOUR_SECONDS, HOURS_PER_WEEK);
+            days[slot] = new BucketRing(DAY_SECONDS, DAYS_PER_MONTH);
+        }
+        hourly[slot].add(epochSecond, amountCents, count, now);
+        days[slot].add(epochSecond, amountCents, count, now);
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.fiap.consciousbet.mapper;
+
+import br.com.fiap.consciousbet.dto.LimitPolicyDTO;
+import br.com.fiap.consciousbet.dto.LimitPolicyResponseDTO;
+import br.com.fiap.consciousbet.entity.BetLimitPolicy;
+
+public class LimitPolicyMapper {
+
+    // Copiar limites do DTO para a entidade (reativa políticas removidas)
+    public static void updateEntity(BetLimitPolicy policy, LimitPolicyDTO dto) {
+        policy.setMaxAmount(dto.getMaxAmount());
+        policy.setMaxBets(dto.getMaxBets());
+        policy.setActive(true);
+    }
+
+    // Entidade para DTO de resposta
+    public static LimitPolicyResponseDTO toResponseDTO(BetLimitPolicy policy) {
+        return new LimitPolicyResponseDTO(
+                policy.getId(),
+                policy.getUserId(),
+                policy.getPeriod(),
+                policy.getBetType(),
+                policy.getMaxAmount(),
+                policy.getMaxBets(),
+                policy.getVersion(),
+                policy.getUpdatedAt()
+        );
+    }
+}
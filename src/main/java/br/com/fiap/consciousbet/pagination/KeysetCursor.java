@@ -0,0 +1,71 @@
+package br.com.fiap.consciousbet.pagination;
+
+import br.com.fiap.consciousbet.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posição opaca para paginação por chave: (timestamp, id) para apostas, só id para usuários
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final LocalDateTime timestamp;
+    private final long id;
+
+    private KeysetCursor(LocalDateTime timestamp, long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public static String encode(LocalDateTime timestamp, long id) {
+        String raw = timestamp != null ? timestamp.toString() + SEPARATOR + id : Long.toString(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(long id) {
+        return encode(null, id);
+    }
+
+    // null ou vazio = primeira página
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return new KeysetCursor(null, Long.parseLong(raw));
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Tamanho da fatia entre 1 e MAX_PAGE_SIZE
+    public static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // Apostas exigem o par (timestamp, id)
+    public LocalDateTime requireTimestamp(String cursor) {
+        if (timestamp == null) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+        return timestamp;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
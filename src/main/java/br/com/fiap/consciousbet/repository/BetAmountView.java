@@ -0,0 +1,16 @@
+package br.com.fiap.consciousbet.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Projeção com apenas id, horário, tipo e valor da aposta
+public interface BetAmountView {
+
+    Long getId();
+
+    LocalDateTime getTimestamp();
+
+    String getType();
+
+    BigDecimal getAmount();
+}
@@ -0,0 +1,35 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.entity.BetLimitPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BetLimitPolicyRepository extends JpaRepository<BetLimitPolicy, Long> {
+
+    // Políticas ativas de um usuário
+    List<BetLimitPolicy> findByUserIdAndActiveTrue(Long userId);
+
+    // Todas as políticas de um usuário, ativas ou não (compilação com versão)
+    List<BetLimitPolicy> findByUserId(Long userId);
+
+    // Política de um usuário para um período e tipo (ativa ou não)
+    Optional<BetLimitPolicy> findByUserIdAndPeriodAndBetType(Long userId, String period, String betType);
+
+    // Versão das políticas de um usuário: soma de (version + 1) de todas as linhas, ativas ou não.
+    // Cresce a cada alteração e a cada política nova (políticas são desativadas, nunca apagadas)
+    @Query("SELECT COALESCE(SUM(p.version + 1), 0) FROM BetLimitPolicy p WHERE p.userId = :userId")
+    long findVersionByUserId(@Param("userId") Long userId);
+
+    // Versão atual dos usuários com políticas alteradas desde um instante (invalidação do cache)
+    @Query("SELECT p.userId AS userId, SUM(p.version + 1) AS version FROM BetLimitPolicy p " +
+            "WHERE p.userId IN (SELECT c.userId FROM BetLimitPolicy c WHERE c.updatedAt > :since) " +
+            "GROUP BY p.userId")
+    List<PolicyVersionView> findVersionsUpdatedAfter(@Param("since") LocalDateTime since);
+}
@@ -1,8 +1,10 @@
 package br.com.fiap.consciousbet.repository;
 
+import br.com.fiap.consciousbet.dto.BetResponseDTO;
 import br.com.fiap.consciousbet.entity.Bet;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,25 +12,65 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BetRepository extends JpaRepository<Bet, Long> {
+public interface BetRepository extends JpaRepository<Bet, Long>, BetSearchRepository, BetStreamRepository {
+
+    // Projeção de leitura: aposta + dados do usuário em uma única consulta (sem carregar Bet.user depois)
+    String DTO_SELECT = "SELECT new br.com.fiap.consciousbet.dto.BetResponseDTO(b.id, u.id, u.name, u.email, " +
+            "b.amount, b.type, b.description, b.status, b.timestamp) FROM Bet b JOIN b.user u ";
+
+    // Buscar aposta por ID já com o usuário (respostas de escrita)
+    @Query("SELECT b FROM Bet b JOIN FETCH b.user WHERE b.id = :id")
+    Optional<Bet> findWithUserById(@Param("id") Long id);
+
+    // Versões e status de uma aposta (ETag sem carregar a entidade)
+    @Query("SELECT b.version AS version, b.status AS status, u.version AS userVersion " +
+            "FROM Bet b JOIN b.user u WHERE b.id = :id")
+    Optional<BetVersionView> findVersionById(@Param("id") Long id);
+
+    // Resumo de versões das apostas de um usuário (ETag das listagens); vazio se o usuário não existe
+    @Query("SELECT u.version AS userVersion, COUNT(b) AS bets, COALESCE(SUM(b.version), 0) AS versionSum, " +
+            "COALESCE(MAX(b.id), 0) AS maxBetId FROM User u LEFT JOIN Bet b ON b.user = u " +
+            "WHERE u.id = :userId GROUP BY u.id, u.version")
+    Optional<UserBetsVersionView> findBetsVersionByUserId(@Param("userId") Long userId);
+
+    // Buscar aposta por ID
+    @Query(DTO_SELECT + "WHERE b.id = :id")
+    Optional<BetResponseDTO> findByIdAsDto(@Param("id") Long id);
+
+    // Buscar várias apostas por ID em uma única consulta (busca múltipla)
+    @Query(DTO_SELECT + "WHERE b.id IN :ids")
+    List<BetResponseDTO> findAllByIdAsDto(@Param("ids") Collection<Long> ids);
+
+    // Buscar todas as apostas com paginação, sem a consulta de contagem (o total vem do EntityCounters)
+    @Query(DTO_SELECT)
+    List<BetResponseDTO> findPageAsDto(Pageable pageable);
 
     // Buscar apostas por usuário
-    List<Bet> findByUserId(Long userId);
+    @Query(DTO_SELECT + "WHERE u.id = :userId")
+    List<BetResponseDTO> findByUserIdAsDto(@Param("userId") Long userId);
 
     // Buscar apostas por usuário com paginação
-    Page<Bet> findByUserId(Long userId, Pageable pageable);
+    @Query(value = DTO_SELECT + "WHERE u.id = :userId",
+            countQuery = "SELECT COUNT(b) FROM Bet b WHERE b.user.id = :userId")
+    Page<BetResponseDTO> findByUserIdAsDto(@Param("userId") Long userId, Pageable pageable);
 
     // Buscar apostas por usuário após uma data específica
-    List<Bet> findByUserIdAndTimestampAfter(Long userId, LocalDateTime after);
+    @Query(DTO_SELECT + "WHERE u.id = :userId AND b.timestamp > :after")
+    List<BetResponseDTO> findByUserIdAndTimestampAfterAsDto(@Param("userId") Long userId,
+                                                            @Param("after") LocalDateTime after);
 
     // Buscar apostas por tipo
-    List<Bet> findByType(String type);
+    @Query(DTO_SELECT + "WHERE b.type = :type")
+    List<BetResponseDTO> findByTypeAsDto(@Param("type") String type);
 
     // Buscar apostas por status
-    List<Bet> findByStatus(String status);
+    @Query(DTO_SELECT + "WHERE b.status = :status")
+    List<BetResponseDTO> findByStatusAsDto(@Param("status") String status);
 
     // Buscar apostas por usuário e status
     List<Bet> findByUserIdAndStatus(Long userId, String status);
@@ -53,11 +95,57 @@ public interface BetRepository extends JpaRepository<Bet, Long> {
     // Contar apostas por usuário
     long countByUserId(Long userId);
 
+    // Existe alguma aposta não cancelada (LIMIT 1, sem contar a tabela)
+    boolean existsByStatusNot(String status);
+
     // Contar apostas por usuário em período específico
     @Query("SELECT COUNT(b) FROM Bet b WHERE b.user.id = :userId AND b.timestamp >= :startDate")
     long countByUserIdAndTimestampAfter(@Param("userId") Long userId,
                                         @Param("startDate") LocalDateTime startDate);
 
+    // Id, horário, tipo e valor das apostas não canceladas de um usuário desde uma data (ledger e risco)
+    @Query("SELECT b.id AS id, b.timestamp AS timestamp, b.type AS type, b.amount AS amount FROM Bet b " +
+            "WHERE b.user.id = :userId AND b.timestamp >= :startDate AND b.status <> 'CANCELLED'")
+    List<BetAmountView> findAmountsByUserIdAndTimestampAfter(@Param("userId") Long userId,
+                                                             @Param("startDate") LocalDateTime startDate);
+
+    // Valores das apostas não canceladas mais recentes de um usuário desde uma data, das mais novas para
+    // as mais antigas (carga inicial do sketch de valores; o Pageable limita o número de linhas)
+    @Query("SELECT b.amount FROM Bet b WHERE b.user.id = :userId AND b.timestamp >= :startDate " +
+            "AND b.status <> 'CANCELLED' ORDER BY b.timestamp DESC")
+    List<BigDecimal> findRecentAmountsByUserId(@Param("userId") Long userId,
+                                               @Param("startDate") LocalDateTime startDate, Pageable pageable);
+
+    // Paginação por chave (timestamp DESC, id DESC): primeira fatia e fatias após um cursor.
+    // O índice idx_bets_timestamp já inclui o id (chave primária), então não há ordenação em memória.
+    @Query(DTO_SELECT + "ORDER BY b.timestamp DESC, b.id DESC")
+    Slice<BetResponseDTO> findFirstSlice(Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE b.timestamp < :timestamp OR (b.timestamp = :timestamp AND b.id < :id) " +
+            "ORDER BY b.timestamp DESC, b.id DESC")
+    Slice<BetResponseDTO> findSliceBefore(@Param("timestamp") LocalDateTime timestamp, @Param("id") Long id,
+                                          Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE u.id = :userId " +
+            "ORDER BY b.timestamp DESC, b.id DESC")
+    Slice<BetResponseDTO> findFirstSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE u.id = :userId " +
+            "AND (b.timestamp < :timestamp OR (b.timestamp = :timestamp AND b.id < :id)) " +
+            "ORDER BY b.timestamp DESC, b.id DESC")
+    Slice<BetResponseDTO> findSliceByUserIdBefore(@Param("userId") Long userId,
+                                                  @Param("timestamp") LocalDateTime timestamp,
+                                                  @Param("id") Long id, Pageable pageable);
+
+    // Agregado de cada usuário de uma faixa de IDs desde uma data (varredura de risco). Parte de users:
+    // quem não apostou no período também vem, com bets = 0 e amount/lastBetAt nulos
+    @Query("SELECT u.id AS userId, COUNT(b) AS bets, SUM(b.amount) AS amount, MAX(b.timestamp) AS lastBetAt " +
+            "FROM User u LEFT JOIN Bet b ON b.user = u AND b.timestamp >= :startDate AND b.status <> 'CANCELLED' " +
+            "WHERE u.id BETWEEN :fromId AND :toId GROUP BY u.id")
+    List<BetRiskAggregateView> aggregateByUserIdRangeSince(@Param("fromId") Long fromId,
+                                                           @Param("toId") Long toId,
+                                                           @Param("startDate") LocalDateTime startDate);
+
     // Buscar últimas N apostas de um usuário
     @Query("SELECT b FROM Bet b WHERE b.user.id = :userId ORDER BY b.timestamp DESC")
     Page<Bet> findLatestByUserId(@Param("userId") Long userId, Pageable pageable);
@@ -0,0 +1,16 @@
+package br.com.fiap.consciousbet.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Agregado de apostas de um usuário em uma janela (varredura de risco)
+public interface BetRiskAggregateView {
+
+    Long getUserId();
+
+    Long getBets();
+
+    BigDecimal getAmount();
+
+    LocalDateTime getLastBetAt();
+}
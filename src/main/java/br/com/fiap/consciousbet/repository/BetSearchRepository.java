@@ -0,0 +1,14 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.dto.BetResponseDTO;
+import br.com.fiap.consciousbet.dto.BetSearchDTO;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+
+// Fragmento de busca dinâmica do BetRepository (filtros combináveis + cursor)
+public interface BetSearchRepository {
+
+    // Fatia ordenada por (timestamp DESC, id DESC); beforeTimestamp/beforeId nulos = primeira fatia
+    Slice<BetResponseDTO> search(BetSearchDTO filters, LocalDateTime beforeTimestamp, Long beforeId, int size);
+}
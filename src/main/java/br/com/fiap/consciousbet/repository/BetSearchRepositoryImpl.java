@@ -0,0 +1,81 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.dto.BetResponseDTO;
+import br.com.fiap.consciousbet.dto.BetSearchDTO;
+import br.com.fiap.consciousbet.entity.Bet;
+import br.com.fiap.consciousbet.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Monta só os predicados informados; as combinações comuns têm índice composto terminando em
+// timestamp (V12), então filtro + ordenação + limite saem do índice sem varrer a tabela
+public class BetSearchRepositoryImpl implements BetSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<BetResponseDTO> search(BetSearchDTO filters, LocalDateTime beforeTimestamp, Long beforeId, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BetResponseDTO> query = cb.createQuery(BetResponseDTO.class);
+        Root<Bet> bet = query.from(Bet.class);
+        Join<Bet, User> user = bet.join("user");
+
+        query.select(cb.construct(BetResponseDTO.class,
+                bet.get("id"), user.get("id"), user.get("name"), user.get("email"), bet.get("amount"),
+                bet.get("type"), bet.get("description"), bet.get("status"), bet.get("timestamp")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filters.getUserId() != null) {
+            predicates.add(cb.equal(user.get("id"), filters.getUserId()));
+        }
+        if (filters.getStatus() != null) {
+            predicates.add(cb.equal(bet.get("status"), filters.getStatus().toUpperCase()));
+        }
+        if (filters.getType() != null) {
+            predicates.add(cb.equal(bet.get("type"), filters.getType().toUpperCase()));
+        }
+        if (filters.getMinAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(bet.get("amount"), filters.getMinAmount()));
+        }
+        if (filters.getMaxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(bet.get("amount"), filters.getMaxAmount()));
+        }
+        if (filters.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(bet.get("timestamp"), filters.getFrom()));
+        }
+        if (filters.getTo() != null) {
+            predicates.add(cb.lessThan(bet.get("timestamp"), filters.getTo()));
+        }
+
+        // Cursor: (timestamp, id) estritamente antes da última linha da fatia anterior
+        if (beforeTimestamp != null && beforeId != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(bet.get("timestamp"), beforeTimestamp),
+                    cb.and(cb.equal(bet.get("timestamp"), beforeTimestamp), cb.lessThan(bet.get("id"), beforeId))));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(bet.get("timestamp")), cb.desc(bet.get("id")));
+
+        // Uma linha a mais indica se há próxima fatia (sem COUNT)
+        List<BetResponseDTO> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        List<BetResponseDTO> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+}
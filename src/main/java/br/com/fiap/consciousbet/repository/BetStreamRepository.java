@@ -0,0 +1,12 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.dto.BetResponseDTO;
+
+import java.util.stream.Stream;
+
+// Fragmento de streaming do BetRepository: o fetch size depende do banco (StreamFetchSize)
+public interface BetStreamRepository {
+
+    // Todas as apostas como DTO, em streaming (cursor somente-leitura), por id
+    Stream<BetResponseDTO> streamAllAsDto();
+}
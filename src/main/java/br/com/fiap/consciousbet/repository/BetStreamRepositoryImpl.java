@@ -0,0 +1,22 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.dto.BetResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+public class BetStreamRepositoryImpl implements BetStreamRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<BetResponseDTO> streamAllAsDto() {
+        return entityManager.createQuery(BetRepository.DTO_SELECT + "ORDER BY b.id", BetResponseDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, StreamFetchSize.of(entityManager))
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
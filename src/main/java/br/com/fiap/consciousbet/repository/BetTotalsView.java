@@ -0,0 +1,11 @@
+package br.com.fiap.consciousbet.repository;
+
+import java.math.BigDecimal;
+
+// Projeção com soma e contagem de apostas
+public interface BetTotalsView {
+
+    BigDecimal getAmount();
+
+    Long getBets();
+}
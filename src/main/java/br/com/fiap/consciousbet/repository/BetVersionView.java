@@ -0,0 +1,11 @@
+package br.com.fiap.consciousbet.repository;
+
+// Projeção com as versões da aposta e do usuário, e o status (ETag sem carregar a entidade)
+public interface BetVersionView {
+
+    Long getVersion();
+
+    String getStatus();
+
+    Long getUserVersion();
+}
@@ -0,0 +1,24 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Remover chaves expiradas
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :limit")
+    int deleteCreatedBefore(@Param("limit") LocalDateTime limit);
+
+    // Remover a chave se já expirou (ainda não apagada pela limpeza periódica)
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.createdAt < :limit")
+    int deleteExpired(@Param("key") String key, @Param("limit") LocalDateTime limit);
+}
@@ -0,0 +1,9 @@
+package br.com.fiap.consciousbet.repository;
+
+// Projeção com a versão das políticas de limite de um usuário
+public interface PolicyVersionView {
+
+    Long getUserId();
+
+    Long getVersion();
+}
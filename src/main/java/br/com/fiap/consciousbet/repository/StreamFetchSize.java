@@ -0,0 +1,23 @@
+package br.com.fiap.consciousbet.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+// Fetch size das consultas em streaming conforme o banco. O driver MySQL só transmite linha a linha com
+// Integer.MIN_VALUE (sem isso carrega o resultado inteiro); os demais, como o H2, rejeitam valores
+// negativos e já limitam as linhas em memória com um fetch size positivo.
+final class StreamFetchSize {
+
+    static final int DEFAULT = 1000;
+
+    private StreamFetchSize() {
+    }
+
+    static int of(EntityManager entityManager) {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        return dialect instanceof MySQLDialect ? Integer.MIN_VALUE : DEFAULT;
+    }
+}
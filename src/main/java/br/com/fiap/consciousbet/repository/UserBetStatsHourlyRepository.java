@@ -0,0 +1,48 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.entity.UserBetStatsHourly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserBetStatsHourlyRepository extends JpaRepository<UserBetStatsHourly, UserBetStatsHourly.Key> {
+
+    // Somar uma variação ao bucket de uma hora (cria a linha se não existir)
+    @Modifying
+    @Query(value = "INSERT INTO user_bet_stats_hourly (user_id, hour_start, total_amount, total_bets) " +
+            "VALUES (:userId, :hourStart, :amount, :bets) " +
+            "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+            "total_bets = total_bets + VALUES(total_bets)",
+            nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId, @Param("hourStart") LocalDateTime hourStart,
+                    @Param("amount") BigDecimal amount, @Param("bets") long bets);
+
+    // Soma dos buckets de um usuário a partir de uma hora
+    @Query("SELECT COALESCE(SUM(h.totalAmount), 0) AS amount, COALESCE(SUM(h.totalBets), 0) AS bets " +
+            "FROM UserBetStatsHourly h WHERE h.userId = :userId AND h.hourStart >= :since")
+    BetTotalsView sumByUserIdSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    // Buckets de um usuário em [since, until) (carga do feature store de risco)
+    List<UserBetStatsHourly> findByUserIdAndHourStartGreaterThanEqualAndHourStartLessThan(
+            Long userId, LocalDateTime since, LocalDateTime until);
+
+    // Reconstruir os buckets de uma faixa de usuários a partir da tabela bets
+    @Modifying
+    @Query(value = "DELETE FROM user_bet_stats_hourly WHERE user_id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int deleteRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_bet_stats_hourly (user_id, hour_start, total_amount, total_bets) " +
+            "SELECT user_id, DATE_FORMAT(timestamp, '%Y-%m-%d %H:00:00'), SUM(amount), COUNT(*) FROM bets " +
+            "WHERE user_id BETWEEN :fromId AND :toId AND status <> 'CANCELLED' " +
+            "GROUP BY user_id, DATE_FORMAT(timestamp, '%Y-%m-%d %H:00:00')",
+            nativeQuery = true)
+    int rebuildRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
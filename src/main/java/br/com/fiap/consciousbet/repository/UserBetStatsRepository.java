@@ -0,0 +1,35 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.entity.UserBetStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface UserBetStatsRepository extends JpaRepository<UserBetStats, Long> {
+
+    // Somar uma variação ao rollup do usuário (cria a linha se não existir)
+    @Modifying
+    @Query(value = "INSERT INTO user_bet_stats (user_id, total_amount, total_bets, version, updated_at) " +
+            "VALUES (:userId, :amount, :bets, 1, NOW()) " +
+            "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+            "total_bets = total_bets + VALUES(total_bets), version = version + 1, updated_at = NOW()",
+            nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId, @Param("amount") BigDecimal amount, @Param("bets") long bets);
+
+    // Reconstruir o rollup de uma faixa de usuários a partir da tabela bets
+    @Modifying
+    @Query(value = "DELETE FROM user_bet_stats WHERE user_id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int deleteRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_bet_stats (user_id, total_amount, total_bets, version, updated_at) " +
+            "SELECT user_id, SUM(amount), COUNT(*), 1, NOW() FROM bets " +
+            "WHERE user_id BETWEEN :fromId AND :toId AND status <> 'CANCELLED' GROUP BY user_id",
+            nativeQuery = true)
+    int rebuildRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -0,0 +1,14 @@
+package br.com.fiap.consciousbet.repository;
+
+// Resumo que muda sempre que alguma aposta do usuário é criada, alterada ou removida:
+// alterações somam na soma das versões, remoções reduzem a contagem e inserções elevam o maior ID
+public interface UserBetsVersionView {
+
+    Long getUserVersion();
+
+    Long getBets();
+
+    Long getVersionSum();
+
+    Long getMaxBetId();
+}
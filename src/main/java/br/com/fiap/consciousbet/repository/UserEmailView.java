@@ -0,0 +1,9 @@
+package br.com.fiap.consciousbet.repository;
+
+// Projeção com apenas ID e email normalizado do usuário
+public interface UserEmailView {
+
+    Long getId();
+
+    String getEmailNormalized();
+}
@@ -1,17 +1,22 @@
 package br.com.fiap.consciousbet.repository;
 
+import br.com.fiap.consciousbet.dto.UserResponseDTO;
 import br.com.fiap.consciousbet.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserStreamRepository {
 
     // Buscar por email
     Optional<User> findByEmail(String email);
@@ -19,9 +24,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Verificar se existe por email
     boolean existsByEmail(String email);
 
-    // Buscar por email ignorando case
-    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-    Optional<User> findByEmailIgnoreCase(@Param("email") String email);
+    // Buscar por email normalizado (índice único uk_users_email_normalized, sem LOWER() na coluna)
+    Optional<User> findByEmailNormalized(String emailNormalized);
+
+    // ID do usuário pelo email normalizado (verificação de duplicidade só no índice)
+    @Query("SELECT u.id FROM User u WHERE u.emailNormalized = :emailNormalized")
+    Optional<Long> findIdByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+
+    // Página de usuários sem a consulta de contagem (o total vem do EntityCounters)
+    @Query("SELECT u FROM User u")
+    List<User> findPage(Pageable pageable);
 
     // Buscar usuários por idade mínima
     @Query("SELECT u FROM User u WHERE u.age >= :minAge")
@@ -31,6 +43,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     Page<User> findByNameContainingIgnoreCase(@Param("name") String name, Pageable pageable);
 
+    // Paginação por chave (id crescente), direto na chave primária
+    @Query("SELECT new br.com.fiap.consciousbet.dto.UserResponseDTO(u.id, u.name, u.email, u.age, " +
+            "u.createdAt, u.updatedAt) FROM User u WHERE u.id > :id ORDER BY u.id")
+    Slice<UserResponseDTO> findSliceAfter(@Param("id") Long id, Pageable pageable);
+
+    // Emails normalizados por chave (id crescente), para a carga do filtro de emails
+    @Query("SELECT u.id AS id, u.emailNormalized AS emailNormalized FROM User u WHERE u.id > :id ORDER BY u.id")
+    Slice<UserEmailView> findEmailSliceAfter(@Param("id") Long id, Pageable pageable);
+
+    // Emails normalizados de usuários criados ou alterados desde um instante (sincronização do filtro)
+    @Query("SELECT u.id AS id, u.emailNormalized AS emailNormalized FROM User u WHERE u.updatedAt > :since")
+    List<UserEmailView> findEmailsUpdatedAfter(@Param("since") LocalDateTime since);
+
+    // Buscar vários usuários por ID em uma única consulta (busca múltipla)
+    @Query("SELECT new br.com.fiap.consciousbet.dto.UserResponseDTO(u.id, u.name, u.email, u.age, " +
+            "u.createdAt, u.updatedAt) FROM User u WHERE u.id IN :ids")
+    List<UserResponseDTO> findAllByIdAsDto(@Param("ids") Collection<Long> ids);
+
+    // Versão do usuário (ETag sem carregar a entidade)
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Menor e maior ID (particionamento de jobs)
+    @Query("SELECT MIN(u.id) FROM User u")
+    Long findMinId();
+
+    @Query("SELECT MAX(u.id) FROM User u")
+    Long findMaxId();
+
     // Contar usuários por idade mínima
     @Query("SELECT COUNT(u) FROM User u WHERE u.age >= :minAge")
     long countByAgeGreaterThanEqual(@Param("minAge") Integer minAge);
@@ -0,0 +1,26 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.entity.UserStakeSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserStakeSketchRepository extends JpaRepository<UserStakeSketch, Long> {
+
+    // Primeira gravação do sketch de um usuário; chave duplicada se outra instância gravou antes
+    @Modifying
+    @Query(value = "INSERT INTO user_stake_sketches (user_id, sketch, bet_count, version, updated_at) " +
+            "VALUES (:userId, :sketch, :betCount, 0, NOW())", nativeQuery = true)
+    void insert(@Param("userId") Long userId, @Param("sketch") byte[] sketch, @Param("betCount") long betCount);
+
+    // Grava o sketch só se a linha ainda está na versão lida; 0 se outra instância gravou no meio
+    @Modifying
+    @Query(value = "UPDATE user_stake_sketches SET sketch = :sketch, bet_count = :betCount, " +
+            "version = version + 1, updated_at = NOW() WHERE user_id = :userId AND version = :version",
+            nativeQuery = true)
+    int updateIfVersion(@Param("userId") Long userId, @Param("sketch") byte[] sketch,
+                        @Param("betCount") long betCount, @Param("version") long version);
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.dto.UserResponseDTO;
+
+import java.util.stream.Stream;
+
+// Fragmento de streaming do UserRepository: o fetch size depende do banco (StreamFetchSize)
+public interface UserStreamRepository {
+
+    // Todos os usuários como DTO, em streaming (cursor somente-leitura), por id
+    Stream<UserResponseDTO> streamAllAsDto();
+}
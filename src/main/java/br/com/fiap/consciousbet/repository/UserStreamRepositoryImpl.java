@@ -0,0 +1,23 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.dto.UserResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+public class UserStreamRepositoryImpl implements UserStreamRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<UserResponseDTO> streamAllAsDto() {
+        return entityManager.createQuery("SELECT new br.com.fiap.consciousbet.dto.UserResponseDTO(u.id, u.name, " +
+                        "u.email, u.age, u.createdAt, u.updatedAt) FROM User u ORDER BY u.id", UserResponseDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, StreamFetchSize.of(entityManager))
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
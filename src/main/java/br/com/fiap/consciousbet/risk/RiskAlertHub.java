@@ -0,0 +1,249 @@
+package br.com.fiap.consciousbet.risk;
+
+import br.com.fiap.consciousbet.exception.AlertSubscriptionRejectedException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Conexões SSE de alertas de risco. Conexões ociosas custam só o SseEmitter (o servlet é assíncrono,
+// nenhuma thread fica presa); o total e o número por usuário são limitados. Os envios saem de um pool
+// limitado de threads, nunca da thread que confirmou a aposta. Cada conexão tem sua fila e ocupa no
+// máximo uma thread do pool, então um cliente travado não atrasa os demais: quem passa de
+// send-timeout-ms num envio ou acumula eventos demais é desconectado.
+@Component
+public class RiskAlertHub {
+
+    // Eventos pendentes por conexão antes de considerá-la lenta demais
+    static final int MAX_PENDING_EVENTS = 64;
+
+    private final RiskStateStore riskStateStore;
+    private final int maxSubscribers;
+    private final int maxSubscribersPerUser;
+    private final long timeoutMs;
+    private final long sendTimeoutMs;
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor sender;
+
+    public RiskAlertHub(RiskStateStore riskStateStore,
+                        @Value("${consciousbet.alerts.max-subscribers:20000}") int maxSubscribers,
+                        @Value("${consciousbet.alerts.max-subscribers-per-user:5}") int maxSubscribersPerUser,
+                        @Value("${consciousbet.alerts.timeout-minutes:30}") long timeoutMinutes,
+                        @Value("${consciousbet.alerts.sender-threads:4}") int senderThreads,
+                        @Value("${consciousbet.alerts.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.riskStateStore = riskStateStore;
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+        this.timeoutMs = timeoutMinutes * 60_000;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        // Cada conexão tem no máximo uma tarefa na fila, então maxSubscribers basta como capacidade
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxSubscribers), runnable -> {
+            Thread thread = new Thread(runnable, "risk-alert-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        return subscribe(userId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(Long userId, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new AlertSubscriptionRejectedException("Too many alert subscribers, try again later");
+        }
+
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        boolean[] added = new boolean[1];
+        subscribers.compute(userId, (id, list) -> {
+            List<Subscriber> current = list != null ? list : new CopyOnWriteArrayList<>();
+            if (current.size() < maxSubscribersPerUser) {
+                current.add(subscriber);
+                added[0] = true;
+            }
+            return current;
+        });
+        if (!added[0]) {
+            subscriberCount.decrementAndGet();
+            throw new AlertSubscriptionRejectedException("Too many alert subscriptions for user ID: " + userId);
+        }
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        return emitter;
+    }
+
+    public boolean hasSubscribers(Long userId) {
+        return subscribers.containsKey(userId);
+    }
+
+    // Enfileira o envio de um evento para todas as conexões do usuário
+    public void publish(Long userId, String eventName, Object payload) {
+        List<Subscriber> list = subscribers.get(userId);
+        if (list == null) {
+            return;
+        }
+        for (Subscriber subscriber : list) {
+            enqueue(subscriber, SseEmitter.event().name(eventName).data(payload));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Mantém as conexões vivas atrás de proxies e o estado de risco dos assinantes em memória
+    @Scheduled(fixedDelayString = "${consciousbet.alerts.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Long userId : subscribers.keySet()) {
+            riskStateStore.touch(userId);
+        }
+        subscribers.values().forEach(list -> list.forEach(subscriber ->
+                enqueue(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    // Desconecta quem está preso num envio há mais de send-timeout-ms. A thread presa só volta quando
+    // o container desistir da escrita, mas a conexão deixa de receber eventos e de ocupar o pool
+    @Scheduled(fixedDelayString = "${consciousbet.alerts.send-timeout-ms:10000}")
+    public void dropStalled() {
+        dropStalled(System.currentTimeMillis());
+    }
+
+    void dropStalled(long now) {
+        subscribers.values().forEach(list -> list.forEach(subscriber -> {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > sendTimeoutMs) {
+                System.out.println("Dropping alert subscriber of user " + subscriber.userId + ": send blocked for " + (now - since) + " ms");
+                drop(subscriber);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+        subscribers.values().forEach(list -> list.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.dropped.get()) {
+            return;
+        }
+        if (subscriber.pendingCount.incrementAndGet() > MAX_PENDING_EVENTS) {
+            subscriber.pendingCount.decrementAndGet();
+            System.out.println("Dropping alert subscriber of user " + subscriber.userId + ": " + MAX_PENDING_EVENTS + " events pending");
+            drop(subscriber);
+            return;
+        }
+        subscriber.pending.add(event);
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // Pool desligado ou saturado: a conexão é descartada sem bloquear quem publicou
+            subscriber.scheduled.set(false);
+            remove(subscriber);
+            subscriber.dropped.set(true);
+        }
+    }
+
+    // Envia os eventos pendentes de uma conexão, em ordem; só uma thread por conexão drena a fila
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder event = subscriber.pending.poll();
+            if (event == null) {
+                subscriber.scheduled.set(false);
+                // Um evento pode ter chegado entre o poll e o set
+                if (subscriber.pending.isEmpty() || !subscriber.scheduled.compareAndSet(false, true)) {
+                    break;
+                }
+                continue;
+            }
+            subscriber.pendingCount.decrementAndGet();
+            if (!subscriber.dropped.get()) {
+                send(subscriber, event);
+            }
+        }
+        // O complete é sincronizado com o send no emitter, por isso só a thread que envia o chama
+        if (subscriber.dropped.get() && subscriber.completed.compareAndSet(false, true)) {
+            try {
+                subscriber.emitter.complete();
+            } catch (IllegalStateException e) {
+                // Já encerrado pelo container
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        subscriber.sendingSince = System.currentTimeMillis();
+        try {
+            subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado
+            drop(subscriber);
+        } finally {
+            subscriber.sendingSince = 0;
+        }
+    }
+
+    // Tira a conexão do hub; o encerramento do emitter fica com a thread que drena a fila dela
+    private void drop(Subscriber subscriber) {
+        remove(subscriber);
+        if (subscriber.dropped.compareAndSet(false, true)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, list) -> {
+            if (list.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private static final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean dropped = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile long sendingSince;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.fiap.consciousbet.risk;
+
+// Contagem e valor (em centavos) das apostas de um usuário em várias janelas
+public final class RiskFeatures {
+
+    private final int bets1h;
+    private final long cents1h;
+    private final int bets24h;
+    private final long cents24h;
+    private final int bets7d;
+    private final long cents7d;
+    private final int bets30d;
+    private final long cents30d;
+
+    public RiskFeatures(int bets1h, long cents1h, int bets24h, long cents24h,
+                        int bets7d, long cents7d, int bets30d, long cents30d) {
+        this.bets1h = bets1h;
+        this.cents1h = cents1h;
+        this.bets24h = bets24h;
+        this.cents24h = cents24h;
+        this.bets7d = bets7d;
+        this.cents7d = cents7d;
+        this.bets30d = bets30d;
+        this.cents30d = cents30d;
+    }
+
+    public int getBets1h() {
+        return bets1h;
+    }
+
+    public long getCents1h() {
+        return cents1h;
+    }
+
+    public int getBets24h() {
+        return bets24h;
+    }
+
+    public long getCents24h() {
+        return cents24h;
+    }
+
+    public int getBets7d() {
+        return bets7d;
+    }
+
+    public long getCents7d() {
+        return cents7d;
+    }
+
+    public int getBets30d() {
+        return bets30d;
+    }
+
+    public long getCents30d() {
+        return cents30d;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.fiap.consciousbet.risk;
+
+// Nível de risco a partir da atividade recente (valores em centavos)
+public enum RiskLevel {
+    LOW,
+    MODERATE,
+    HIGH;
+
+    // Critérios de 24h
+    private static final int HIGH_BET_COUNT = 5;
+    private static final long HIGH_AMOUNT_CENTS = 100_000;
+    private static final int MODERATE_BET_COUNT = 3;
+    private static final long MODERATE_AMOUNT_CENTS = 50_000;
+
+    // Critérios das demais janelas: rajada em 1h e acúmulo em 7 e 30 dias
+    private static final int HIGH_BETS_1H = 3;
+    private static final long HIGH_AMOUNT_7D_CENTS = 300_000;
+    private static final long HIGH_AMOUNT_30D_CENTS = 1_000_000;
+    private static final int MODERATE_BETS_7D = 15;
+    private static final long MODERATE_AMOUNT_30D_CENTS = 500_000;
+
+    // Só a janela de 24h (varredura diária)
+    public static RiskLevel of(int betCount, long totalCents) {
+        if (betCount >= HIGH_BET_COUNT || totalCents > HIGH_AMOUNT_CENTS) {
+            return HIGH;
+        }
+        if (betCount >= MODERATE_BET_COUNT || totalCents > MODERATE_AMOUNT_CENTS) {
+            return MODERATE;
+        }
+        return LOW;
+    }
+
+    // Todas as janelas do feature store
+    public static RiskLevel of(RiskFeatures features) {
+        RiskLevel daily = of(features.getBets24h(), features.getCents24h());
+        if (daily == HIGH
+                || features.getBets1h() >= HIGH_BETS_1H
+                || features.getCents7d() > HIGH_AMOUNT_7D_CENTS
+                || features.getCents30d() > HIGH_AMOUNT_30D_CENTS) {
+            return HIGH;
+        }
+        if (daily == MODERATE
+                || features.getBets7d() >= MODERATE_BETS_7D
+                || features.getCents30d() > MODERATE_AMOUNT_30D_CENTS) {
+            return MODERATE;
+        }
+        return LOW;
+    }
+}
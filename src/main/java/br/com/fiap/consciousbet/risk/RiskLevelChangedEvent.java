@@ -0,0 +1,31 @@
+package br.com.fiap.consciousbet.risk;
+
+// Publicado quando uma aposta confirmada muda o nível de risco de um usuário
+public class RiskLevelChangedEvent {
+
+    private final Long userId;
+    private final RiskLevel previousLevel;
+    private final RiskSnapshot snapshot;
+
+    public RiskLevelChangedEvent(Long userId, RiskLevel previousLevel, RiskSnapshot snapshot) {
+        this.userId = userId;
+        this.previousLevel = previousLevel;
+        this.snapshot = snapshot;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public RiskLevel getPreviousLevel() {
+        return previousLevel;
+    }
+
+    public RiskLevel getLevel() {
+        return snapshot.getLevel();
+    }
+
+    public RiskSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.fiap.consciousbet.risk;
+
+// Retrato imutável do estado de risco de um usuário
+public final class RiskSnapshot {
+
+    private final RiskFeatures features;
+    private final Long lastBetEpochSecond;
+
+    public RiskSnapshot(RiskFeatures features, Long lastBetEpochSecond) {
+        this.features = features;
+        this.lastBetEpochSecond = lastBetEpochSecond;
+    }
+
+    // Apostas nas últimas 24h
+    public int getBetCount() {
+        return features.getBets24h();
+    }
+
+    // Valor apostado nas últimas 24h (centavos)
+    public long getTotalCents() {
+        return features.getCents24h();
+    }
+
+    public RiskFeatures getFeatures() {
+        return features;
+    }
+
+    public Long getLastBetEpochSecond() {
+        return lastBetEpochSecond;
+    }
+
+    public RiskLevel getLevel() {
+        return RiskLevel.of(features);
+    }
+}
@@ -0,0 +1,209 @@
+package br.com.fiap.consciousbet.risk;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.event.BetEvent;
+import br.com.fiap.consciousbet.ledger.BetLedger;
+import br.com.fiap.consciousbet.repository.BetAmountView;
+import br.com.fiap.consciousbet.entity.UserBetStatsHourly;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import br.com.fiap.consciousbet.repository.UserBetStatsHourlyRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Estado de risco por usuário (1h, 24h, 7 e 30 dias) mantido a partir dos BetEvents confirmados.
+// Usuários ainda não carregados são reconciliados com o banco no primeiro acesso (apostas das
+// últimas 24h e rollup por hora das horas anteriores, até 30 dias);
+// depois disso a análise não faz nenhuma consulta. Mudanças de nível geram um RiskLevelChangedEvent.
+// Eventos que chegam durante a carga ficam guardados e são conferidos com as linhas lidas pelo id da
+// aposta: uma criação já lida é ignorada, as demais são aplicadas. Alteração ou cancelamento durante a
+// carga não dá para conferir (a linha lida pode ser de antes ou de depois), então a carga é refeita.
+@Component
+public class RiskStateStore {
+
+    private static final long WINDOW_SECONDS = UserRiskState.BUCKET_SECONDS * UserRiskState.BUCKETS;
+    // Cargas seguidas com alterações concorrentes antes de responder sem guardar o estado
+    static final int RECONCILE_ATTEMPTS = 3;
+
+    private final BetRepository betRepository;
+    private final UserBetStatsHourlyRepository hourlyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrimaryReads primaryReads;
+    private final ConcurrentHashMap<Long, UserRiskState> states = new ConcurrentHashMap<>();
+    // Cargas em andamento por usuário; eventos e instalação do estado se serializam pelo compute deste mapa
+    private final ConcurrentHashMap<Long, List<Loading>> loads = new ConcurrentHashMap<>();
+
+    public RiskStateStore(BetRepository betRepository, UserBetStatsHourlyRepository hourlyRepository,
+                          ApplicationEventPublisher eventPublisher, PrimaryReads primaryReads) {
+        this.betRepository = betRepository;
+        this.hourlyRepository = hourlyRepository;
+        this.eventPublisher = eventPublisher;
+        this.primaryReads = primaryReads;
+    }
+
+    public RiskSnapshot snapshot(Long userId) {
+        return state(userId).snapshot(now());
+    }
+
+    // Só eventos já confirmados; usuários fora da memória são ignorados (o banco já tem o dado),
+    // a não ser que estejam sendo carregados
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBetEvent(BetEvent event) {
+        UserRiskState state = states.get(event.getUserId());
+        if (state == null) {
+            state = bufferOrGet(event);
+            if (state == null) {
+                return;
+            }
+        }
+        long now = now();
+        RiskLevel previousLevel = state.level(now);
+        apply(state, event, now);
+
+        RiskSnapshot snapshot = state.snapshot(now);
+        if (snapshot.getLevel() != previousLevel) {
+            eventPublisher.publishEvent(new RiskLevelChangedEvent(event.getUserId(), previousLevel, snapshot));
+        }
+    }
+
+    // Carrega o estado (se preciso) e o mantém fora da remoção por inatividade
+    public void touch(Long userId) {
+        state(userId).touch(now());
+    }
+
+    // Descarta o estado para forçar uma nova reconciliação
+    public void evict(Long userId) {
+        states.remove(userId);
+    }
+
+    // Remove estados sem consulta nem movimento há mais de 24h
+    @Scheduled(fixedDelay = 600_000)
+    public void evictIdle() {
+        long limit = now() - WINDOW_SECONDS;
+        states.entrySet().removeIf(entry -> entry.getValue().getLastTouched() < limit);
+    }
+
+    private UserRiskState state(Long userId) {
+        UserRiskState state = states.get(userId);
+        return state != null ? state : reconcile(userId);
+    }
+
+    // Guarda o evento nas cargas em andamento do usuário; devolve o estado se ele já está em memória
+    private UserRiskState bufferOrGet(BetEvent event) {
+        UserRiskState[] installed = new UserRiskState[1];
+        loads.compute(event.getUserId(), (id, list) -> {
+            installed[0] = states.get(id);
+            if (list != null) {
+                list.forEach(loading -> loading.events.add(event));
+            }
+            return list;
+        });
+        return installed[0];
+    }
+
+    private UserRiskState reconcile(Long userId) {
+        for (int attempt = 1; ; attempt++) {
+            Loading loading = new Loading();
+            loads.compute(userId, (id, list) -> {
+                List<Loading> current = list != null ? list : new ArrayList<>();
+                current.add(loading);
+                return current;
+            });
+
+            UserRiskState loaded = null;
+            boolean last = attempt == RECONCILE_ATTEMPTS;
+            UserRiskState[] result = new UserRiskState[1];
+            try {
+                loaded = primaryReads.read(() -> load(userId, loading));
+            } finally {
+                UserRiskState state = loaded;
+                loads.compute(userId, (id, list) -> {
+                    list.remove(loading);
+                    if (state != null) {
+                        result[0] = install(id, state, loading, last);
+                    }
+                    return list.isEmpty() ? null : list;
+                });
+            }
+            if (result[0] != null) {
+                return result[0];
+            }
+        }
+    }
+
+    // Chamado dentro do compute de 'loads': nenhum evento do usuário chega entre a conferência e a
+    // instalação. Sem conferência possível, refaz a carga (null) ou, na última tentativa, responde com o
+    // estado lido sem guardá-lo, para que o próximo acesso carregue de novo
+    private UserRiskState install(Long userId, UserRiskState loaded, Loading loading, boolean last) {
+        UserRiskState current = states.get(userId);
+        if (current != null) {
+            // Outra carga já instalou; os eventos guardados aqui também foram aplicados a ela
+            return current;
+        }
+        long now = now();
+        for (BetEvent event : loading.events) {
+            if (event.getKind() != BetEvent.Kind.CREATED) {
+                return last ? loaded : null;
+            }
+            if (!loading.betIds.contains(event.getBetId())) {
+                apply(loaded, event, now);
+            }
+        }
+        states.put(userId, loaded);
+        return loaded;
+    }
+
+    // Apostas brutas desde o início da hora de now-24h vão para todos os anéis; o rollup por hora só
+    // cobre as horas anteriores a essa, para que nenhuma aposta seja contada duas vezes
+    private UserRiskState load(Long userId, Loading loading) {
+        long now = now();
+        LocalDateTime since = LocalDateTime.ofEpochSecond(now - WINDOW_SECONDS, 0, ZoneOffset.UTC)
+                .withMinute(0).withSecond(0);
+
+        UserRiskState state = new UserRiskState();
+        for (BetAmountView bet : betRepository.findAmountsByUserIdAndTimestampAfter(userId, since)) {
+            loading.betIds.add(bet.getId());
+            state.apply(toEpochSecond(bet.getTimestamp()), BetLedger.toCents(bet.getAmount()), 1, now);
+        }
+
+        LocalDateTime monthStart = LocalDateTime.ofEpochSecond(
+                now - UserRiskState.DAY_SECONDS * UserRiskState.DAYS, 0, ZoneOffset.UTC).withMinute(0).withSecond(0);
+        for (UserBetStatsHourly bucket : hourlyRepository
+                .findByUserIdAndHourStartGreaterThanEqualAndHourStartLessThan(userId, monthStart, since)) {
+            state.applyHourly(toEpochSecond(bucket.getHourStart()), BetLedger.toCents(bucket.getTotalAmount()),
+                    bucket.getTotalBets().intValue(), now);
+        }
+        return state;
+    }
+
+    private static void apply(UserRiskState state, BetEvent event, long now) {
+        long epochSecond = event.getTimestamp() != null ? toEpochSecond(event.getTimestamp()) : now;
+        state.apply(epochSecond, BetLedger.toCents(event.getAmountDelta()), event.getCountDelta(), now);
+    }
+
+    private static long now() {
+        return toEpochSecond(LocalDateTime.now());
+    }
+
+    // Mesma referência fixa (UTC) usada pelo ledger
+    private static long toEpochSecond(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // Uma carga em andamento: ids das apostas lidas e eventos confirmados enquanto ela corria
+    private static final class Loading {
+
+        private final Set<Long> betIds = new HashSet<>();
+        private final List<BetEvent> events = new ArrayList<>();
+    }
+}
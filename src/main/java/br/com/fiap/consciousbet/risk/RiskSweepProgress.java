@@ -0,0 +1,87 @@
+package br.com.fiap.consciousbet.risk;
+
+import br.com.fiap.consciousbet.dto.RiskSweepStatusDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Progresso de uma varredura de risco; atualizado concorrentemente pelas tarefas do fork-join
+public class RiskSweepProgress {
+
+    private final LocalDate snapshotDate;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private final Long minUserId;
+    private final Long maxUserId;
+    private final long totalChunks;
+    private final AtomicLong completedChunks = new AtomicLong();
+    private final AtomicLong userIdsScanned = new AtomicLong();
+    private final AtomicLong snapshotsWritten = new AtomicLong();
+    private final AtomicLong highRiskUsers = new AtomicLong();
+    private final AtomicLong moderateRiskUsers = new AtomicLong();
+    private volatile String status = "RUNNING";
+    private volatile LocalDateTime finishedAt;
+    private volatile long durationMs;
+    private volatile String error;
+
+    // minUserId / maxUserId são null quando não há usuários
+    public RiskSweepProgress(LocalDate snapshotDate, Long minUserId, Long maxUserId, long totalChunks) {
+        this.snapshotDate = snapshotDate;
+        this.minUserId = minUserId;
+        this.maxUserId = maxUserId;
+        this.totalChunks = totalChunks;
+    }
+
+    public void chunkDone(long userIds, long snapshots, long high, long moderate) {
+        userIdsScanned.addAndGet(userIds);
+        snapshotsWritten.addAndGet(snapshots);
+        highRiskUsers.addAndGet(high);
+        moderateRiskUsers.addAndGet(moderate);
+        completedChunks.incrementAndGet();
+    }
+
+    public void completed() {
+        finish("COMPLETED", null);
+    }
+
+    public void failed(String message) {
+        finish("FAILED", message);
+    }
+
+    public boolean isRunning() {
+        return "RUNNING".equals(status);
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public Long getMinUserId() {
+        return minUserId;
+    }
+
+    public Long getMaxUserId() {
+        return maxUserId;
+    }
+
+    public long getTotalChunks() {
+        return totalChunks;
+    }
+
+    public RiskSweepStatusDTO toDTO() {
+        long elapsedMs = isRunning() ? (System.nanoTime() - startNanos) / 1_000_000 : durationMs;
+        long scanned = userIdsScanned.get();
+        double perSecond = elapsedMs > 0 ? scanned * 1000.0 / elapsedMs : 0;
+        return new RiskSweepStatusDTO(status, snapshotDate, startedAt, finishedAt, totalChunks,
+                completedChunks.get(), scanned, snapshotsWritten.get(), highRiskUsers.get(),
+                moderateRiskUsers.get(), Math.round(perSecond * 10) / 10.0, elapsedMs, error);
+    }
+
+    private void finish(String finalStatus, String message) {
+        durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        finishedAt = LocalDateTime.now();
+        error = message;
+        status = finalStatus;
+    }
+}
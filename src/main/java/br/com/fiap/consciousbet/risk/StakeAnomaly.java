@@ -0,0 +1,33 @@
+package br.com.fiap.consciousbet.risk;
+
+// Aposta muito acima do valor habitual do usuário; também publicada como evento quando detectada
+public final class StakeAnomaly {
+
+    private final Long userId;
+    private final long amountCents;
+    private final long medianCents;
+    private final long epochSecond;
+
+    public StakeAnomaly(Long userId, long amountCents, long medianCents, long epochSecond) {
+        this.userId = userId;
+        this.amountCents = amountCents;
+        this.medianCents = medianCents;
+        this.epochSecond = epochSecond;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public long getMedianCents() {
+        return medianCents;
+    }
+
+    public long getEpochSecond() {
+        return epochSecond;
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.fiap.consciousbet.risk;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+// Sketch de quantis dos valores apostados (estilo DDSketch): bins logarítmicos com erro relativo
+// de ~7% (gamma = 1.15), no máximo 64 bins contíguos. Ao estourar, os bins mais baixos são
+// fundidos, preservando a precisão dos quantis altos. Não é thread-safe.
+public final class StakeSketch {
+
+    private static final double GAMMA = 1.15;
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    static final int MAX_BINS = 64;
+    private static final byte FORMAT_VERSION = 1;
+
+    private int offset;
+    private int[] counts = new int[0];
+    private long count;
+
+    public void add(long cents) {
+        add(cents, 1);
+    }
+
+    private void add(long cents, int occurrences) {
+        if (cents <= 0 || occurrences <= 0) {
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(cents) / LOG_GAMMA);
+        if (counts.length == 0) {
+            offset = index;
+            counts = new int[1];
+        }
+
+        if (index < offset) {
+            int length = counts.length + (offset - index);
+            if (length > MAX_BINS) {
+                // Abaixo do menor bin mantido: acumula no primeiro
+                index = offset;
+            } else {
+                int[] grown = new int[length];
+                System.arraycopy(counts, 0, grown, offset - index, counts.length);
+                counts = grown;
+                offset = index;
+            }
+        } else if (index >= offset + counts.length) {
+            int length = index - offset + 1;
+            if (length > MAX_BINS) {
+                collapseLowest(index - MAX_BINS + 1);
+            } else {
+                counts = Arrays.copyOf(counts, length);
+            }
+        }
+
+        counts[index - offset] += occurrences;
+        count += occurrences;
+    }
+
+    public void merge(StakeSketch other) {
+        for (int i = 0; i < other.counts.length; i++) {
+            add(value(other.offset + i), other.counts[i]);
+        }
+    }
+
+    // Valor aproximado (centavos) do quantil q (0..1), ou -1 se vazio
+    public long quantile(double q) {
+        if (count == 0) {
+            return -1;
+        }
+        long rank = (long) (q * (count - 1));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return value(offset + i);
+            }
+        }
+        return value(offset + counts.length - 1);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // Formato: versão, offset (varint zigzag), número de bins e contagens (varint)
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + counts.length * 2);
+        out.write(FORMAT_VERSION);
+        writeVarint(out, (offset << 1) ^ (offset >> 31));
+        writeVarint(out, counts.length);
+        for (int binCount : counts) {
+            writeVarint(out, binCount);
+        }
+        return out.toByteArray();
+    }
+
+    public static StakeSketch fromBytes(byte[] bytes) {
+        StakeSketch sketch = new StakeSketch();
+        if (bytes == null || bytes.length == 0 || bytes[0] != FORMAT_VERSION) {
+            return sketch;
+        }
+        int[] position = {1};
+        int zigzag = readVarint(bytes, position);
+        sketch.offset = (zigzag >>> 1) ^ -(zigzag & 1);
+        sketch.counts = new int[Math.min(readVarint(bytes, position), MAX_BINS)];
+        for (int i = 0; i < sketch.counts.length; i++) {
+            sketch.counts[i] = readVarint(bytes, position);
+            sketch.count += sketch.counts[i];
+        }
+        return sketch;
+    }
+
+    private void collapseLowest(int newOffset) {
+        int[] shifted = new int[MAX_BINS];
+        int collapsed = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int index = offset + i;
+            if (index < newOffset) {
+                collapsed += counts[i];
+            } else {
+                shifted[index - newOffset] = counts[i];
+            }
+        }
+        shifted[0] += collapsed;
+        counts = shifted;
+        offset = newOffset;
+    }
+
+    // Ponto médio (em erro relativo) do bin
+    private static long value(int index) {
+        return Math.round(2 * Math.pow(GAMMA, index) / (GAMMA + 1));
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] bytes, int[] position) {
+        int value = 0;
+        int shift = 0;
+        while (position[0] < bytes.length) {
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+            shift += 7;
+        }
+        return value;
+    }
+}
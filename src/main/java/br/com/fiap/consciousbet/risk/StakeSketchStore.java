@@ -0,0 +1,255 @@
+package br.com.fiap.consciousbet.risk;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.entity.UserStakeSketch;
+import br.com.fiap.consciousbet.event.BetEvent;
+import br.com.fiap.consciousbet.ledger.BetLedger;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import br.com.fiap.consciousbet.repository.UserStakeSketchRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Sketches de valores apostados por usuário. Na admissão, uma aposta é anômala quando fica muito
+// acima do valor habitual do usuário. O sketch é carregado da tabela user_stake_sketches (ou, na
+// primeira vez, das apostas recentes), atualizado a cada aposta confirmada e gravado em lote.
+// Várias instâncias gravam o mesmo usuário: cada uma grava só as apostas que viu desde a última
+// gravação, somadas ao sketch lido da tabela, com verificação de versão e nova tentativa em conflito.
+@Component
+public class StakeSketchStore {
+
+    // Mínimo de apostas para o histórico ser representativo
+    private static final long MIN_SAMPLES = 10;
+    // Anômala: acima do p95 e mais de 3x a mediana
+    private static final double ANOMALY_QUANTILE = 0.95;
+    private static final long ANOMALY_MEDIAN_FACTOR = 3;
+    private static final long ANOMALY_TTL_SECONDS = 86_400;
+    private static final long IDLE_SECONDS = 86_400;
+    private static final int FLUSH_ATTEMPTS = 3;
+
+    private final BetRepository betRepository;
+    private final UserStakeSketchRepository sketchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final PrimaryReads primaryReads;
+    private final long historyDays;
+    private final int historyMaxBets;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public StakeSketchStore(BetRepository betRepository, UserStakeSketchRepository sketchRepository,
+                            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                            PrimaryReads primaryReads,
+                            @Value("${consciousbet.risk.sketch-history-days:90}") long historyDays,
+                            @Value("${consciousbet.risk.sketch-history-max-bets:1000}") int historyMaxBets) {
+        this.betRepository = betRepository;
+        this.sketchRepository = sketchRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.primaryReads = primaryReads;
+        this.historyDays = historyDays;
+        this.historyMaxBets = historyMaxBets;
+    }
+
+    // Verifica a aposta contra o histórico do usuário, sem registrá-la
+    public boolean isAnomalous(Long userId, BigDecimal amount) {
+        Entry entry = entries.computeIfAbsent(userId, this::load);
+        return entry.medianIfAnomalous(BetLedger.toCents(amount), now()) >= 0;
+    }
+
+    // Anomalia detectada nas últimas 24h, se o usuário estiver em memória
+    public StakeAnomaly recentAnomaly(Long userId) {
+        Entry entry = entries.get(userId);
+        StakeAnomaly anomaly = entry != null ? entry.lastAnomaly : null;
+        return anomaly != null && anomaly.getEpochSecond() > now() - ANOMALY_TTL_SECONDS ? anomaly : null;
+    }
+
+    // Apenas criações: o sketch não suporta remoção, e o valor de uma aposta quase nunca muda
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBetEvent(BetEvent event) {
+        if (event.getKind() != BetEvent.Kind.CREATED) {
+            return;
+        }
+        boolean[] fromHistory = new boolean[1];
+        Entry entry = entries.computeIfAbsent(event.getUserId(), id -> {
+            Entry loaded = load(id);
+            fromHistory[0] = loaded.fromHistory;
+            return loaded;
+        });
+
+        long cents = BetLedger.toCents(event.getAmountDelta());
+        long now = now();
+        // Carregado do histórico: a aposta já está no sketch, mas ainda é comparada com ele
+        StakeAnomaly anomaly = entry.record(event.getUserId(), cents, !fromHistory[0], now);
+        if (anomaly != null) {
+            eventPublisher.publishEvent(anomaly);
+        }
+    }
+
+    // Grava os sketches alterados e descarta os ociosos
+    @Scheduled(fixedDelayString = "${consciousbet.risk.sketch-flush-ms:30000}")
+    public void flush() {
+        long idleLimit = now() - IDLE_SECONDS;
+        for (Map.Entry<Long, Entry> item : entries.entrySet()) {
+            Entry entry = item.getValue();
+            StakeSketch pending;
+            StakeSketch seed;
+            synchronized (entry) {
+                if (!entry.dirty) {
+                    if (entry.lastTouched < idleLimit) {
+                        entries.remove(item.getKey(), entry);
+                    }
+                    continue;
+                }
+                pending = entry.pending;
+                seed = entry.seed;
+                entry.pending = new StakeSketch();
+                entry.dirty = false;
+            }
+            try {
+                StakeSketch stored = write(item.getKey(), seed, pending);
+                entry.written(stored);
+            } catch (RuntimeException e) {
+                entry.restore(pending);
+                System.out.println("Failed to persist stake sketch for user " + item.getKey() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    // Soma as apostas pendentes ao sketch gravado (ou, sem linha, às apostas recentes carregadas) e
+    // devolve o sketch gravado; outra instância gravando no meio faz reler e somar de novo
+    private StakeSketch write(Long userId, StakeSketch seed, StakeSketch pending) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                StakeSketch stored = transactionTemplate.execute(status -> tryWrite(userId, seed, pending));
+                if (stored != null) {
+                    return stored;
+                }
+            } catch (DataIntegrityViolationException e) {
+                // Outra instância criou a linha primeiro: a próxima tentativa soma ao sketch dela
+            }
+            if (attempt == FLUSH_ATTEMPTS) {
+                throw new IllegalStateException("concurrent updates after " + FLUSH_ATTEMPTS + " attempts");
+            }
+        }
+    }
+
+    private StakeSketch tryWrite(Long userId, StakeSketch seed, StakeSketch pending) {
+        Optional<UserStakeSketch> row = sketchRepository.findById(userId);
+        if (row.isPresent()) {
+            // A linha já cobre o histórico do usuário; as apostas recentes carregadas aqui são ignoradas
+            StakeSketch merged = StakeSketch.fromBytes(row.get().getSketch());
+            merged.merge(pending);
+            int updated = sketchRepository.updateIfVersion(userId, merged.toBytes(), merged.getCount(),
+                    row.get().getVersion());
+            return updated == 1 ? merged : null;
+        }
+        StakeSketch merged = seed != null ? StakeSketch.fromBytes(seed.toBytes()) : new StakeSketch();
+        merged.merge(pending);
+        sketchRepository.insert(userId, merged.toBytes(), merged.getCount());
+        return merged;
+    }
+
+    // Do primário: o sketch fica em memória e recebe só incrementos depois de carregado
+    private Entry load(Long userId) {
+        return primaryReads.read(() -> loadSketch(userId));
+    }
+
+    private Entry loadSketch(Long userId) {
+        return sketchRepository.findById(userId)
+                .map(row -> new Entry(StakeSketch.fromBytes(row.getSketch()), false))
+                .orElseGet(() -> {
+                    // Só as apostas mais recentes: usuários antigos não leem o histórico inteiro
+                    StakeSketch sketch = new StakeSketch();
+                    LocalDateTime since = LocalDateTime.now().minusDays(historyDays);
+                    for (BigDecimal amount : betRepository.findRecentAmountsByUserId(userId, since,
+                            PageRequest.of(0, historyMaxBets))) {
+                        sketch.add(BetLedger.toCents(amount));
+                    }
+                    Entry entry = new Entry(sketch, true);
+                    if (sketch.getCount() > 0) {
+                        entry.seed = StakeSketch.fromBytes(sketch.toBytes());
+                        entry.dirty = true;
+                    }
+                    return entry;
+                });
+    }
+
+    private static long now() {
+        return LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static final class Entry {
+
+        private StakeSketch sketch;
+        private final boolean fromHistory;
+        // Apostas registradas desde a última gravação
+        private StakeSketch pending = new StakeSketch();
+        // Apostas recentes carregadas na falta de linha, até a primeira gravação
+        private StakeSketch seed;
+        private boolean dirty;
+        private volatile long lastTouched = now();
+        private volatile StakeAnomaly lastAnomaly;
+
+        Entry(StakeSketch sketch, boolean fromHistory) {
+            this.sketch = sketch;
+            this.fromHistory = fromHistory;
+        }
+
+        // Mediana do usuário se o valor for anômalo, ou -1
+        synchronized long medianIfAnomalous(long cents, long now) {
+            lastTouched = now;
+            if (sketch.getCount() < MIN_SAMPLES) {
+                return -1;
+            }
+            long median = sketch.quantile(0.5);
+            return cents > sketch.quantile(ANOMALY_QUANTILE) && cents > median * ANOMALY_MEDIAN_FACTOR ? median : -1;
+        }
+
+        synchronized StakeAnomaly record(Long userId, long cents, boolean add, long now) {
+            long median = medianIfAnomalous(cents, now);
+            if (add) {
+                sketch.add(cents);
+                pending.add(cents);
+                dirty = true;
+            }
+            if (median < 0) {
+                return null;
+            }
+            lastAnomaly = new StakeAnomaly(userId, cents, median, now);
+            return lastAnomaly;
+        }
+
+        // Passa a usar o sketch gravado, que inclui as apostas de outras instâncias
+        synchronized void written(StakeSketch stored) {
+            seed = null;
+            stored.merge(pending);
+            sketch = stored;
+        }
+
+        // Gravação falhou: as apostas voltam para a próxima
+        synchronized void restore(StakeSketch unwritten) {
+            pending.merge(unwritten);
+            dirty = true;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.fiap.consciousbet.risk;
+
+import br.com.fiap.consciousbet.ledger.BucketRing;
+
+// Feature store de risco de um usuário: contagem e valor em buckets de 5 minutos (24h),
+// de 1 hora (7 dias) e de 1 dia (30 dias), mais o horário da última aposta.
+// Qualquer janela é respondida pelo anel mais fino que a cobre, visitando só os buckets dela.
+public class UserRiskState {
+
+    static final long BUCKET_SECONDS = 300;
+    static final int BUCKETS = 288;
+    static final long HOUR_SECONDS = 3_600;
+    static final int HOURS = 168;
+    static final long DAY_SECONDS = 86_400;
+    static final int DAYS = 30;
+
+    private final BucketRing fine = new BucketRing(BUCKET_SECONDS, BUCKETS);
+    private final BucketRing hourly = new BucketRing(HOUR_SECONDS, HOURS);
+    private final BucketRing daily = new BucketRing(DAY_SECONDS, DAYS);
+    private long lastBetEpochSecond = Long.MIN_VALUE;
+    private volatile long lastTouched;
+
+    public synchronized void apply(long epochSecond, long amountCents, int count, long nowEpochSecond) {
+        fine.add(epochSecond, amountCents, count, nowEpochSecond);
+        hourly.add(epochSecond, amountCents, count, nowEpochSecond);
+        daily.add(epochSecond, amountCents, count, nowEpochSecond);
+        if (count > 0 && epochSecond > lastBetEpochSecond) {
+            lastBetEpochSecond = epochSecond;
+        }
+        lastTouched = nowEpochSecond;
+    }
+
+    // Carga a partir do rollup por hora: só os anéis de hora e de dia (o de 5 minutos vem das apostas)
+    synchronized void applyHourly(long hourStartEpochSecond, long amountCents, int count, long nowEpochSecond) {
+        hourly.add(hourStartEpochSecond, amountCents, count, nowEpochSecond);
+        daily.add(hourStartEpochSecond, amountCents, count, nowEpochSecond);
+    }
+
+    // Leitura consistente de todas as janelas
+    public synchronized RiskSnapshot snapshot(long nowEpochSecond) {
+        lastTouched = nowEpochSecond;
+        return new RiskSnapshot(features(nowEpochSecond),
+                lastBetEpochSecond != Long.MIN_VALUE ? lastBetEpochSecond : null);
+    }
+
+    public synchronized RiskLevel level(long nowEpochSecond) {
+        return RiskLevel.of(features(nowEpochSecond));
+    }
+
+    // Valor apostado (centavos) nos últimos 'seconds' segundos, arredondado para o bucket do anel usado
+    public synchronized long centsSince(long seconds, long nowEpochSecond) {
+        BucketRing ring = ringFor(seconds);
+        return ring.sumCents(nowEpochSecond, buckets(ring, seconds));
+    }
+
+    // Número de apostas nos últimos 'seconds' segundos
+    public synchronized int countSince(long seconds, long nowEpochSecond) {
+        BucketRing ring = ringFor(seconds);
+        return ring.sumCount(nowEpochSecond, buckets(ring, seconds));
+    }
+
+    public void touch(long nowEpochSecond) {
+        lastTouched = nowEpochSecond;
+    }
+
+    public long getLastTouched() {
+        return lastTouched;
+    }
+
+    private RiskFeatures features(long now) {
+        int hourBuckets = (int) (HOUR_SECONDS / BUCKET_SECONDS);
+        return new RiskFeatures(
+                fine.sumCount(now, hourBuckets), fine.sumCents(now, hourBuckets),
+                fine.sumCount(now), fine.sumCents(now),
+                hourly.sumCount(now), hourly.sumCents(now),
+                daily.sumCount(now), daily.sumCents(now));
+    }
+
+    private BucketRing ringFor(long seconds) {
+        if (seconds <= BUCKET_SECONDS * BUCKETS) {
+            return fine;
+        }
+        return seconds <= HOUR_SECONDS * HOURS ? hourly : daily;
+    }
+
+    private static int buckets(BucketRing ring, long seconds) {
+        return (int) Math.max(1, Math.min(ring.getSize(), (seconds + ring.getBucketSeconds() - 1) / ring.getBucketSeconds()));
+    }
+}
@@ -0,0 +1,211 @@
+package br.com.fiap.consciousbet.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Índice invertido de trigramas de nomes: cada trigrama aponta para um long[] ordenado de IDs.
+// Cada palavra é indexada com preenchimento ("  ana "), então termos com 3+ letras casam em qualquer
+// ponto da palavra (como o LIKE '%x%') e termos de 1-2 letras casam no início de uma palavra.
+// Não é thread-safe: o acesso concorrente é controlado pelo UserNameIndex.
+public class TrigramIndex {
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, String> names = new HashMap<>();
+
+    public void add(long id, String name) {
+        remove(id);
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        names.put(id, normalized);
+        for (String trigram : indexTrigrams(normalized)) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(id);
+        }
+    }
+
+    public void remove(long id) {
+        String normalized = names.remove(id);
+        if (normalized == null) {
+            return;
+        }
+        for (String trigram : indexTrigrams(normalized)) {
+            Postings list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    // IDs que contêm todos os termos, do mais relevante ao menos relevante
+    public List<Long> search(String query) {
+        String[] terms = normalize(query).split(" ");
+        if (terms.length == 0 || terms[0].isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String term : terms) {
+            trigrams.addAll(queryTrigrams(term));
+        }
+
+        // Interseção começando pela menor lista
+        List<Postings> lists = new ArrayList<>();
+        for (String trigram : trigrams) {
+            Postings list = postings.get(trigram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        long[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = intersect(candidates, count, lists.get(i));
+        }
+
+        // Trigramas não garantem a ordem das letras: confirma cada termo e calcula a relevância
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = names.get(candidates[i]);
+            int score = score(name, terms);
+            if (score >= 0) {
+                matches.add(new Match(candidates[i], name.length(), score));
+            }
+        }
+        matches.sort(Comparator.comparingInt((Match match) -> -match.score)
+                .thenComparingInt(match -> match.length)
+                .thenComparingLong(match -> match.id));
+
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            ids.add(match.id);
+        }
+        return ids;
+    }
+
+    // Minúsculas, sem acentos e com espaços simples
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return decomposed.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static Set<String> indexTrigrams(String normalized) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            addTrigrams(trigrams, "  " + word + " ");
+        }
+        return trigrams;
+    }
+
+    private static Set<String> queryTrigrams(String term) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        addTrigrams(trigrams, term.length() >= 3 ? term : "  " + term);
+        return trigrams;
+    }
+
+    private static void addTrigrams(Set<String> trigrams, String padded) {
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+    }
+
+    // -1 se algum termo não aparece; pontos extras para início de palavra e palavra inteira
+    private static int score(String name, String[] terms) {
+        String[] words = name.split(" ");
+        int score = 0;
+        for (String term : terms) {
+            int best = -1;
+            for (String word : words) {
+                if (word.equals(term)) {
+                    best = Math.max(best, 3);
+                } else if (word.startsWith(term)) {
+                    best = Math.max(best, 2);
+                } else if (term.length() >= 3 && word.contains(term)) {
+                    best = Math.max(best, 1);
+                }
+            }
+            if (best < 0) {
+                return -1;
+            }
+            score += best;
+        }
+        return words[0].startsWith(terms[0]) ? score + 1 : score;
+    }
+
+    // Mantém em candidates só os IDs presentes na lista; devolve a nova quantidade
+    private static int intersect(long[] candidates, int count, Postings list) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int position = Arrays.binarySearch(list.ids, from, list.size, candidates[i]);
+            if (position >= 0) {
+                candidates[kept++] = candidates[i];
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return kept;
+    }
+
+    // Lista de IDs ordenada; inserções em ordem crescente (carga inicial) só acrescentam no fim
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int position = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0 && position < size) {
+                return; // já presente
+            }
+            int insertAt = position >= 0 ? position : -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+
+    private static final class Match {
+
+        private final long id;
+        private final int length;
+        private final int score;
+
+        Match(long id, int length, int score) {
+            this.id = id;
+            this.length = length;
+            this.score = score;
+        }
+    }
+}
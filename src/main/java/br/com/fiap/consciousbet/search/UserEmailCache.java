@@ -0,0 +1,64 @@
+package br.com.fiap.consciousbet.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Cache LRU limitado email normalizado -> ID do usuário, para GET /api/users/email/{email} e as
+// verificações de duplicidade. Só guarda emails existentes; o serviço remove as entradas depois
+// do commit de atualizações e exclusões, e a expiração cobre alterações feitas fora da aplicação.
+@Component
+public class UserEmailCache {
+
+    private final long ttlMs;
+    private final Map<String, Entry> entries;
+
+    public UserEmailCache(@Value("${consciousbet.users.email-cache-size:10000}") int cacheSize,
+                          @Value("${consciousbet.users.email-cache-ttl-ms:600000}") long ttlMs) {
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    // ID do usuário, ou null se não estiver em cache (ou tiver expirado)
+    public synchronized Long get(String normalizedEmail) {
+        Entry entry = entries.get(normalizedEmail);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(normalizedEmail);
+            return null;
+        }
+        return entry.userId;
+    }
+
+    public synchronized void put(String normalizedEmail, Long userId) {
+        if (normalizedEmail != null && userId != null) {
+            entries.put(normalizedEmail, new Entry(userId, System.currentTimeMillis() + ttlMs));
+        }
+    }
+
+    public synchronized void evict(String normalizedEmail) {
+        if (normalizedEmail != null) {
+            entries.remove(normalizedEmail);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Long userId;
+        private final long expiresAt;
+
+        Entry(Long userId, long expiresAt) {
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package br.com.fiap.consciousbet.search;
+
+import br.com.fiap.consciousbet.dto.EmailFilterStatsDTO;
+import br.com.fiap.consciousbet.repository.UserEmailView;
+import br.com.fiap.consciousbet.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Filtro de Bloom dos emails normalizados cadastrados, na frente do existsByEmail: "não contém"
+// dispensa o banco, "talvez" vai ao índice único. O UserServiceImpl insere os emails novos depois do
+// commit; o que outras instâncias gravam chega pela sincronização incremental (usuários com updated_at
+// recente, com folga para diferença de relógio e transações longas). Um "não contém" só vale enquanto
+// essa sincronização está em dia. Emails removidos ou trocados só saem na reconstrução periódica, que
+// também redimensiona o filtro conforme a tabela cresce.
+@Component
+public class UserEmailFilter {
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+    private static final long MIN_CAPACITY = 10_000;
+    // Folga da sincronização incremental: updated_at é gravado no início da transação de outra instância
+    private static final long SYNC_MARGIN_SECONDS = 60;
+    // Sincronizações seguidas que podem falhar antes de o filtro deixar de responder "não contém"
+    private static final int MAX_MISSED_SYNCS = 5;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double falsePositiveRate;
+    private final long maxStaleMs;
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building; // não nulo durante uma reconstrução
+    private volatile long capacity;
+    private volatile long lastRebuildMs;
+    private volatile LocalDateTime lastRebuildAt;
+    // Início da última carga ou sincronização concluída
+    private volatile LocalDateTime syncedFrom;
+    private volatile long syncedAtMs;
+
+    // Contadores das verificações desde a subida
+    private final LongAdder insertions = new LongAdder();
+    private final LongAdder definiteNegatives = new LongAdder();
+    private final LongAdder confirmedPositives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public UserEmailFilter(UserRepository userRepository, PlatformTransactionManager transactionManager,
+                           @Value("${consciousbet.users.email-filter-fpp:0.01}") double falsePositiveRate,
+                           @Value("${consciousbet.users.email-filter-sync-ms:2000}") long syncMs) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxStaleMs = syncMs * MAX_MISSED_SYNCS;
+    }
+
+    // Falso quando o email certamente não está cadastrado; verdadeiro também enquanto o filtro carrega
+    // ou se a sincronização com o banco está atrasada
+    public boolean mightContain(String normalizedEmail) {
+        BloomFilter current = filter;
+        if (current == null || System.currentTimeMillis() - syncedAtMs > maxStaleMs
+                || current.mightContain(normalizedEmail)) {
+            return true;
+        }
+        definiteNegatives.increment();
+        return false;
+    }
+
+    // Resultado do banco para um "talvez" do filtro
+    public void recordLookup(boolean exists) {
+        if (filter == null) {
+            return;
+        }
+        if (exists) {
+            confirmedPositives.increment();
+        } else {
+            falsePositives.increment();
+        }
+    }
+
+    public void put(String normalizedEmail) {
+        if (normalizedEmail == null) {
+            return;
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(normalizedEmail);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(normalizedEmail);
+            insertions.increment();
+        }
+    }
+
+    // Emails criados ou alterados (aqui ou em outra instância) desde a última carga
+    @Scheduled(initialDelayString = "${consciousbet.users.email-filter-sync-ms:2000}",
+            fixedDelayString = "${consciousbet.users.email-filter-sync-ms:2000}")
+    public synchronized void sync() {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime since = syncedFrom.minusSeconds(SYNC_MARGIN_SECONDS);
+        try {
+            List<UserEmailView> changed = transactionTemplate.execute(status ->
+                    userRepository.findEmailsUpdatedAfter(since));
+            for (UserEmailView user : changed) {
+                if (user.getEmailNormalized() != null) {
+                    current.put(user.getEmailNormalized());
+                }
+            }
+        } catch (RuntimeException e) {
+            System.out.println("User email filter sync failed: " + e.getMessage());
+            return;
+        }
+        syncedFrom = start;
+        syncedAtMs = System.currentTimeMillis();
+    }
+
+    // Primeira execução logo na subida
+    @Scheduled(fixedDelayString = "${consciousbet.users.email-filter-rebuild-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        // Folga para o crescimento até a próxima reconstrução
+        long expected = Math.max(MIN_CAPACITY, userRepository.count() * 2);
+        BloomFilter fresh = new BloomFilter(expected, falsePositiveRate);
+        building = fresh;
+
+        long loaded = 0;
+        try {
+            long afterId = 0;
+            Slice<UserEmailView> slice;
+            do {
+                long from = afterId;
+                slice = transactionTemplate.execute(status ->
+                        userRepository.findEmailSliceAfter(from, PageRequest.of(0, LOAD_PAGE_SIZE)));
+                for (UserEmailView user : slice.getContent()) {
+                    if (user.getEmailNormalized() != null) {
+                        fresh.put(user.getEmailNormalized());
+                        loaded++;
+                    }
+                    afterId = user.getId();
+                }
+            } while (slice.hasNext());
+        } catch (RuntimeException e) {
+            building = null;
+            System.out.println("User email filter rebuild failed: " + e.getMessage());
+            return;
+        }
+
+        filter = fresh;
+        building = null;
+        syncedFrom = startedAt;
+        syncedAtMs = System.currentTimeMillis();
+        capacity = expected;
+        insertions.reset();
+        insertions.add(loaded);
+        lastRebuildMs = System.currentTimeMillis() - start;
+        lastRebuildAt = LocalDateTime.now();
+        System.out.println("User email filter rebuilt: " + loaded + " emails in " + lastRebuildMs + " ms");
+    }
+
+    public EmailFilterStatsDTO stats() {
+        BloomFilter current = filter;
+        long negatives = definiteNegatives.sum();
+        long falseHits = falsePositives.sum();
+        // Observada: falsos positivos entre as verificações de emails não cadastrados
+        double observedRate = negatives + falseHits > 0 ? (double) falseHits / (negatives + falseHits) : 0.0;
+        return new EmailFilterStatsDTO(
+                current != null,
+                current != null ? current.getBitCount() : 0,
+                current != null ? current.getHashCount() : 0,
+                capacity,
+                insertions.sum(),
+                current != null ? current.expectedFalsePositiveRate() : 0.0,
+                observedRate,
+                negatives,
+                confirmedPositives.sum(),
+                falseHits,
+                lastRebuildMs,
+                lastRebuildAt
+        );
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.fiap.consciousbet.search;
+
+import br.com.fiap.consciousbet.dto.UserResponseDTO;
+import br.com.fiap.consciousbet.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// Busca de usuários por nome em memória. O UserServiceImpl aplica criações, alterações e remoções
+// depois do commit; a reconstrução periódica traz o que outras instâncias alteraram. Alterações
+// feitas durante uma reconstrução são reaplicadas no índice novo antes da troca.
+@Component
+public class UserNameIndex {
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TrigramIndex index = new TrigramIndex();
+    private List<Consumer<TrigramIndex>> replay; // não nulo durante uma reconstrução
+    private volatile boolean ready;
+
+    public UserNameIndex(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    // Falso até a primeira carga terminar (a busca usa o banco enquanto isso)
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Long> search(String query) {
+        lock.readLock().lock();
+        try {
+            return index.search(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(long userId, String name) {
+        apply(index -> index.add(userId, name));
+    }
+
+    public void remove(long userId) {
+        apply(index -> index.remove(userId));
+    }
+
+    // Primeira execução logo na subida
+    @Scheduled(fixedDelayString = "${consciousbet.search.rebuild-ms:900000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TrigramIndex fresh = new TrigramIndex();
+        try {
+            // Páginas por chave: não segura uma transação longa nem depende de streaming do driver
+            long afterId = 0;
+            Slice<UserResponseDTO> slice;
+            do {
+                long from = afterId;
+                slice = transactionTemplate.execute(status ->
+                        userRepository.findSliceAfter(from, PageRequest.of(0, LOAD_PAGE_SIZE)));
+                for (UserResponseDTO user : slice.getContent()) {
+                    fresh.add(user.getId(), user.getName());
+                    afterId = user.getId();
+                }
+            } while (slice.hasNext());
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            System.out.println("User name index rebuild failed: " + e.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            replay.forEach(operation -> operation.accept(fresh));
+            replay = null;
+            index = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("User name index rebuilt: " + fresh.size() + " users");
+    }
+
+    private void apply(Consumer<TrigramIndex> operation) {
+        lock.writeLock().lock();
+        try {
+            operation.accept(index);
+            if (replay != null) {
+                replay.add(operation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
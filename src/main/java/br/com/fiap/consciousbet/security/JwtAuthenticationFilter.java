@@ -40,34 +40,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
             System.out.println("🎫 Token extracted (first 30 chars): " + token.substring(0, Math.min(30, token.length())) + "...");
 
-            try {
-                // Primeiro verifica se o token não está expirado
-                if (jwtUtil.isTokenExpired(token)) {
-                    System.out.println("❌ Token is expired");
-                } else {
-                    System.out.println("✅ Token is not expired");
-                }
-
-                if (jwtUtil.validateToken(token)) {
-                    String email = jwtUtil.extractEmail(token);
-                    System.out.println("✅ Token valid for user: " + email);
-
-                    if (email != null) {
-                        // Cria autenticação no contexto do Spring Security
-                        UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(email, null, new ArrayList<>());
-
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        System.out.println("🔒 Authentication set in Security Context for: " + email);
-                    } else {
-                        System.out.println("❌ Email extraction returned null");
-                    }
-                } else {
-                    System.out.println("❌ Token validation failed");
-                }
-            } catch (Exception e) {
-                System.out.println("❌ Error processing token: " + e.getMessage());
-                e.printStackTrace();
+            // Uma única verificação (assinatura + expiração), ou nenhuma se o token já estiver no cache
+            String email = jwtUtil.verify(token);
+            if (email != null) {
+                // Cria autenticação no contexto do Spring Security
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(email, null, new ArrayList<>());
+
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                System.out.println("🔒 Authentication set in Security Context for: " + email);
+            } else {
+                System.out.println("❌ Token validation failed");
             }
         } else {
             System.out.println("❌ No valid Bearer token found");
@@ -1,18 +1,29 @@
 package br.com.fiap.consciousbet.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
+// Geração e verificação de tokens. A verificação (HMAC-SHA512 + expiração) usa um único parser e
+// guarda o resultado num cache concorrente limitado, chaveado pelo SHA-256 do token e válido até o exp:
+// cada token é verificado uma vez, as requisições seguintes com ele não refazem o HMAC nem disputam lock.
 @Component
 public class JwtUtil {
 
@@ -24,21 +35,81 @@ public class JwtUtil {
 
     private static final int TOKEN_VALIDITY = 3600 * 5; // 5 horas
 
-    public String extractEmail(String token) {
-        System.out.println("🔧 === EXTRACT EMAIL DEBUG ===");
-        System.out.println("🆔 JwtUtil instance ID: " + System.identityHashCode(this));
-        System.out.println("🎫 Token (first 30 chars): " + token.substring(0, Math.min(30, token.length())) + "...");
-        System.out.println("🗝️ Using SecretKey: " + secretKey.getAlgorithm());
-        System.out.println("🔐 Secret first 20 chars: " + SECRET.substring(0, 20) + "...");
+    // Parser imutável e thread-safe: construído uma vez
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(secretKey)
+            .build();
+
+    private final ConcurrentHashMap<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+    private final int cacheSize;
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    public JwtUtil(@Value("${consciousbet.jwt.cache-size:10000}") int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    // Email (subject) de um token com assinatura válida e não expirado, ou null
+    public String verify(String token) {
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = verified.get(digest);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return cached.email;
+            }
+            verified.remove(digest, cached);
+            return null;
+        }
 
+        Claims claims;
         try {
-            String email = extractClaim(token, Claims::getSubject);
-            System.out.println("✅ Extracted email: " + email);
-            return email;
+            // Assinatura e exp conferidos numa única verificação
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
-            System.out.println("❌ Email extraction failed: " + e.getMessage());
+            // Token inválido, adulterado ou expirado
             return null;
         }
+
+        // Sem exp não entra no cache (nunca expiraria)
+        Date expiration = claims.getExpiration();
+        if (expiration != null && cacheSize > 0) {
+            verified.put(digest, new VerifiedToken(claims.getSubject(), expiration.getTime()));
+            if (verified.size() > cacheSize) {
+                trim(now);
+            }
+        }
+        return claims.getSubject();
+    }
+
+    // Passou do limite: remove os expirados e, se ainda preciso, os que expiram primeiro, até 90% da
+    // capacidade. Uma thread por vez; as outras seguem sem esperar
+    private void trim(long now) {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            verified.values().removeIf(token -> token.expiresAt <= now);
+            int excess = verified.size() - cacheSize * 9 / 10;
+            if (excess > 0) {
+                verified.entrySet().stream()
+                        .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt))
+                        .limit(excess)
+                        .map(Map.Entry::getKey)
+                        .toList()
+                        .forEach(verified::remove);
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    int cachedTokens() {
+        return verified.size();
+    }
+
+    public String extractEmail(String token) {
+        return verify(token);
     }
 
     public Date extractExpiration(String token) {
@@ -51,46 +122,23 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public Boolean isTokenExpired(String token) {
-        System.out.println("🔧 === IS TOKEN EXPIRED DEBUG ===");
-        System.out.println("🆔 JwtUtil instance ID: " + System.identityHashCode(this));
-        System.out.println("🎫 Token (first 30 chars): " + token.substring(0, Math.min(30, token.length())) + "...");
-        System.out.println("🗝️ Using SecretKey: " + secretKey.getAlgorithm());
-        System.out.println("🔐 Secret first 20 chars: " + SECRET.substring(0, 20) + "...");
-
         try {
-            Date expiration = extractExpiration(token);
-            boolean isExpired = expiration.before(new Date());
-            System.out.println("📅 Token expiration: " + expiration);
-            System.out.println("🕒 Current time: " + new Date());
-            System.out.println("⏰ Is expired: " + isExpired);
-            return isExpired;
+            return extractExpiration(token).before(new Date());
         } catch (Exception e) {
-            System.out.println("❌ Token expiration check failed: " + e.getMessage());
-            System.out.println("❌ Exception type: " + e.getClass().getSimpleName());
+            System.out.println("❌ Token expiration check failed: " + e.getClass().getSimpleName());
             return true; // Se não conseguir verificar, considera expirado
         }
     }
 
     public String generateToken(String email) {
-        System.out.println("🔧 === GENERATE TOKEN DEBUG ===");
-        System.out.println("🆔 JwtUtil instance ID: " + System.identityHashCode(this));
         System.out.println("📧 Generating token for email: " + email);
-        System.out.println("🗝️ Using SecretKey: " + secretKey.getAlgorithm());
-        System.out.println("🔐 Secret first 20 chars: " + SECRET.substring(0, 20) + "...");
 
         Map<String, Object> claims = new HashMap<>();
-        String token = createToken(claims, email);
-
-        System.out.println("🎫 Generated token (first 30 chars): " + token.substring(0, Math.min(30, token.length())) + "...");
-        return token;
+        return createToken(claims, email);
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -104,30 +152,27 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token) {
-        System.out.println("🔧 === VALIDATE TOKEN DEBUG ===");
-        System.out.println("🆔 JwtUtil instance ID: " + System.identityHashCode(this));
-        System.out.println("🎫 Token (first 30 chars): " + token.substring(0, Math.min(30, token.length())) + "...");
-        System.out.println("🗝️ Using SecretKey: " + secretKey.getAlgorithm());
-        System.out.println("🔐 Secret first 20 chars: " + SECRET.substring(0, 20) + "...");
+        return verify(token) != null;
+    }
 
+    // O cache não guarda o token em si, só o hash
+    private static String digest(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            System.out.println("✅ Token signature validated successfully");
-            System.out.println("📧 Token subject: " + claims.getSubject());
-            System.out.println("📅 Token expiration: " + claims.getExpiration());
-
-            boolean isValid = !isTokenExpired(token);
-            System.out.println("🔒 Token is valid: " + isValid);
-            return isValid;
-        } catch (Exception e) {
-            System.out.println("❌ Token validation failed: " + e.getMessage());
-            System.out.println("❌ Exception type: " + e.getClass().getSimpleName());
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class VerifiedToken {
+
+        private final String email;
+        private final long expiresAt;
+
+        VerifiedToken(String email, long expiresAt) {
+            this.email = email;
+            this.expiresAt = expiresAt;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,35 +1,70 @@
 package br.com.fiap.consciousbet.service;
 
+import br.com.fiap.consciousbet.dto.BetBatchResponseDTO;
 import br.com.fiap.consciousbet.dto.BetCreateDTO;
+import br.com.fiap.consciousbet.dto.BetIngestionStatusDTO;
 import br.com.fiap.consciousbet.dto.BetResponseDTO;
+import br.com.fiap.consciousbet.dto.BetSearchDTO;
 import br.com.fiap.consciousbet.dto.BetUpdateDTO;
+import br.com.fiap.consciousbet.dto.CursorPageDTO;
+import br.com.fiap.consciousbet.dto.LookupItemDTO;
+import br.com.fiap.consciousbet.dto.ResourceVersionDTO;
+import br.com.fiap.consciousbet.ledger.LimitDecision;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BetService {
 
     // Criar aposta
     BetResponseDTO create(BetCreateDTO dto);
 
+    // Criar várias apostas de uma vez (resultado por item)
+    BetBatchResponseDTO createBatch(List<BetCreateDTO> dtos);
+
+    // Admitir aposta nos limites e enfileirar para gravação assíncrona
+    BetIngestionStatusDTO submit(BetCreateDTO dto);
+
+    // Consultar o estado de uma aposta enfileirada
+    BetIngestionStatusDTO getIngestionStatus(String trackingId);
+
     // Buscar todas as apostas (com paginação)
     Page<BetResponseDTO> findAll(Pageable pageable);
 
-    // Buscar todas as apostas (lista simples)
-    List<BetResponseDTO> findAll();
+    // Buscar apostas por cursor (mais recentes primeiro, sem contagem total)
+    CursorPageDTO<BetResponseDTO> findSlice(String cursor, int size);
+
+    // Exportar todas as apostas em streaming (cursor, sem carregar a lista em memória)
+    void exportAll(Consumer<BetResponseDTO> consumer);
 
     // Buscar por ID
     BetResponseDTO findById(Long id);
 
+    // Buscar várias apostas por ID (mesma ordem do pedido, com marcação de não encontradas)
+    List<LookupItemDTO<BetResponseDTO>> findAllById(List<Long> ids);
+
+    // ETag de uma aposta (sem carregar a entidade); liquidadas são imutáveis
+    ResourceVersionDTO getVersion(Long id);
+
+    // ETag das listagens de apostas de um usuário (sem ETag se o usuário não existe)
+    ResourceVersionDTO getUserBetsVersion(Long userId);
+
     // Buscar apostas por usuário
     List<BetResponseDTO> findByUserId(Long userId);
 
     // Buscar apostas por usuário com paginação
     Page<BetResponseDTO> findByUserId(Long userId, Pageable pageable);
 
+    // Buscar apostas por usuário por cursor (mais recentes primeiro, sem contagem total)
+    CursorPageDTO<BetResponseDTO> findSliceByUserId(Long userId, String cursor, int size);
+
+    // Busca com filtros combináveis por cursor (mais recentes primeiro, sem contagem total)
+    CursorPageDTO<BetResponseDTO> search(BetSearchDTO filters, String cursor, int size);
+
     // Buscar apostas por tipo
     List<BetResponseDTO> findByType(String type);
 
@@ -57,12 +92,24 @@ public interface BetService {
     // Calcular total apostado por usuário em período
     BigDecimal getTotalAmountByUserIdSince(Long userId, LocalDateTime since);
 
+    // Contar todas as apostas (contador mantido em memória)
+    long count();
+
     // Contar apostas por usuário
     long countByUserId(Long userId);
 
     // Contar apostas por usuário em período
     long countByUserIdSince(Long userId, LocalDateTime since);
 
+    // Total apostado nas últimas 24h (ledger em memória)
+    BigDecimal getDailyAmountByUserId(Long userId);
+
+    // Apostas feitas nas últimas 24h (ledger em memória)
+    long countDailyBetsByUserId(Long userId);
+
+    // Avaliar os limites para uma aposta (regra violada e folga restante)
+    LimitDecision evaluateBet(Long userId, String type, BigDecimal amount);
+
     // Verificar se usuário pode apostar (regras de negócio)
     boolean canUserBet(Long userId, BigDecimal amount);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package br.com.fiap.consciousbet.service;
+
+import br.com.fiap.consciousbet.dto.BetStatsRebuildResultDTO;
+import br.com.fiap.consciousbet.dto.UserBetStatsDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface BetStatsService {
+
+    // Aplicar a variação de uma aposta ao rollup (na transação corrente)
+    void record(Long userId, LocalDateTime timestamp, BigDecimal amount, int bets);
+
+    // Estatísticas do usuário lidas apenas do rollup
+    UserBetStatsDTO getStats(Long userId);
+
+    // Reconstruir o rollup inteiro a partir da tabela bets
+    BetStatsRebuildResultDTO rebuild();
+}
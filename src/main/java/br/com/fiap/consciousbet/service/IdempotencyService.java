@@ -0,0 +1,10 @@
+package br.com.fiap.consciousbet.service;
+
+import br.com.fiap.consciousbet.dto.BetCreateDTO;
+import br.com.fiap.consciousbet.dto.IdempotentBetResult;
+
+public interface IdempotencyService {
+
+    // Criar aposta no máximo uma vez por Idempotency-Key
+    IdempotentBetResult createBet(String idempotencyKey, BetCreateDTO dto);
+}
@@ -0,0 +1,18 @@
+package br.com.fiap.consciousbet.service;
+
+import br.com.fiap.consciousbet.dto.LimitPolicyDTO;
+import br.com.fiap.consciousbet.dto.LimitPolicyResponseDTO;
+
+import java.util.List;
+
+public interface LimitPolicyService {
+
+    // Políticas ativas de um usuário
+    List<LimitPolicyResponseDTO> findByUserId(Long userId);
+
+    // Criar ou substituir a política do período/tipo informado
+    LimitPolicyResponseDTO upsert(Long userId, LimitPolicyDTO dto);
+
+    // Remover (desativar) uma política
+    void delete(Long userId, Long policyId);
+}
@@ -1,7 +1,11 @@
 package br.com.fiap.consciousbet.service;
 
 import br.com.fiap.consciousbet.dto.AlertResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface RiskAnalysisService {
     AlertResponse analyze(Long userId);
+
+    // Assinar alertas de risco via SSE (o alerta atual é enviado na conexão, depois só mudanças de nível)
+    SseEmitter subscribe(Long userId);
 }
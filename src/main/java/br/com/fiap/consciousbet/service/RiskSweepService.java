@@ -0,0 +1,15 @@
+package br.com.fiap.consciousbet.service;
+
+import br.com.fiap.consciousbet.dto.RiskSweepStatusDTO;
+
+public interface RiskSweepService {
+
+    // Iniciar uma varredura em segundo plano (se já houver uma em andamento, retorna o status dela)
+    RiskSweepStatusDTO start();
+
+    // Executar uma varredura completa na thread atual
+    RiskSweepStatusDTO run();
+
+    // Progresso da varredura atual ou resultado da última
+    RiskSweepStatusDTO getStatus();
+}
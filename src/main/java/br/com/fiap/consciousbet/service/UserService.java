@@ -1,5 +1,9 @@
 package br.com.fiap.consciousbet.service;
 
+import br.com.fiap.consciousbet.dto.CursorPageDTO;
+import br.com.fiap.consciousbet.dto.EmailFilterStatsDTO;
+import br.com.fiap.consciousbet.dto.LookupItemDTO;
+import br.com.fiap.consciousbet.dto.ResourceVersionDTO;
 import br.com.fiap.consciousbet.dto.UserCreateDTO;
 import br.com.fiap.consciousbet.dto.UserResponseDTO;
 import br.com.fiap.consciousbet.dto.UserUpdateDTO;
@@ -7,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -16,12 +21,24 @@ public interface UserService {
     // Buscar todos (com paginação)
     Page<UserResponseDTO> findAll(Pageable pageable);
 
-    // Buscar todos (lista simples)
-    List<UserResponseDTO> findAll();
+    // Buscar por cursor (ordem de ID, sem contagem total)
+    CursorPageDTO<UserResponseDTO> findSlice(String cursor, int size);
+
+    // Exportar todos os usuários em streaming (cursor, sem carregar a lista em memória)
+    void exportAll(Consumer<UserResponseDTO> consumer);
 
     // Buscar por ID
     UserResponseDTO findById(Long id);
 
+    // Buscar vários por ID (mesma ordem do pedido, com marcação de não encontrados)
+    List<LookupItemDTO<UserResponseDTO>> findAllById(List<Long> ids);
+
+    // ETag do usuário (sem carregar a entidade)
+    ResourceVersionDTO getVersion(Long id);
+
+    // Buscar por nome (índice de trigramas, ordenado por relevância)
+    Page<UserResponseDTO> searchByName(String name, Pageable pageable);
+
     // Buscar por email
     UserResponseDTO findByEmail(String email);
 
@@ -37,6 +54,9 @@ public interface UserService {
     // Verificar se existe por email
     boolean existsByEmail(String email);
 
+    // Métricas do filtro de emails (taxa de falso positivo, tempo da última reconstrução)
+    EmailFilterStatsDTO getEmailFilterStats();
+
     // Contar total de usuários
     long count();
 }
\ No newline at end of file
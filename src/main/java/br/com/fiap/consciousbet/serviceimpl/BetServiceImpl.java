@@ -1,25 +1,63 @@
 package br.com.fiap.consciousbet.serviceimpl;
 
+import br.com.fiap.consciousbet.counter.EntityCounters;
+import br.com.fiap.consciousbet.dto.BetBatchItemResultDTO;
+import br.com.fiap.consciousbet.dto.BetBatchResponseDTO;
 import br.com.fiap.consciousbet.dto.BetCreateDTO;
+import br.com.fiap.consciousbet.dto.BetIngestionStatusDTO;
 import br.com.fiap.consciousbet.dto.BetResponseDTO;
+import br.com.fiap.consciousbet.dto.BetSearchDTO;
 import br.com.fiap.consciousbet.dto.BetUpdateDTO;
+import br.com.fiap.consciousbet.dto.CursorPageDTO;
+import br.com.fiap.consciousbet.dto.LookupItemDTO;
+import br.com.fiap.consciousbet.dto.ResourceVersionDTO;
 import br.com.fiap.consciousbet.entity.Bet;
 import br.com.fiap.consciousbet.entity.User;
+import br.com.fiap.consciousbet.event.BetEvent;
+import br.com.fiap.consciousbet.exception.BetAlreadySettledException;
+import br.com.fiap.consciousbet.exception.BetLimitExceededException;
+import br.com.fiap.consciousbet.exception.IngestionRejectedException;
+import br.com.fiap.consciousbet.exception.LimitsUnavailableException;
+import br.com.fiap.consciousbet.ingestion.BetIngestionPipeline;
+import br.com.fiap.consciousbet.ledger.BetLedger;
+import br.com.fiap.consciousbet.ledger.LimitDecision;
+import br.com.fiap.consciousbet.ledger.LimitEvaluator;
+import br.com.fiap.consciousbet.ledger.UserBetWindow;
 import br.com.fiap.consciousbet.mapper.BetMapper;
+import br.com.fiap.consciousbet.pagination.KeysetCursor;
 import br.com.fiap.consciousbet.repository.BetRepository;
+import br.com.fiap.consciousbet.repository.BetVersionView;
+import br.com.fiap.consciousbet.repository.UserBetsVersionView;
 import br.com.fiap.consciousbet.repository.UserRepository;
+import br.com.fiap.consciousbet.risk.StakeSketchStore;
 import br.com.fiap.consciousbet.service.BetService;
+import br.com.fiap.consciousbet.service.BetStatsService;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -27,15 +65,30 @@ public class BetServiceImpl implements BetService {
 
     private final BetRepository betRepository;
     private final UserRepository userRepository;
-
-    // Limites de segurança para apostas
-    private static final BigDecimal MAX_DAILY_AMOUNT = new BigDecimal("5000.00");
-    private static final int MAX_DAILY_BETS = 20;
-    private static final BigDecimal MAX_SINGLE_BET = new BigDecimal("2000.00");
-
-    public BetServiceImpl(BetRepository betRepository, UserRepository userRepository) {
+    private final BetLedger betLedger;
+    private final LimitEvaluator limitEvaluator;
+    private final Validator validator;
+    private final BetIngestionPipeline ingestionPipeline;
+    private final BetStatsService betStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StakeSketchStore stakeSketchStore;
+    private final EntityCounters entityCounters;
+
+    public BetServiceImpl(BetRepository betRepository, UserRepository userRepository,
+                          BetLedger betLedger, LimitEvaluator limitEvaluator,
+                          Validator validator, BetIngestionPipeline ingestionPipeline,
+                          BetStatsService betStatsService, ApplicationEventPublisher eventPublisher,
+                          StakeSketchStore stakeSketchStore, EntityCounters entityCounters) {
         this.betRepository = betRepository;
         this.userRepository = userRepository;
+        this.betLedger = betLedger;
+        this.limitEvaluator = limitEvaluator;
+        this.validator = validator;
+        this.ingestionPipeline = ingestionPipeline;
+        this.betStatsService = betStatsService;
+        this.eventPublisher = eventPublisher;
+        this.stakeSketchStore = stakeSketchStore;
+        this.entityCounters = entityCounters;
     }
 
     @Override
@@ -47,86 +100,217 @@ public class BetServiceImpl implements BetService {
         User user = userRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + dto.getUserId()));
 
-        // Validar regras de negócio
-        validateBetCreation(dto.getUserId(), dto.getAmount());
+        // Validar regras de negócio e reservar o valor nos limites diários
+        reserveLimits(dto.getUserId(), dto.getType(), dto.getAmount());
+
+        // Comparar com o valor habitual do usuário (sketch em memória, sem consultar o histórico)
+        boolean anomalous = stakeSketchStore.isAnomalous(user.getId(), dto.getAmount());
 
         // Converter DTO para entidade
         Bet bet = BetMapper.toEntity(dto, user);
 
-        // Salvar no banco
-        Bet savedBet = betRepository.save(bet);
-        System.out.println("Bet created with ID: " + savedBet.getId());
+        // Salvar no banco (flush imediato para o timestamp de criação já vir preenchido)
+        Bet savedBet = betRepository.saveAndFlush(bet);
+        betStatsService.record(user.getId(), savedBet.getTimestamp(), savedBet.getAmount(), 1);
+        eventPublisher.publishEvent(BetEvent.created(savedBet.getId(), user.getId(), savedBet.getType(),
+                savedBet.getTimestamp(), savedBet.getAmount()));
+        System.out.println("Bet created with ID: " + savedBet.getId() + (anomalous ? " (anomalous amount)" : ""));
+
+        BetResponseDTO response = BetMapper.toResponseDTO(savedBet);
+        response.setAnomalous(anomalous);
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public BetBatchResponseDTO createBatch(List<BetCreateDTO> dtos) {
+        // Carregar todos os usuários do lote em uma única consulta
+        Set<Long> userIds = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(BetCreateDTO::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Validar cada item; as reservas acumulam, então os limites valem para o lote inteiro
+        BetBatchItemResultDTO[] results = new BetBatchItemResultDTO[dtos.size()];
+        List<Bet> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            BetCreateDTO dto = dtos.get(i);
+            String reason = batchRejectionReason(dto, users);
+            if (reason != null) {
+                results[i] = BetBatchItemResultDTO.rejected(i, reason);
+                continue;
+            }
+            accepted.add(BetMapper.toEntity(dto, users.get(dto.getUserId())));
+            acceptedIndexes.add(i);
+        }
+
+        // Um único flush: o Hibernate agrupa os INSERTs em batches JDBC
+        List<Bet> savedBets = betRepository.saveAll(accepted);
+        betRepository.flush();
+        for (int i = 0; i < savedBets.size(); i++) {
+            Bet savedBet = savedBets.get(i);
+            betStatsService.record(savedBet.getUser().getId(), savedBet.getTimestamp(), savedBet.getAmount(), 1);
+            eventPublisher.publishEvent(BetEvent.created(savedBet.getId(), savedBet.getUser().getId(),
+                    savedBet.getType(), savedBet.getTimestamp(), savedBet.getAmount()));
+
+            int index = acceptedIndexes.get(i);
+            results[index] = BetBatchItemResultDTO.created(index, BetMapper.toResponseDTO(savedBet));
+        }
 
-        return BetMapper.toResponseDTO(savedBet);
+        return new BetBatchResponseDTO(List.of(results));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BetIngestionStatusDTO submit(BetCreateDTO dto) {
+        if (!ingestionPipeline.isEnabled()) {
+            throw new IngestionRejectedException("Asynchronous bet ingestion is disabled");
+        }
+
+        if (!userRepository.existsById(dto.getUserId())) {
+            throw new EntityNotFoundException("User not found with ID: " + dto.getUserId());
+        }
+
+        // A reserva fica valendo até o pipeline gravar a aposta (ou é desfeita se falhar)
+        LimitDecision decision = limitEvaluator.reserve(dto.getUserId(), dto.getType(), dto.getAmount());
+        if (!decision.isAllowed()) {
+            throw new BetLimitExceededException(decision);
+        }
+
+        return ingestionPipeline.enqueue(dto);
+    }
+
+    @Override
+    public BetIngestionStatusDTO getIngestionStatus(String trackingId) {
+        BetIngestionStatusDTO status = ingestionPipeline.getStatus(trackingId);
+        if (status == null) {
+            throw new EntityNotFoundException("No queued bet found with tracking ID: " + trackingId);
+        }
+        return status;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<BetResponseDTO> findAll(Pageable pageable) {
-        return betRepository.findAll(pageable)
-                .map(BetMapper::toResponseDTO);
+        // Total vem do contador mantido, sem COUNT(*) por página
+        return PageableExecutionUtils.getPage(betRepository.findPageAsDto(pageable), pageable, entityCounters::bets);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BetResponseDTO> findAll() {
-        return betRepository.findAll()
+    public CursorPageDTO<BetResponseDTO> findSlice(String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, KeysetCursor.pageSize(size));
+        Slice<BetResponseDTO> slice = position == null
+                ? betRepository.findFirstSlice(limit)
+                : betRepository.findSliceBefore(position.requireTimestamp(cursor), position.getId(), limit);
+        return toCursorPage(slice);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<BetResponseDTO> consumer) {
+        // DTOs não entram no contexto de persistência: o uso de memória não cresce com a tabela
+        try (Stream<BetResponseDTO> bets = betRepository.streamAllAsDto()) {
+            bets.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BetResponseDTO findById(Long id) {
+        return betRepository.findByIdAsDto(id)
+                .orElseThrow(() -> new EntityNotFoundException("Bet not found with ID: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LookupItemDTO<BetResponseDTO>> findAllById(List<Long> ids) {
+        // Uma consulta IN (IDs repetidos só uma vez); a resposta volta na ordem pedida
+        Map<Long, BetResponseDTO> bets = betRepository.findAllByIdAsDto(new HashSet<>(ids))
                 .stream()
-                .map(BetMapper::toResponseDTO)
+                .collect(Collectors.toMap(BetResponseDTO::getId, Function.identity()));
+
+        return ids.stream()
+                .map(id -> LookupItemDTO.of(id, bets.get(id)))
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public BetResponseDTO findById(Long id) {
-        Bet bet = betRepository.findById(id)
+    public ResourceVersionDTO getVersion(Long id) {
+        BetVersionView version = betRepository.findVersionById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Bet not found with ID: " + id));
 
-        return BetMapper.toResponseDTO(bet);
+        // A resposta traz nome e email do usuário, então a versão dele também entra no ETag
+        return new ResourceVersionDTO("b" + id + "-" + version.getVersion() + "-" + version.getUserVersion(),
+                isSettled(version.getStatus()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO getUserBetsVersion(Long userId) {
+        return betRepository.findBetsVersionByUserId(userId)
+                .map(version -> new ResourceVersionDTO("ub" + userId + "-" + version.getUserVersion() + "-" +
+                        version.getBets() + "-" + version.getVersionSum() + "-" + version.getMaxBetId(), false))
+                .orElseGet(() -> new ResourceVersionDTO(null, false));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BetResponseDTO> findByUserId(Long userId) {
-        return betRepository.findByUserId(userId)
-                .stream()
-                .map(BetMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return betRepository.findByUserIdAsDto(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<BetResponseDTO> findByUserId(Long userId, Pageable pageable) {
-        return betRepository.findByUserId(userId, pageable)
-                .map(BetMapper::toResponseDTO);
+        return betRepository.findByUserIdAsDto(userId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BetResponseDTO> findSliceByUserId(Long userId, String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, KeysetCursor.pageSize(size));
+        Slice<BetResponseDTO> slice = position == null
+                ? betRepository.findFirstSliceByUserId(userId, limit)
+                : betRepository.findSliceByUserIdBefore(userId, position.requireTimestamp(cursor),
+                        position.getId(), limit);
+        return toCursorPage(slice);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BetResponseDTO> search(BetSearchDTO filters, String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        LocalDateTime beforeTimestamp = position != null ? position.requireTimestamp(cursor) : null;
+        Long beforeId = position != null ? position.getId() : null;
+        return toCursorPage(betRepository.search(filters, beforeTimestamp, beforeId, KeysetCursor.pageSize(size)));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BetResponseDTO> findByType(String type) {
-        return betRepository.findByType(type.toUpperCase())
-                .stream()
-                .map(BetMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return betRepository.findByTypeAsDto(type.toUpperCase());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BetResponseDTO> findByStatus(String status) {
-        return betRepository.findByStatus(status.toUpperCase())
-                .stream()
-                .map(BetMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return betRepository.findByStatusAsDto(status.toUpperCase());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BetResponseDTO> findRecentBetsByUserId(Long userId) {
         LocalDateTime yesterday = LocalDateTime.now().minusHours(24);
-        return betRepository.findByUserIdAndTimestampAfter(userId, yesterday)
-                .stream()
-                .map(BetMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return betRepository.findByUserIdAndTimestampAfterAsDto(userId, yesterday);
     }
 
     @Override
@@ -134,21 +318,29 @@ public class BetServiceImpl implements BetService {
     public BetResponseDTO update(Long id, BetUpdateDTO dto) {
         System.out.println("Updating bet ID: " + id);
 
-        Bet existingBet = betRepository.findById(id)
+        Bet existingBet = betRepository.findWithUserById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Bet not found with ID: " + id));
 
         // Validar se a aposta pode ser atualizada
-        if ("WON".equals(existingBet.getStatus()) || "LOST".equals(existingBet.getStatus())) {
-            throw new IllegalStateException("Cannot update bet with status: " + existingBet.getStatus());
+        if (isSettled(existingBet.getStatus())) {
+            throw new BetAlreadySettledException("Cannot update bet with status: " + existingBet.getStatus());
         }
 
         // Validar novo valor se fornecido
         if (dto.getAmount() != null) {
-            validateBetAmount(dto.getAmount());
+            LimitDecision decision = limitEvaluator.checkAmount(dto.getAmount());
+            if (!decision.isAllowed()) {
+                throw new BetLimitExceededException(decision);
+            }
         }
 
+        String previousType = existingBet.getType();
+        BigDecimal previousAmount = countedAmount(existingBet);
+        int previousCount = countedBets(existingBet);
+
         BetMapper.updateEntity(existingBet, dto);
         Bet updatedBet = betRepository.save(existingBet);
+        recordChange(updatedBet, previousType, previousAmount, previousCount);
 
         System.out.println("Bet updated successfully");
         return BetMapper.toResponseDTO(updatedBet);
@@ -157,11 +349,20 @@ public class BetServiceImpl implements BetService {
     @Override
     @Transactional
     public BetResponseDTO updateStatus(Long id, String status) {
-        Bet bet = betRepository.findById(id)
+        Bet bet = betRepository.findWithUserById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Bet not found with ID: " + id));
 
+        // Aposta liquidada é servida como imutável: o status não muda mais
+        if (isSettled(bet.getStatus()) && !bet.getStatus().equals(status.toUpperCase())) {
+            throw new BetAlreadySettledException("Cannot change status of bet with status: " + bet.getStatus());
+        }
+
+        BigDecimal previousAmount = countedAmount(bet);
+        int previousCount = countedBets(bet);
+
         bet.setStatus(status.toUpperCase());
         Bet updatedBet = betRepository.save(bet);
+        recordChange(updatedBet, updatedBet.getType(), previousAmount, previousCount);
 
         return BetMapper.toResponseDTO(updatedBet);
     }
@@ -171,11 +372,16 @@ public class BetServiceImpl implements BetService {
     public void delete(Long id) {
         System.out.println("Deleting bet ID: " + id);
 
-        if (!betRepository.existsById(id)) {
-            throw new EntityNotFoundException("Bet not found with ID: " + id);
-        }
+        Bet bet = betRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Bet not found with ID: " + id));
+
+        BigDecimal previousAmount = countedAmount(bet);
+        int previousCount = countedBets(bet);
 
-        betRepository.deleteById(id);
+        betRepository.delete(bet);
+        entityCounters.addBets(-1);
+        bet.setStatus("CANCELLED"); // deixa de contar no ledger
+        recordChange(bet, bet.getType(), previousAmount, previousCount);
         System.out.println("Bet deleted successfully");
     }
 
@@ -199,6 +405,12 @@ public class BetServiceImpl implements BetService {
         return total != null ? total : BigDecimal.ZERO;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return entityCounters.bets();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public long countByUserId(Long userId) {
@@ -211,47 +423,158 @@ public class BetServiceImpl implements BetService {
         return betRepository.countByUserIdAndTimestampAfter(userId, since);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getDailyAmountByUserId(Long userId) {
+        return betLedger.getDailyAmount(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countDailyBetsByUserId(Long userId) {
+        return betLedger.getDailyCount(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LimitDecision evaluateBet(Long userId, String type, BigDecimal amount) {
+        return limitEvaluator.evaluate(userId, type, amount);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean canUserBet(Long userId, BigDecimal amount) {
+        return limitEvaluator.evaluate(userId, null, amount).isAllowed();
+    }
+
+    // Motivo da rejeição de um item do lote, ou null se ele foi aceito (e reservado)
+    private String batchRejectionReason(BetCreateDTO dto, Map<Long, User> users) {
+        if (dto == null) {
+            return "Bet is required";
+        }
+        Set<ConstraintViolation<BetCreateDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!users.containsKey(dto.getUserId())) {
+            return "User not found with ID: " + dto.getUserId();
+        }
+
+        LimitDecision decision;
         try {
-            validateBetCreation(userId, amount);
-            return true;
-        } catch (Exception e) {
-            return false;
+            decision = limitEvaluator.reserve(dto.getUserId(), dto.getType(), dto.getAmount());
+        } catch (LimitsUnavailableException e) {
+            // Só este item: o próprio lote pode ter reservas do usuário ainda não gravadas
+            return e.getMessage();
         }
+        if (!decision.isAllowed()) {
+            return decision.getMessage();
+        }
+        settleOnCompletion(dto.getUserId(), dto.getType(), dto.getAmount());
+        return null;
     }
 
-    // Métodos privados de validação
-    private void validateBetCreation(Long userId, BigDecimal amount) {
-        validateBetAmount(amount);
-        validateDailyLimits(userId, amount);
+    // Reserva atomicamente o valor no ledger; a reserva é desfeita se a transação não for confirmada
+    private void reserveLimits(Long userId, String type, BigDecimal amount) {
+        LimitDecision decision = limitEvaluator.reserve(userId, type, amount);
+        if (!decision.isAllowed()) {
+            throw new BetLimitExceededException(decision);
+        }
+        settleOnCompletion(userId, type, amount);
     }
 
-    private void validateBetAmount(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ONE) < 0) {
-            throw new IllegalArgumentException("Minimum bet amount is R$ 1.00");
+    // Commit: a reserva deixa de ser pendente; rollback: a reserva é desfeita
+    private void settleOnCompletion(Long userId, String type, BigDecimal amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            limitEvaluator.confirm(userId, type, amount);
+            return;
         }
-        if (amount.compareTo(MAX_SINGLE_BET) > 0) {
-            throw new IllegalArgumentException("Maximum single bet amount is R$ " + MAX_SINGLE_BET);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    limitEvaluator.confirm(userId, type, amount);
+                } else {
+                    limitEvaluator.release(userId, type, amount);
+                }
+            }
+        });
+    }
+
+    // Próximo cursor = (timestamp, id) da última aposta da fatia
+    private static CursorPageDTO<BetResponseDTO> toCursorPage(Slice<BetResponseDTO> slice) {
+        List<BetResponseDTO> bets = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            BetResponseDTO last = bets.get(bets.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getTimestamp(), last.getId());
         }
+        return new CursorPageDTO<>(bets, bets.size(), slice.hasNext(), nextCursor);
     }
 
-    private void validateDailyLimits(Long userId, BigDecimal newAmount) {
-        LocalDateTime today = LocalDateTime.now().minusHours(24);
+    // WON/LOST: status terminal
+    private static boolean isSettled(String status) {
+        return "WON".equals(status) || "LOST".equals(status);
+    }
+
+    // Apostas canceladas não contam para os limites
+    private static BigDecimal countedAmount(Bet bet) {
+        return countedBets(bet) == 1 ? bet.getAmount() : BigDecimal.ZERO;
+    }
+
+    private static int countedBets(Bet bet) {
+        return "CANCELLED".equals(bet.getStatus()) ? 0 : 1;
+    }
+
+    // Propaga a diferença entre o estado anterior e o atual da aposta:
+    // o rollup é atualizado na transação e o ledger só após o commit.
+    // Se o tipo mudou, o ledger tira a aposta do tipo antigo e a coloca no novo.
+    private void recordChange(Bet bet, String previousType, BigDecimal previousAmount, int previousCount) {
+        BigDecimal currentAmount = countedAmount(bet);
+        int currentCount = countedBets(bet);
+        BigDecimal amountDelta = currentAmount.subtract(previousAmount);
+        int countDelta = currentCount - previousCount;
+        boolean typeChanged = !Objects.equals(previousType, bet.getType()) && (previousCount != 0 || currentCount != 0);
+        if (amountDelta.signum() == 0 && countDelta == 0 && !typeChanged) {
+            return;
+        }
 
-        // Verificar limite diário de valor
-        BigDecimal dailyTotal = getTotalAmountByUserIdSince(userId, today);
-        if (dailyTotal.add(newAmount).compareTo(MAX_DAILY_AMOUNT) > 0) {
-            throw new IllegalArgumentException("Daily betting limit exceeded. Limit: R$ " + MAX_DAILY_AMOUNT +
-                    ", Current: R$ " + dailyTotal + ", Attempted: R$ " + newAmount);
+        Long userId = bet.getUser().getId();
+        String type = bet.getType();
+        LocalDateTime timestamp = bet.getTimestamp() != null ? bet.getTimestamp() : LocalDateTime.now();
+        if (amountDelta.signum() != 0 || countDelta != 0) {
+            betStatsService.record(userId, timestamp, amountDelta, countDelta);
+            BetEvent.Kind kind = countDelta < 0 ? BetEvent.Kind.CANCELLED : BetEvent.Kind.UPDATED;
+            eventPublisher.publishEvent(new BetEvent(kind, bet.getId(), userId, type, timestamp,
+                    amountDelta, countDelta));
         }
 
-        // Verificar limite diário de número de apostas
-        long dailyCount = countByUserIdSince(userId, today);
-        if (dailyCount >= MAX_DAILY_BETS) {
-            throw new IllegalArgumentException("Daily bet count limit exceeded. Limit: " + MAX_DAILY_BETS +
-                    ", Current: " + dailyCount);
+        Runnable ledgerUpdate = () -> {
+            if (typeChanged) {
+                betLedger.record(userId, timestamp, previousType, previousAmount.negate(), -previousCount);
+                betLedger.record(userId, timestamp, type, currentAmount, currentCount);
+            } else {
+                betLedger.record(userId, timestamp, type, amountDelta, countDelta);
+            }
+        };
+        // Em andamento até o fim da transação: uma extensão da janela não aceita leituras feitas nesse meio-tempo
+        UserBetWindow changing = betLedger.beginChange(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ledgerUpdate.run();
+            betLedger.endChange(changing);
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    ledgerUpdate.run();
+                }
+                betLedger.endChange(changing);
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package br.com.fiap.consciousbet.serviceimpl;
+
+import br.com.fiap.consciousbet.dto.BetStatsRebuildResultDTO;
+import br.com.fiap.consciousbet.dto.UserBetStatsDTO;
+import br.com.fiap.consciousbet.entity.UserBetStats;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import br.com.fiap.consciousbet.repository.BetTotalsView;
+import br.com.fiap.consciousbet.repository.UserBetStatsHourlyRepository;
+import br.com.fiap.consciousbet.repository.UserBetStatsRepository;
+import br.com.fiap.consciousbet.repository.UserRepository;
+import br.com.fiap.consciousbet.service.BetStatsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Service
+@Transactional
+public class BetStatsServiceImpl implements BetStatsService {
+
+    private final UserBetStatsRepository statsRepository;
+    private final UserBetStatsHourlyRepository hourlyRepository;
+    private final UserRepository userRepository;
+    private final BetRepository betRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildParallelism;
+    private final long rebuildPartitionSize;
+
+    public BetStatsServiceImpl(UserBetStatsRepository statsRepository,
+                               UserBetStatsHourlyRepository hourlyRepository,
+                               UserRepository userRepository,
+                               BetRepository betRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${consciousbet.stats.rebuild-parallelism:4}") int rebuildParallelism,
+                               @Value("${consciousbet.stats.rebuild-partition-size:5000}") long rebuildPartitionSize) {
+        this.statsRepository = statsRepository;
+        this.hourlyRepository = hourlyRepository;
+        this.userRepository = userRepository;
+        this.betRepository = betRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildParallelism = rebuildParallelism;
+        this.rebuildPartitionSize = rebuildPartitionSize;
+    }
+
+    @Override
+    @Transactional
+    public void record(Long userId, LocalDateTime timestamp, BigDecimal amount, int bets) {
+        statsRepository.applyDelta(userId, amount, bets);
+        LocalDateTime hourStart = (timestamp != null ? timestamp : LocalDateTime.now()).truncatedTo(ChronoUnit.HOURS);
+        hourlyRepository.applyDelta(userId, hourStart, amount, bets);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserBetStatsDTO getStats(Long userId) {
+        UserBetStats stats = statsRepository.findById(userId).orElse(null);
+        BigDecimal totalAmount = stats != null ? stats.getTotalAmount() : BigDecimal.ZERO;
+        long totalBets = stats != null ? stats.getTotalBets() : 0;
+
+        // Últimos 24 buckets de hora, incluindo a hora corrente
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(23);
+        BetTotalsView daily = hourlyRepository.sumByUserIdSince(userId, since);
+
+        BigDecimal average = totalBets > 0
+                ? totalAmount.divide(BigDecimal.valueOf(totalBets), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return new UserBetStatsDTO(userId, totalAmount, totalBets,
+                daily.getAmount(), daily.getBets(), average);
+    }
+
+    // Divide o intervalo de IDs de usuário em faixas e reconstrói cada uma em paralelo, em sua própria transação
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BetStatsRebuildResultDTO rebuild() {
+        long start = System.currentTimeMillis();
+        Long minId = userRepository.findMinId();
+        Long maxId = userRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return new BetStatsRebuildResultDTO(0, 0, 0, System.currentTimeMillis() - start);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism);
+        try {
+            List<Future<long[]>> partitions = new ArrayList<>();
+            for (long from = minId; from <= maxId; from += rebuildPartitionSize) {
+                long fromId = from;
+                long toId = Math.min(from + rebuildPartitionSize - 1, maxId);
+                partitions.add(executor.submit(() -> rebuildRange(fromId, toId)));
+            }
+
+            long users = 0;
+            long buckets = 0;
+            for (Future<long[]> partition : partitions) {
+                long[] counts = partition.get();
+                users += counts[0];
+                buckets += counts[1];
+            }
+
+            long duration = System.currentTimeMillis() - start;
+            System.out.println("Bet stats rebuilt: " + partitions.size() + " partitions, " + users +
+                    " users, " + buckets + " hourly buckets in " + duration + " ms");
+            return new BetStatsRebuildResultDTO(partitions.size(), users, buckets, duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bet stats rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Bet stats rebuild failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Rollup vazio com apostas já gravadas (banco anterior ao rollup): carga inicial na subida,
+    // para as estatísticas não saírem zeradas até alguém chamar POST /api/bets/stats/rebuild
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillIfEmpty() {
+        if (statsRepository.count() > 0 || !betRepository.existsByStatusNot("CANCELLED")) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            System.out.println("Initial bet stats backfill failed: " + e.getMessage());
+        }
+    }
+
+    private long[] rebuildRange(long fromId, long toId) {
+        return transactionTemplate.execute(status -> {
+            statsRepository.deleteRange(fromId, toId);
+            hourlyRepository.deleteRange(fromId, toId);
+            long users = statsRepository.rebuildRange(fromId, toId);
+            long buckets = hourlyRepository.rebuildRange(fromId, toId);
+            return new long[]{users, buckets};
+        });
+    }
+}
@@ -0,0 +1,202 @@
+package br.com.fiap.consciousbet.serviceimpl;
+
+import br.com.fiap.consciousbet.dto.BetCreateDTO;
+import br.com.fiap.consciousbet.dto.BetResponseDTO;
+import br.com.fiap.consciousbet.dto.IdempotentBetResult;
+import br.com.fiap.consciousbet.entity.IdempotencyRecord;
+import br.com.fiap.consciousbet.exception.IdempotencyConflictException;
+import br.com.fiap.consciousbet.repository.IdempotencyRecordRepository;
+import br.com.fiap.consciousbet.service.BetService;
+import br.com.fiap.consciousbet.service.IdempotencyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Idempotência de POST /api/bets: resultados recentes ficam num cache LRU com expiração,
+// a tabela idempotency_keys cobre o que saiu do cache, e duplicatas simultâneas esperam a original.
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final BetService betService;
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final long waitTimeoutMs;
+    private final Map<String, CachedResult> cache;
+    private final ConcurrentHashMap<String, CompletableFuture<CachedResult>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImpl(BetService betService,
+                                  IdempotencyRecordRepository recordRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${consciousbet.idempotency.cache-size:10000}") int cacheSize,
+                                  @Value("${consciousbet.idempotency.ttl-hours:24}") long ttlHours,
+                                  @Value("${consciousbet.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        this.betService = betService;
+        this.recordRepository = recordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public IdempotentBetResult createBet(String idempotencyKey, BetCreateDTO dto) {
+        String requestHash = fingerprint(dto);
+
+        CachedResult cached = getCached(idempotencyKey);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        // Só uma requisição por chave executa; as demais esperam o resultado dela
+        CompletableFuture<CachedResult> future = new CompletableFuture<>();
+        CompletableFuture<CachedResult> original = inFlight.putIfAbsent(idempotencyKey, future);
+        if (original != null) {
+            return replay(await(original), requestHash);
+        }
+
+        try {
+            CachedResult result = getCached(idempotencyKey);
+            boolean replayed = true;
+            if (result == null) {
+                result = loadRecord(idempotencyKey);
+            }
+            if (result == null) {
+                result = execute(idempotencyKey, dto, requestHash);
+                replayed = result.replayed;
+            }
+
+            putCached(idempotencyKey, result);
+            future.complete(result);
+            return replayed ? replay(result, requestHash) : new IdempotentBetResult(result.bet, false);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, future);
+        }
+    }
+
+    // Remove chaves expiradas da tabela
+    @Scheduled(fixedDelay = 3_600_000)
+    public void purgeExpired() {
+        transactionTemplate.executeWithoutResult(status ->
+                recordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl)));
+    }
+
+    // Cria a aposta e grava a chave na mesma transação. A chave é só inserida (nunca atualizada):
+    // se outra instância já a gravou, o INSERT viola a chave primária e a aposta desta transação é desfeita.
+    private CachedResult execute(String idempotencyKey, BetCreateDTO dto, String requestHash) {
+        try {
+            BetResponseDTO bet = transactionTemplate.execute(status -> {
+                recordRepository.deleteExpired(idempotencyKey, LocalDateTime.now().minus(ttl));
+                BetResponseDTO created = betService.create(dto);
+                recordRepository.saveAndFlush(new IdempotencyRecord(idempotencyKey, requestHash, created.getId()));
+                return created;
+            });
+            return new CachedResult(bet, requestHash, false);
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância gravou a mesma chave primeiro: nossa transação foi desfeita, devolve a dela
+            CachedResult existing = loadRecord(idempotencyKey);
+            if (existing == null) {
+                throw e;
+            }
+            return existing;
+        }
+    }
+
+    private CachedResult loadRecord(String idempotencyKey) {
+        return recordRepository.findById(idempotencyKey)
+                .filter(record -> record.getCreatedAt() == null || record.getCreatedAt().isAfter(LocalDateTime.now().minus(ttl)))
+                .map(record -> new CachedResult(betService.findById(record.getBetId()), record.getRequestHash(), true))
+                .orElse(null);
+    }
+
+    private CachedResult await(CompletableFuture<CachedResult> original) {
+        try {
+            return original.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private IdempotentBetResult replay(CachedResult result, String requestHash) {
+        if (!result.requestHash.equals(requestHash)) {
+            throw new IdempotencyConflictException("Idempotency-Key was already used with a different request body");
+        }
+        return new IdempotentBetResult(result.bet, true);
+    }
+
+    private CachedResult getCached(String idempotencyKey) {
+        synchronized (cache) {
+            CachedResult result = cache.get(idempotencyKey);
+            if (result != null && result.storedAt.isBefore(LocalDateTime.now().minus(ttl))) {
+                cache.remove(idempotencyKey);
+                return null;
+            }
+            return result;
+        }
+    }
+
+    private void putCached(String idempotencyKey, CachedResult result) {
+        synchronized (cache) {
+            cache.put(idempotencyKey, result);
+        }
+    }
+
+    private static String fingerprint(BetCreateDTO dto) {
+        String canonical = dto.getUserId() + "|" +
+                (dto.getAmount() != null ? dto.getAmount().stripTrailingZeros().toPlainString() : "") + "|" +
+                (dto.getType() != null ? dto.getType().toUpperCase() : "") + "|" +
+                (dto.getDescription() != null ? dto.getDescription() : "");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CachedResult {
+        private final BetResponseDTO bet;
+        private final String requestHash;
+        private final boolean replayed;
+        private final LocalDateTime storedAt = LocalDateTime.now();
+
+        private CachedResult(BetResponseDTO bet, String requestHash, boolean replayed) {
+            this.bet = bet;
+            this.requestHash = requestHash;
+            this.replayed = replayed;
+        }
+    }
+}
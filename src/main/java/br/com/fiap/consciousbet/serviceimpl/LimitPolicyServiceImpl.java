@@ -0,0 +1,98 @@
+package br.com.fiap.consciousbet.serviceimpl;
+
+import br.com.fiap.consciousbet.dto.LimitPolicyDTO;
+import br.com.fiap.consciousbet.dto.LimitPolicyResponseDTO;
+import br.com.fiap.consciousbet.entity.BetLimitPolicy;
+import br.com.fiap.consciousbet.ledger.BetTypes;
+import br.com.fiap.consciousbet.ledger.LimitPolicyCache;
+import br.com.fiap.consciousbet.mapper.LimitPolicyMapper;
+import br.com.fiap.consciousbet.repository.BetLimitPolicyRepository;
+import br.com.fiap.consciousbet.repository.UserRepository;
+import br.com.fiap.consciousbet.service.LimitPolicyService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class LimitPolicyServiceImpl implements LimitPolicyService {
+
+    private final BetLimitPolicyRepository policyRepository;
+    private final UserRepository userRepository;
+    private final LimitPolicyCache policyCache;
+
+    public LimitPolicyServiceImpl(BetLimitPolicyRepository policyRepository,
+                                  UserRepository userRepository,
+                                  LimitPolicyCache policyCache) {
+        this.policyRepository = policyRepository;
+        this.userRepository = userRepository;
+        this.policyCache = policyCache;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LimitPolicyResponseDTO> findByUserId(Long userId) {
+        ensureUserExists(userId);
+        return policyRepository.findByUserIdAndActiveTrue(userId)
+                .stream()
+                .map(LimitPolicyMapper::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public LimitPolicyResponseDTO upsert(Long userId, LimitPolicyDTO dto) {
+        System.out.println("Saving " + dto.getPeriod() + " limit policy for user ID: " + userId);
+        ensureUserExists(userId);
+
+        String betType = dto.getBetType() != null ? dto.getBetType() : BetTypes.ALL;
+        BetLimitPolicy policy = policyRepository.findByUserIdAndPeriodAndBetType(userId, dto.getPeriod(), betType)
+                .orElseGet(() -> new BetLimitPolicy(userId, dto.getPeriod(), betType));
+        LimitPolicyMapper.updateEntity(policy, dto);
+
+        BetLimitPolicy savedPolicy = policyRepository.saveAndFlush(policy);
+        invalidateAfterCommit(userId);
+        return LimitPolicyMapper.toResponseDTO(savedPolicy);
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long userId, Long policyId) {
+        System.out.println("Removing limit policy ID: " + policyId + " for user ID: " + userId);
+
+        BetLimitPolicy policy = policyRepository.findById(policyId)
+                .filter(p -> p.getUserId().equals(userId) && p.isActive())
+                .orElseThrow(() -> new EntityNotFoundException("Limit policy not found with ID: " + policyId));
+
+        // Desativar em vez de apagar: a mudança de updated_at avisa as outras instâncias
+        policy.setActive(false);
+        policyRepository.save(policy);
+        invalidateAfterCommit(userId);
+    }
+
+    private void ensureUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found with ID: " + userId);
+        }
+    }
+
+    // A política compilada só é descartada quando a alteração já está visível no banco;
+    // a versão é lida na transação, já com a alteração
+    private void invalidateAfterCommit(Long userId) {
+        long version = policyRepository.findVersionByUserId(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            policyCache.invalidate(userId, version);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                policyCache.invalidate(userId, version);
+            }
+        });
+    }
+}
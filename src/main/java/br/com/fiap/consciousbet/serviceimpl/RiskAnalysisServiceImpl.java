@@ -1,44 +1,89 @@
 package br.com.fiap.consciousbet.serviceimpl;
 
 import br.com.fiap.consciousbet.dto.AlertResponse;
-import br.com.fiap.consciousbet.entity.Bet;
-import br.com.fiap.consciousbet.repository.BetRepository;
+import br.com.fiap.consciousbet.ledger.BetLedger;
+import br.com.fiap.consciousbet.repository.UserRepository;
+import br.com.fiap.consciousbet.risk.RiskAlertHub;
+import br.com.fiap.consciousbet.risk.RiskFeatures;
+import br.com.fiap.consciousbet.risk.RiskLevel;
+import br.com.fiap.consciousbet.risk.RiskLevelChangedEvent;
+import br.com.fiap.consciousbet.risk.RiskSnapshot;
+import br.com.fiap.consciousbet.risk.RiskStateStore;
+import br.com.fiap.consciousbet.risk.StakeAnomaly;
+import br.com.fiap.consciousbet.risk.StakeSketchStore;
 import br.com.fiap.consciousbet.service.RiskAnalysisService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 public class RiskAnalysisServiceImpl implements RiskAnalysisService {
 
-    private final BetRepository betRepo;
+    private static final String ALERT_EVENT = "alert";
+
+    private final RiskStateStore riskStateStore;
+    private final RiskAlertHub riskAlertHub;
+    private final StakeSketchStore stakeSketchStore;
+    private final UserRepository userRepository;
 
-    public RiskAnalysisServiceImpl(BetRepository betRepo) {
-        this.betRepo = betRepo;
+    public RiskAnalysisServiceImpl(RiskStateStore riskStateStore, RiskAlertHub riskAlertHub,
+                                   StakeSketchStore stakeSketchStore, UserRepository userRepository) {
+        this.riskStateStore = riskStateStore;
+        this.riskAlertHub = riskAlertHub;
+        this.stakeSketchStore = stakeSketchStore;
+        this.userRepository = userRepository;
     }
 
     @Override
     public AlertResponse analyze(Long userId) {
-        LocalDateTime since = LocalDateTime.now().minusHours(24);
-        List<Bet> recentBets = betRepo.findByUserIdAndTimestampAfter(userId, since);
+        // Estado incremental em memória (reconciliado com o banco só se ainda não carregado)
+        RiskSnapshot snapshot = riskStateStore.snapshot(userId);
+        return toAlert(snapshot, stakeSketchStore.recentAnomaly(userId));
+    }
 
-        // Usar BigDecimal em vez de double
-        BigDecimal total = recentBets.stream()
-                .map(Bet::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Override
+    public SseEmitter subscribe(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found with ID: " + userId);
+        }
+        SseEmitter emitter = riskAlertHub.subscribe(userId);
+        riskAlertHub.publish(userId, ALERT_EVENT, analyze(userId));
+        return emitter;
+    }
+
+    // Empurra o novo alerta para os assinantes do usuário
+    @EventListener
+    public void onRiskLevelChanged(RiskLevelChangedEvent event) {
+        if (riskAlertHub.hasSubscribers(event.getUserId())) {
+            riskAlertHub.publish(event.getUserId(), ALERT_EVENT,
+                    toAlert(event.getSnapshot(), stakeSketchStore.recentAnomaly(event.getUserId())));
+        }
+    }
+
+    // Aposta muito acima do habitual: alerta imediato, mesmo sem mudança de nível
+    @EventListener
+    public void onStakeAnomaly(StakeAnomaly anomaly) {
+        if (riskAlertHub.hasSubscribers(anomaly.getUserId())) {
+            riskAlertHub.publish(anomaly.getUserId(), ALERT_EVENT,
+                    toAlert(riskStateStore.snapshot(anomaly.getUserId()), anomaly));
+        }
+    }
 
-        // Converter para double apenas para comparação (ou usar BigDecimal.compareTo)
-        double totalValue = total.doubleValue();
-        int betCount = recentBets.size();
+    // Monta o alerta a partir do retrato de risco (nível calculado com as janelas de 1h, 24h, 7 e 30 dias)
+    // e da última aposta anômala das últimas 24h, se houver
+    static AlertResponse toAlert(RiskSnapshot snapshot, StakeAnomaly anomaly) {
+        // Converter para double apenas para a formatação das mensagens
+        double totalValue = BetLedger.fromCents(snapshot.getTotalCents()).doubleValue();
+        int betCount = snapshot.getBetCount();
+        RiskLevel level = snapshot.getLevel();
 
         // Critérios de risco mais específicos
-        if (betCount >= 5 || totalValue > 1000) {
+        if (level == RiskLevel.HIGH) {
             String message = String.format(
                     "Comportamento de risco detectado: %d apostas totalizando R$ %.2f nas últimas 24 horas.",
                     betCount, totalValue
-            );
+            ) + windowsSummary(snapshot.getFeatures()) + anomalySummary(anomaly);
 
             String suggestion = String.format(
                     "Com R$ %.2f, você poderia investir em um CDB que rende aproximadamente R$ %.2f por mês com liquidez diária.",
@@ -48,12 +93,20 @@ public class RiskAnalysisServiceImpl implements RiskAnalysisService {
             return new AlertResponse(true, message, suggestion);
         }
 
+        // Aposta muito acima do valor habitual
+        if (anomaly != null) {
+            String message = "Aposta fora do seu padrão detectada." + anomalySummary(anomaly);
+            String suggestion = "Apostas muito maiores que o habitual costumam indicar perda de controle. " +
+                    "Considere definir limites diários ou semanais em /api/limits.";
+            return new AlertResponse(true, message, suggestion);
+        }
+
         // Alerta preventivo para valores moderados
-        if (betCount >= 3 || totalValue > 500) {
+        if (level == RiskLevel.MODERATE) {
             String message = String.format(
                     "Atenção: %d apostas no valor de R$ %.2f hoje. Monitore seus gastos.",
                     betCount, totalValue
-            );
+            ) + windowsSummary(snapshot.getFeatures());
 
             String suggestion = "Considere estabelecer limites diários para suas apostas e explore alternativas de investimento.";
 
@@ -63,4 +116,22 @@ public class RiskAnalysisServiceImpl implements RiskAnalysisService {
         return new AlertResponse(false, "Nenhum comportamento de risco detectado.",
                 "Continue apostando com responsabilidade.");
     }
-}
\ No newline at end of file
+
+    // Resumo das janelas curtas e longas, que também pesam no nível de risco
+    private static String windowsSummary(RiskFeatures features) {
+        return String.format(
+                " Última hora: %d apostas. Últimos 7 dias: %d apostas (R$ %.2f). Últimos 30 dias: R$ %.2f.",
+                features.getBets1h(), features.getBets7d(),
+                BetLedger.fromCents(features.getCents7d()).doubleValue(),
+                BetLedger.fromCents(features.getCents30d()).doubleValue());
+    }
+
+    private static String anomalySummary(StakeAnomaly anomaly) {
+        if (anomaly == null) {
+            return "";
+        }
+        return String.format(" Aposta de R$ %.2f, muito acima do seu valor habitual (mediana de R$ %.2f).",
+                BetLedger.fromCents(anomaly.getAmountCents()).doubleValue(),
+                BetLedger.fromCents(anomaly.getMedianCents()).doubleValue());
+    }
+}
@@ -0,0 +1,202 @@
+package br.com.fiap.consciousbet.serviceimpl;
+
+import br.com.fiap.consciousbet.dto.RiskSweepStatusDTO;
+import br.com.fiap.consciousbet.ledger.BetLedger;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import br.com.fiap.consciousbet.repository.BetRiskAggregateView;
+import br.com.fiap.consciousbet.repository.UserRepository;
+import br.com.fiap.consciousbet.risk.RiskLevel;
+import br.com.fiap.consciousbet.risk.RiskSweepProgress;
+import br.com.fiap.consciousbet.service.RiskSweepService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Varredura de risco de toda a base: o intervalo de IDs de usuário é dividido recursivamente
+// em faixas; cada faixa lê um agregado agrupado por usuário (nunca as apostas em si),
+// calcula o nível de risco e grava o resultado em risk_snapshots na sua própria transação.
+// Todo usuário da faixa ganha uma linha, inclusive quem não apostou nas últimas 24h.
+@Service
+public class RiskSweepServiceImpl implements RiskSweepService {
+
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM risk_snapshots WHERE snapshot_date = ? AND user_id BETWEEN ? AND ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO risk_snapshots (snapshot_date, user_id, bet_count, total_amount, last_bet_at, " +
+                    "risk_level, computed_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final BetRepository betRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final long chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile RiskSweepProgress current;
+
+    public RiskSweepServiceImpl(BetRepository betRepository,
+                                UserRepository userRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${consciousbet.risk.sweep-parallelism:4}") int parallelism,
+                                @Value("${consciousbet.risk.sweep-chunk-size:5000}") long chunkSize) {
+        this.betRepository = betRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public RiskSweepStatusDTO start() {
+        if (!running.compareAndSet(false, true)) {
+            return getStatus();
+        }
+        RiskSweepProgress progress = prepare();
+        Thread worker = new Thread(() -> execute(progress), "risk-sweep");
+        worker.setDaemon(true);
+        worker.start();
+        return progress.toDTO();
+    }
+
+    // Relatório diário. Roda na thread própria da varredura: o agendador do Spring tem uma única
+    // thread, e os demais @Scheduled (monitor de réplicas, heartbeats, caches) não podem esperar por ela
+    @Scheduled(cron = "${consciousbet.risk.sweep-cron:0 0 3 * * *}")
+    public void scheduledRun() {
+        if (running.get()) {
+            System.out.println("Risk sweep already running, skipping");
+            return;
+        }
+        start();
+    }
+
+    @Override
+    public RiskSweepStatusDTO run() {
+        if (!running.compareAndSet(false, true)) {
+            System.out.println("Risk sweep already running, skipping");
+            return getStatus();
+        }
+        RiskSweepProgress progress = prepare();
+        execute(progress);
+        return progress.toDTO();
+    }
+
+    @Override
+    public RiskSweepStatusDTO getStatus() {
+        RiskSweepProgress progress = current;
+        return progress != null ? progress.toDTO() : RiskSweepStatusDTO.idle();
+    }
+
+    private RiskSweepProgress prepare() {
+        Long minId;
+        Long maxId;
+        try {
+            minId = userRepository.findMinId();
+            maxId = userRepository.findMaxId();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        long chunks = minId == null || maxId == null ? 0 : (maxId - minId) / chunkSize + 1;
+        RiskSweepProgress progress = new RiskSweepProgress(LocalDate.now(), minId, maxId, chunks);
+        current = progress;
+        return progress;
+    }
+
+    private void execute(RiskSweepProgress progress) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            LocalDateTime since = LocalDateTime.now().minusHours(24);
+            if (progress.getTotalChunks() > 0) {
+                pool.invoke(new SweepTask(progress, since, progress.getMinUserId(), progress.getMaxUserId()));
+            }
+            progress.completed();
+            RiskSweepStatusDTO result = progress.toDTO();
+            System.out.println("Risk sweep finished: " + result.getUserIdsScanned() + " user ids, " +
+                    result.getSnapshotsWritten() + " snapshots in " + result.getDurationMs() + " ms (" +
+                    result.getUserIdsPerSecond() + " ids/s)");
+        } catch (RuntimeException e) {
+            progress.failed(e.getMessage());
+            System.out.println("Risk sweep failed: " + e.getMessage());
+        } finally {
+            pool.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    // Agrega, pontua e grava uma faixa de IDs
+    private void sweepRange(RiskSweepProgress progress, LocalDateTime since, long from, long to) {
+        List<BetRiskAggregateView> rows = betRepository.aggregateByUserIdRangeSince(from, to, since);
+
+        Timestamp computedAt = Timestamp.valueOf(LocalDateTime.now());
+        Date snapshotDate = Date.valueOf(progress.getSnapshotDate());
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        long high = 0;
+        long moderate = 0;
+        for (BetRiskAggregateView row : rows) {
+            // Sem apostas no período: linha de base (LOW), para que o relatório cubra toda a base
+            BigDecimal amount = row.getAmount() != null ? row.getAmount() : BigDecimal.ZERO;
+            RiskLevel level = RiskLevel.of(row.getBets().intValue(), BetLedger.toCents(amount));
+            if (level == RiskLevel.HIGH) {
+                high++;
+            } else if (level == RiskLevel.MODERATE) {
+                moderate++;
+            }
+            batch.add(new Object[]{snapshotDate, row.getUserId(), row.getBets(), amount,
+                    row.getLastBetAt() != null ? Timestamp.valueOf(row.getLastBetAt()) : null,
+                    level.name(), computedAt});
+        }
+
+        // Reexecuções no mesmo dia substituem a faixa inteira
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_RANGE_SQL, snapshotDate, from, to);
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            }
+        });
+        progress.chunkDone(to - from + 1, batch.size(), high, moderate);
+    }
+
+    private final class SweepTask extends RecursiveAction {
+
+        private final RiskSweepProgress progress;
+        private final LocalDateTime since;
+        private final long from;
+        private final long to;
+
+        SweepTask(RiskSweepProgress progress, LocalDateTime since, long from, long to) {
+            this.progress = progress;
+            this.since = since;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            long chunks = (to - from) / chunkSize + 1;
+            if (chunks <= 1) {
+                sweepRange(progress, since, from, to);
+                return;
+            }
+            // Divide pelo número de faixas para que as folhas coincidam com as faixas contadas em totalChunks
+            long middle = from + (chunks / 2) * chunkSize;
+            invokeAll(new SweepTask(progress, since, from, middle - 1),
+                    new SweepTask(progress, since, middle, to));
+        }
+    }
+}
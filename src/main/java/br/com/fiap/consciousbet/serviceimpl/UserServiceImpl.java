@@ -1,30 +1,62 @@
 package br.com.fiap.consciousbet.serviceimpl;
 
+import br.com.fiap.consciousbet.counter.EntityCounters;
+import br.com.fiap.consciousbet.dto.CursorPageDTO;
+import br.com.fiap.consciousbet.dto.EmailFilterStatsDTO;
+import br.com.fiap.consciousbet.dto.LookupItemDTO;
+import br.com.fiap.consciousbet.dto.ResourceVersionDTO;
 import br.com.fiap.consciousbet.dto.UserCreateDTO;
 import br.com.fiap.consciousbet.dto.UserResponseDTO;
 import br.com.fiap.consciousbet.dto.UserUpdateDTO;
 import br.com.fiap.consciousbet.entity.User;
 import br.com.fiap.consciousbet.mapper.UserMapper;
+import br.com.fiap.consciousbet.pagination.KeysetCursor;
 import br.com.fiap.consciousbet.repository.UserRepository;
+import br.com.fiap.consciousbet.search.UserEmailCache;
+import br.com.fiap.consciousbet.search.UserEmailFilter;
+import br.com.fiap.consciousbet.search.UserNameIndex;
 import br.com.fiap.consciousbet.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserNameIndex userNameIndex;
+    private final UserEmailCache userEmailCache;
+    private final UserEmailFilter userEmailFilter;
+    private final EntityCounters entityCounters;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserNameIndex userNameIndex,
+                           UserEmailCache userEmailCache, UserEmailFilter userEmailFilter,
+                           EntityCounters entityCounters) {
         this.userRepository = userRepository;
+        this.userNameIndex = userNameIndex;
+        this.userEmailCache = userEmailCache;
+        this.userEmailFilter = userEmailFilter;
+        this.entityCounters = entityCounters;
     }
 
     @Override
@@ -43,6 +75,11 @@ public class UserServiceImpl implements UserService {
         // Salvar no banco
         User savedUser = userRepository.save(user);
         System.out.println("User created with ID: " + savedUser.getId());
+        entityCounters.addUsers(1);
+        afterCommit(() -> {
+            userNameIndex.put(savedUser.getId(), savedUser.getName());
+            userEmailFilter.put(savedUser.getEmailNormalized());
+        });
 
         // Retornar DTO de resposta
         return UserMapper.toResponseDTO(savedUser);
@@ -51,17 +88,35 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public Page<UserResponseDTO> findAll(Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(UserMapper::toResponseDTO);
+        // Total vem do contador mantido, sem COUNT(*) por página
+        List<UserResponseDTO> users = userRepository.findPage(pageable)
+                .stream()
+                .map(UserMapper::toResponseDTO)
+                .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(users, pageable, entityCounters::users);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponseDTO> findAll() {
-        return userRepository.findAll()
-                .stream()
-                .map(UserMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<UserResponseDTO> findSlice(String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        long afterId = position != null ? position.getId() : 0L;
+        Slice<UserResponseDTO> slice = userRepository.findSliceAfter(afterId,
+                PageRequest.of(0, KeysetCursor.pageSize(size)));
+
+        // Próximo cursor = ID do último usuário da fatia
+        List<UserResponseDTO> users = slice.getContent();
+        String nextCursor = slice.hasNext() ? KeysetCursor.encode(users.get(users.size() - 1).getId()) : null;
+        return new CursorPageDTO<>(users, users.size(), slice.hasNext(), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<UserResponseDTO> consumer) {
+        // DTOs não entram no contexto de persistência: o uso de memória não cresce com a tabela
+        try (Stream<UserResponseDTO> users = userRepository.streamAllAsDto()) {
+            users.forEach(consumer);
+        }
     }
 
     @Override
@@ -73,11 +128,70 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toResponseDTO(user);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<LookupItemDTO<UserResponseDTO>> findAllById(List<Long> ids) {
+        // Uma consulta IN (IDs repetidos só uma vez); a resposta volta na ordem pedida
+        Map<Long, UserResponseDTO> users = userRepository.findAllByIdAsDto(new HashSet<>(ids))
+                .stream()
+                .collect(Collectors.toMap(UserResponseDTO::getId, Function.identity()));
+
+        return ids.stream()
+                .map(id -> LookupItemDTO.of(id, users.get(id)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO getVersion(Long id) {
+        Long version = userRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + id));
+        return new ResourceVersionDTO("u" + id + "-" + version, false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserResponseDTO> searchByName(String name, Pageable pageable) {
+        // Índice ainda carregando: busca parcial direto no banco
+        if (!userNameIndex.isReady()) {
+            return userRepository.findByNameContainingIgnoreCase(name, pageable)
+                    .map(UserMapper::toResponseDTO);
+        }
+
+        List<Long> ranked = userNameIndex.search(name);
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        List<Long> pageIds = ranked.subList(from, to);
+
+        // Só a página atual vai ao banco, mantendo a ordem de relevância
+        Map<Long, UserResponseDTO> users = userRepository.findAllByIdAsDto(pageIds)
+                .stream()
+                .collect(Collectors.toMap(UserResponseDTO::getId, Function.identity()));
+        List<UserResponseDTO> content = pageIds.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ranked.size());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UserResponseDTO findByEmail(String email) {
-        User user = userRepository.findByEmailIgnoreCase(email)
+        String normalized = User.normalizeEmail(email);
+
+        // ID em cache: busca pela chave primária, conferindo se o email ainda é o mesmo
+        Long cachedId = userEmailCache.get(normalized);
+        if (cachedId != null) {
+            User cached = userRepository.findById(cachedId).orElse(null);
+            if (cached != null && normalized.equals(cached.getEmailNormalized())) {
+                return UserMapper.toResponseDTO(cached);
+            }
+            userEmailCache.evict(normalized);
+        }
+
+        User user = userRepository.findByEmailNormalized(normalized)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
+        userEmailCache.put(normalized, user.getId());
 
         return UserMapper.toResponseDTO(user);
     }
@@ -92,8 +206,10 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + id));
 
         // Verificar se email está sendo alterado e já existe
-        if (dto.getEmail() != null && !dto.getEmail().equalsIgnoreCase(existingUser.getEmail())) {
-            if (existsByEmail(dto.getEmail())) {
+        String previousEmail = existingUser.getEmailNormalized();
+        String newEmail = User.normalizeEmail(dto.getEmail());
+        if (newEmail != null && !newEmail.isEmpty() && !newEmail.equals(previousEmail)) {
+            if (existsByEmail(newEmail)) {
                 throw new DataIntegrityViolationException("Email already exists: " + dto.getEmail());
             }
         }
@@ -103,6 +219,11 @@ public class UserServiceImpl implements UserService {
 
         // Salvar alterações
         User updatedUser = userRepository.save(existingUser);
+        afterCommit(() -> {
+            userNameIndex.put(updatedUser.getId(), updatedUser.getName());
+            userEmailCache.evict(previousEmail);
+            userEmailFilter.put(updatedUser.getEmailNormalized());
+        });
         System.out.println("User updated successfully");
 
         return UserMapper.toResponseDTO(updatedUser);
@@ -121,24 +242,64 @@ public class UserServiceImpl implements UserService {
         System.out.println("Deleting user ID: " + id);
 
         // Verificar se usuário existe
-        if (!userRepository.existsById(id)) {
-            throw new EntityNotFoundException("User not found with ID: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + id));
+        String email = user.getEmailNormalized();
 
         // Deletar usuário
-        userRepository.deleteById(id);
+        entityCounters.removeUser(id);
+        userRepository.delete(user);
+        afterCommit(() -> {
+            userNameIndex.remove(id);
+            userEmailCache.evict(email);
+        });
         System.out.println("User deleted successfully");
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+        String normalized = User.normalizeEmail(email);
+        if (normalized == null) {
+            return false;
+        }
+        if (userEmailCache.get(normalized) != null) {
+            return true;
+        }
+        // Quase todas as verificações são de emails livres: o filtro responde sem ir ao banco
+        if (!userEmailFilter.mightContain(normalized)) {
+            return false;
+        }
+
+        // Só emails existentes entram no cache: "talvez" do filtro confirmado no índice único
+        Optional<Long> id = userRepository.findIdByEmailNormalized(normalized);
+        id.ifPresent(userId -> userEmailCache.put(normalized, userId));
+        userEmailFilter.recordLookup(id.isPresent());
+        return id.isPresent();
+    }
+
+    @Override
+    public EmailFilterStatsDTO getEmailFilterStats() {
+        return userEmailFilter.stats();
     }
 
     @Override
     @Transactional(readOnly = true)
     public long count() {
-        return userRepository.count();
+        return entityCounters.users();
+    }
+
+    // Os índices em memória (nomes, emails) só recebem a alteração depois que ela está visível no banco
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
-}
\ No newline at end of file
+}
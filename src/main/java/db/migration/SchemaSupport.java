@@ -0,0 +1,66 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Consultas de metadados para as migrações Java: o MySQL não tem ADD COLUMN / CREATE INDEX IF NOT EXISTS,
+// e os bancos antigos (criados pelo ddl-auto) já podem ter parte do que a migração cria.
+final class SchemaSupport {
+
+    private SchemaSupport() {
+    }
+
+    static boolean isH2(Connection connection) throws SQLException {
+        return "H2".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+
+    static boolean tableExists(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getTables(connection.getCatalog(), null, identifier(metaData, table), null)) {
+            return rs.next();
+        }
+    }
+
+    static boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getColumns(connection.getCatalog(), null,
+                identifier(metaData, table), identifier(metaData, column))) {
+            return rs.next();
+        }
+    }
+
+    static boolean indexExists(Connection connection, String table, String index) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null,
+                identifier(metaData, table), false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static void createIndexIfMissing(Connection connection, String table, String index, String columns)
+            throws SQLException {
+        if (!indexExists(connection, table, index)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE INDEX " + index + " ON " + table + "(" + columns + ")");
+            }
+        }
+    }
+
+    static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+    }
+}
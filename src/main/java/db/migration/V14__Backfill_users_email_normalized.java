@@ -0,0 +1,75 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// V14: coluna users.email_normalized (LOWER(TRIM(email))) com índice único.
+// O preenchimento é feito em blocos de IDs, cada um confirmado separadamente, para não travar a
+// tabela inteira numa única transação. Emails que só diferem por maiúsculas ficam com a coluna nula
+// (exceto o de menor ID) e são listados no log para correção manual.
+public class V14__Backfill_users_email_normalized extends BaseJavaMigration {
+
+    private static final int CHUNK_SIZE = 5000;
+
+    // Sem transação única: cada bloco é confirmado (autocommit)
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!SchemaSupport.columnExists(connection, "users", "email")) {
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            if (!SchemaSupport.columnExists(connection, "users", "email_normalized")) {
+                statement.execute("ALTER TABLE users ADD COLUMN email_normalized VARCHAR(150) NULL");
+            }
+
+            long maxId = 0;
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM users")) {
+                if (rs.next()) {
+                    maxId = rs.getLong(1);
+                }
+            }
+
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE users SET email_normalized = LOWER(TRIM(email)) " +
+                            "WHERE id > ? AND id <= ? AND email_normalized IS NULL")) {
+                for (long from = 0; from < maxId; from += CHUNK_SIZE) {
+                    update.setLong(1, from);
+                    update.setLong(2, from + CHUNK_SIZE);
+                    update.executeUpdate();
+                }
+            }
+
+            // Duplicatas por maiúsculas/espaços: mantém o menor ID, as demais ficam nulas
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT u.id, u.email FROM users u JOIN (SELECT email_normalized, MIN(id) AS keep_id FROM users " +
+                            "WHERE email_normalized IS NOT NULL GROUP BY email_normalized HAVING COUNT(*) > 1) d " +
+                            "ON u.email_normalized = d.email_normalized AND u.id <> d.keep_id");
+                 PreparedStatement clear = connection.prepareStatement(
+                         "UPDATE users SET email_normalized = NULL WHERE id = ?")) {
+                while (rs.next()) {
+                    System.out.println("V14: duplicate email (case-insensitive) left unnormalized, user ID "
+                            + rs.getLong(1) + ": " + rs.getString(2));
+                    clear.setLong(1, rs.getLong(1));
+                    clear.addBatch();
+                }
+                clear.executeBatch();
+            }
+
+            if (!SchemaSupport.indexExists(connection, "users", "uk_users_email_normalized")) {
+                statement.execute("CREATE UNIQUE INDEX uk_users_email_normalized ON users(email_normalized)");
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+// V4: description, status e índices das apostas. Em Java porque o MySQL não aceita
+// ADD COLUMN IF NOT EXISTS, e nos bancos criados pelo ddl-auto as colunas já existem.
+public class V4__Update_bets_table extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            // Alterar coluna amount para DECIMAL com precisão correta
+            statement.execute("ALTER TABLE bets MODIFY COLUMN amount DECIMAL(10,2) NOT NULL");
+
+            // Adicionar colunas se não existirem
+            if (!SchemaSupport.columnExists(connection, "bets", "description")) {
+                statement.execute("ALTER TABLE bets ADD COLUMN description VARCHAR(500)");
+            }
+            if (!SchemaSupport.columnExists(connection, "bets", "status")) {
+                statement.execute("ALTER TABLE bets ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'PENDING'");
+            }
+
+            // Atualizar registros existentes se necessário
+            statement.executeUpdate("UPDATE bets SET status = 'PENDING' WHERE status IS NULL OR status = ''");
+        }
+
+        // Adicionar índices para melhor performance
+        SchemaSupport.createIndexIfMissing(connection, "bets", "idx_bets_user_id", "user_id");
+        SchemaSupport.createIndexIfMissing(connection, "bets", "idx_bets_status", "status");
+        SchemaSupport.createIndexIfMissing(connection, "bets", "idx_bets_type", "type");
+        SchemaSupport.createIndexIfMissing(connection, "bets", "idx_bets_timestamp", "timestamp");
+    }
+}
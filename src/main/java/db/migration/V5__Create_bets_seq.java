@@ -0,0 +1,54 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+// V5: gerador de IDs em blocos para as apostas (permite batch de INSERTs no Hibernate).
+// O MySQL não tem sequences, então o Hibernate usa a tabela bets_seq com next_val; no H2 é uma sequence.
+// Com o otimizador pooled (allocationSize = 50) cada leitura reserva o bloco [next_val - 49, next_val],
+// então o gerador precisa começar em MAX(id) + 51 para não repetir IDs gerados pelo AUTO_INCREMENT.
+// Se o ddl-auto já criou o gerador (começando em 1), ele é adiantado para depois do MAX(id).
+public class V5__Create_bets_seq extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        long start = SchemaSupport.queryLong(connection, "SELECT COALESCE(MAX(id), 0) FROM bets") + ALLOCATION_SIZE + 1;
+
+        try (Statement statement = connection.createStatement()) {
+            if (SchemaSupport.isH2(connection)) {
+                long current = SchemaSupport.queryLong(connection,
+                        "SELECT COALESCE(MAX(BASE_VALUE), 0) FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'bets_seq'");
+                if (current == 0) {
+                    statement.execute("CREATE SEQUENCE IF NOT EXISTS bets_seq START WITH " + start
+                            + " INCREMENT BY " + ALLOCATION_SIZE);
+                } else if (current < start) {
+                    statement.execute("ALTER SEQUENCE bets_seq RESTART WITH " + start);
+                }
+                return;
+            }
+
+            statement.execute("CREATE TABLE IF NOT EXISTS bets_seq (next_val BIGINT NOT NULL)");
+        }
+
+        if (SchemaSupport.queryLong(connection, "SELECT COUNT(*) FROM bets_seq") == 0) {
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO bets_seq (next_val) VALUES (?)")) {
+                insert.setLong(1, start);
+                insert.executeUpdate();
+            }
+        } else {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE bets_seq SET next_val = ? WHERE next_val < ?")) {
+                update.setLong(1, start);
+                update.setLong(2, start);
+                update.executeUpdate();
+            }
+        }
+    }
+}
@@ -1,11 +0,0 @@
--- V1__Create_auth_users_table.sql
-CREATE TABLE auth_users (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    email VARCHAR(255) NOT NULL UNIQUE,
-    password VARCHAR(255) NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
-);
-
--- Inserir usuário admin padrão
-INSERT INTO auth_users (email, password) VALUES ('admin@email.com', '123456');
\ No newline at end of file
@@ -0,0 +1,9 @@
+-- V10__Create_user_stake_sketches.sql
+-- Sketch de quantis dos valores apostados por usuário (detecção de apostas anômalas)
+
+CREATE TABLE IF NOT EXISTS user_stake_sketches (
+    user_id BIGINT PRIMARY KEY,
+    sketch VARBINARY(512) NOT NULL,
+    bet_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
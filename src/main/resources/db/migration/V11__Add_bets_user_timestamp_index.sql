@@ -0,0 +1,4 @@
+-- V11__Add_bets_user_timestamp_index.sql
+-- Paginação por cursor das apostas de um usuário: (user_id, timestamp, id) sem ordenação em memória
+
+CREATE INDEX idx_bets_user_timestamp ON bets(user_id, timestamp, id);
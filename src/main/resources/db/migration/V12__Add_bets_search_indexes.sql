@@ -0,0 +1,12 @@
+-- V12__Add_bets_search_indexes.sql
+-- Índices compostos para /api/bets/search: cada filtro de igualdade comum seguido de timestamp,
+-- que é a coluna de ordenação do cursor (o id entra implicitamente como chave primária)
+
+CREATE INDEX idx_bets_status_timestamp ON bets(status, timestamp);
+CREATE INDEX idx_bets_type_timestamp ON bets(type, timestamp);
+CREATE INDEX idx_bets_user_status_timestamp ON bets(user_id, status, timestamp);
+CREATE INDEX idx_bets_user_type_timestamp ON bets(user_id, type, timestamp);
+
+-- Busca só por faixa de valor: sem este índice o plano percorre idx_bets_timestamp inteiro até achar
+-- 'size' linhas na faixa; com ele, lê só a faixa e ordena poucas linhas (timestamp já vem no índice)
+CREATE INDEX idx_bets_amount_timestamp ON bets(amount, timestamp);
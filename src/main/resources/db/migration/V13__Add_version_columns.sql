@@ -0,0 +1,5 @@
+-- V13__Add_version_columns.sql
+-- Versão incrementada a cada alteração: ETags das respostas e controle otimista de concorrência
+
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bets ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- V15__Add_users_updated_at_index.sql
+-- Sincronização incremental do filtro de emails: usuários criados ou alterados desde um instante
+
+CREATE INDEX idx_users_updated_at ON users(updated_at);
@@ -0,0 +1,4 @@
+-- V16__Add_user_stake_sketches_version.sql
+-- Versão da linha do sketch: cada instância junta as suas apostas ao sketch gravado com controle otimista
+
+ALTER TABLE user_stake_sketches ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- V2__create_auth_users.sql
+-- A tabela já é criada no V1; mantido só para bancos em que ela ainda não exista
+CREATE TABLE IF NOT EXISTS auth_users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- Inserir usuário admin padrão (se ainda não existir)
+INSERT INTO auth_users (email, password)
+SELECT 'admin@email.com', '123456' FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM auth_users WHERE email = 'admin@email.com');
@@ -0,0 +1,4 @@
+-- V3__Add_timestamps_to_users.sql
+-- created_at e updated_at já fazem parte do V1 (e do schema gerado pelo Hibernate nos bancos antigos):
+-- nada a fazer, a versão é mantida para não quebrar a numeração.
+SELECT 1;
@@ -0,0 +1,21 @@
+-- V7__Create_user_bet_stats.sql
+-- Rollup das estatísticas de apostas por usuário (apostas não canceladas)
+
+CREATE TABLE IF NOT EXISTS user_bet_stats (
+    user_id BIGINT PRIMARY KEY,
+    total_amount DECIMAL(14,2) NOT NULL DEFAULT 0,
+    total_bets BIGINT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS user_bet_stats_hourly (
+    user_id BIGINT NOT NULL,
+    hour_start DATETIME NOT NULL,
+    total_amount DECIMAL(14,2) NOT NULL DEFAULT 0,
+    total_bets BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, hour_start)
+);
+
+-- A carga inicial a partir das apostas existentes é feita na subida da aplicação
+-- (BetStatsServiceImpl.backfillIfEmpty), com a mesma reconstrução de POST /api/bets/stats/rebuild.
@@ -0,0 +1,19 @@
+-- V8__Create_bet_limit_policies.sql
+-- Limites autoimpostos por usuário (jogo responsável)
+
+CREATE TABLE IF NOT EXISTS bet_limit_policies (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    period VARCHAR(20) NOT NULL,
+    bet_type VARCHAR(50) NOT NULL DEFAULT 'ALL',
+    max_amount DECIMAL(12,2),
+    max_bets INT,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT uk_bet_limit_policies_scope UNIQUE (user_id, period, bet_type),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_bet_limit_policies_updated_at ON bet_limit_policies(updated_at);
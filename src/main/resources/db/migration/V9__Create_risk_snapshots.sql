@@ -0,0 +1,15 @@
+-- V9__Create_risk_snapshots.sql
+-- Relatório diário de risco (varredura de todos os usuários com apostas nas últimas 24h)
+
+CREATE TABLE IF NOT EXISTS risk_snapshots (
+    snapshot_date DATE NOT NULL,
+    user_id BIGINT NOT NULL,
+    bet_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(14,2) NOT NULL DEFAULT 0,
+    last_bet_at DATETIME,
+    risk_level VARCHAR(20) NOT NULL,
+    computed_at DATETIME NOT NULL,
+    PRIMARY KEY (snapshot_date, user_id)
+);
+
+CREATE INDEX idx_risk_snapshots_level ON risk_snapshots(snapshot_date, risk_level);
@@ -0,0 +1,108 @@
+package br.com.fiap.consciousbet.counter;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import br.com.fiap.consciousbet.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EntityCountersTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final BetRepository betRepository = mock(BetRepository.class);
+    private final PrimaryReads primaryReads = mock(PrimaryReads.class);
+    private final EntityCounters counters = new EntityCounters(userRepository, betRepository, primaryReads);
+
+    @BeforeEach
+    void setUp() {
+        when(primaryReads.read(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        when(userRepository.count()).thenReturn(3L);
+        when(betRepository.count()).thenReturn(10L);
+        counters.reconcile();
+    }
+
+    @Test
+    void reconcileSeedsFromPrimaryAndCorrectsDrift() {
+        assertEquals(10, counters.bets());
+        assertEquals(3, counters.users());
+
+        // Outra instância gravou duas apostas
+        when(betRepository.count()).thenReturn(12L);
+        counters.reconcile();
+
+        assertEquals(12, counters.bets());
+        verify(primaryReads, times(4)).read(any());
+    }
+
+    @Test
+    void commitDuringCountIsNotCountedTwice() {
+        // A aposta é confirmada e o ajuste aplicado enquanto o COUNT(*) roda; o COUNT já a vê
+        when(betRepository.count()).thenAnswer(invocation -> {
+            inTransaction(() -> counters.addBets(1), true);
+            return 11L;
+        });
+        counters.reconcile();
+
+        assertEquals(11, counters.bets());
+    }
+
+    @Test
+    void adjustmentInFlightSkipsReconciliation() {
+        List<TransactionSynchronization> pending = open(() -> counters.addBets(1));
+        when(betRepository.count()).thenReturn(11L);
+
+        // A transação pode ou não já ter sido confirmada quando o COUNT(*) lê
+        counters.reconcile();
+        assertEquals(10, counters.bets());
+
+        complete(pending, true);
+        assertEquals(11, counters.bets());
+        counters.reconcile();
+        assertEquals(11, counters.bets());
+    }
+
+    @Test
+    void rolledBackAdjustmentIsDiscarded() {
+        inTransaction(() -> counters.addBets(1), false);
+
+        assertEquals(10, counters.bets());
+    }
+
+    // Roda 'action' numa transação simulada, noutra thread, e a conclui
+    private static void inTransaction(Runnable action, boolean committed) {
+        Thread thread = new Thread(() -> complete(open(action), committed));
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<TransactionSynchronization> open(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void complete(List<TransactionSynchronization> synchronizations, boolean committed) {
+        int status = committed ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.fiap.consciousbet.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// O ReadWriteRoutingDataSource manda ao primário toda transação que não é readOnly
+class PrimaryReadsTest {
+
+    private final DataSourceTransactionManager transactionManager =
+            new DataSourceTransactionManager(new DriverManagerDataSource("jdbc:h2:mem:primary-reads", "sa", ""));
+    private final PrimaryReads primaryReads = new PrimaryReads(transactionManager);
+
+    @Test
+    void readInsideReadOnlyTransactionRunsInWriteTransaction() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            assertFalse(primaryReads.read(TransactionSynchronizationManager::isCurrentTransactionReadOnly));
+            // A transação de fora continua readOnly
+            assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        });
+    }
+
+    @Test
+    void readOutsideTransactionRunsInWriteTransaction() {
+        assertTrue(primaryReads.read(TransactionSynchronizationManager::isActualTransactionActive));
+        assertFalse(primaryReads.read(TransactionSynchronizationManager::isCurrentTransactionReadOnly));
+    }
+}
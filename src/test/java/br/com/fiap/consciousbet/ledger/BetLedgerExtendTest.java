@@ -0,0 +1,198 @@
+package br.com.fiap.consciousbet.ledger;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.entity.BetLimitPolicy;
+import br.com.fiap.consciousbet.exception.LimitsUnavailableException;
+import br.com.fiap.consciousbet.repository.BetAmountView;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Extensão da janela (7/30 dias) intercalada com reservas, confirmações e alterações de apostas:
+// a tabela de apostas é uma lista em memória e a leitura de 30 dias pode ser pausada no meio
+class BetLedgerExtendTest {
+
+    private static final Long USER_ID = 1L;
+    private static final int SPORTS = BetTypes.slot("SPORTS");
+    private static final long DAY_SECONDS = 86_400;
+
+    private final BetRepository betRepository = mock(BetRepository.class);
+    private final PrimaryReads primaryReads = mock(PrimaryReads.class);
+    private final List<BetAmountView> bets = new CopyOnWriteArrayList<>();
+    private final AtomicInteger extendedReads = new AtomicInteger();
+    private final CountDownLatch reading = new CountDownLatch(1);
+    private final CountDownLatch proceed = new CountDownLatch(1);
+    private BetLedger betLedger;
+
+    @BeforeEach
+    void setUp() {
+        when(primaryReads.read(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        when(betRepository.findAmountsByUserIdAndTimestampAfter(anyLong(), any())).thenAnswer(invocation -> {
+            LocalDateTime since = invocation.getArgument(1);
+            List<BetAmountView> snapshot = new ArrayList<>();
+            for (BetAmountView bet : bets) {
+                if (bet.getTimestamp().isAfter(since)) {
+                    snapshot.add(bet);
+                }
+            }
+            // Só a primeira leitura de 30 dias pausa, depois de já ter lido as linhas
+            if (since.isBefore(timestamp(2 * DAY_SECONDS)) && extendedReads.incrementAndGet() == 1) {
+                reading.countDown();
+                proceed.await(5, TimeUnit.SECONDS);
+            }
+            return snapshot;
+        });
+        betLedger = new BetLedger(betRepository, primaryReads);
+    }
+
+    @Test
+    void extensionWaitsForPendingReservation() throws Exception {
+        proceed.countDown();
+        UserBetWindow window = betLedger.window(USER_ID, false);
+        assertTrue(window.tryReserve(1_000, SPORTS, CompiledLimitPolicy.DEFAULT, BetLedger.now()).isAllowed());
+
+        CompletableFuture<UserBetWindow> extension = CompletableFuture.supplyAsync(() -> betLedger.window(USER_ID, true));
+        Thread.sleep(50);
+        assertFalse(extension.isDone());
+        assertEquals(0, extendedReads.get());
+
+        // Gravada e confirmada enquanto a extensão espera: entra pela leitura, uma única vez
+        bets.add(bet(0, "10.00"));
+        window.confirm(SPORTS, 1_000);
+
+        assertTrue(extension.get(5, TimeUnit.SECONDS).isExtended());
+        assertEquals(1, extendedReads.get());
+        assertWeeklyCents(window, 1_000);
+    }
+
+    @Test
+    void reservationConfirmedDuringReadForcesReread() throws Exception {
+        UserBetWindow window = betLedger.window(USER_ID, false);
+
+        CompletableFuture<UserBetWindow> extension = CompletableFuture.supplyAsync(() -> betLedger.window(USER_ID, true));
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+        // A primeira leitura já terminou sem ver esta aposta
+        assertTrue(window.tryReserve(1_000, SPORTS, CompiledLimitPolicy.DEFAULT, BetLedger.now()).isAllowed());
+        bets.add(bet(0, "10.00"));
+        window.confirm(SPORTS, 1_000);
+        proceed.countDown();
+
+        assertTrue(extension.get(5, TimeUnit.SECONDS).isExtended());
+        assertEquals(2, extendedReads.get());
+        assertWeeklyCents(window, 1_000);
+    }
+
+    @Test
+    void changeAppliedDuringReadForcesReread() throws Exception {
+        BetAmountView old = bet(3 * DAY_SECONDS, "10.00");
+        bets.add(old);
+        UserBetWindow window = betLedger.window(USER_ID, false);
+
+        CompletableFuture<UserBetWindow> extension = CompletableFuture.supplyAsync(() -> betLedger.window(USER_ID, true));
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+        // Cancelamento de uma aposta de 3 dias atrás, como em BetServiceImpl.recordChange
+        UserBetWindow changing = betLedger.beginChange(USER_ID);
+        bets.remove(old);
+        betLedger.record(USER_ID, old.getTimestamp(), old.getType(), old.getAmount().negate(), -1);
+        betLedger.endChange(changing);
+        proceed.countDown();
+
+        assertTrue(extension.get(5, TimeUnit.SECONDS).isExtended());
+        assertEquals(2, extendedReads.get());
+        assertWeeklyCents(window, 0);
+    }
+
+    @Test
+    void extensionFailsWhileOwnReservationIsPending() {
+        proceed.countDown();
+        UserBetWindow window = betLedger.window(USER_ID, false);
+        window.tryReserve(1_000, SPORTS, CompiledLimitPolicy.DEFAULT, BetLedger.now());
+
+        assertThrows(LimitsUnavailableException.class, () -> betLedger.window(USER_ID, true));
+        assertFalse(window.isExtended());
+        assertEquals(0, extendedReads.get());
+    }
+
+    // O total de 7 dias é exatamente 'cents' se cabe o restante de um limite semanal e nem um centavo a mais
+    private static void assertWeeklyCents(UserBetWindow window, long cents) {
+        CompiledLimitPolicy weekly = weeklyLimit("25.00");
+        long now = BetLedger.now();
+        assertTrue(window.check(2_500 - cents, SPORTS, weekly, now).isAllowed());
+        assertFalse(window.check(2_500 - cents + 1, SPORTS, weekly, now).isAllowed());
+    }
+
+    private static LocalDateTime timestamp(long secondsAgo) {
+        return LocalDateTime.ofEpochSecond(BetLedger.now() - secondsAgo, 0, ZoneOffset.UTC);
+    }
+
+    private static BetAmountView bet(long secondsAgo, String amount) {
+        return new Row(timestamp(secondsAgo), "SPORTS", new BigDecimal(amount));
+    }
+
+    private static CompiledLimitPolicy weeklyLimit(String maxAmount) {
+        BetLimitPolicy policy = new BetLimitPolicy(USER_ID, LimitPeriod.WEEKLY.name(), BetTypes.ALL);
+        policy.setMaxAmount(new BigDecimal(maxAmount));
+        policy.setVersion(0L);
+        return CompiledLimitPolicy.compile(List.of(policy));
+    }
+
+    private static final class Row implements BetAmountView {
+
+        private static final AtomicLong IDS = new AtomicLong();
+
+        private final Long id = IDS.incrementAndGet();
+        private final LocalDateTime timestamp;
+        private final String type;
+        private final BigDecimal amount;
+
+        Row(LocalDateTime timestamp, String type, BigDecimal amount) {
+            this.timestamp = timestamp;
+            this.type = type;
+            this.amount = amount;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public String getType() {
+            return type;
+        }
+
+        @Override
+        public BigDecimal getAmount() {
+            return amount;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.fiap.consciousbet.ledger;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.repository.BetLimitPolicyRepository;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Microbenchmark (JUnit, sem JMH) do LimitEvaluator contra o caminho antigo de canUserBet, que
+// validava lançando IllegalArgumentException e convertia qualquer exceção em false. Mede ns/op
+// depois de aquecer o JIT, para apostas aceitas e rejeitadas pelo limite diário de quantidade.
+// As comparações de tempo só rodam com -Pbenchmark; a suíte normal confere só que os caminhos concordam.
+class LimitEvaluatorBenchmarkTest {
+
+    private static final Long ALLOWED_USER = 1L;
+    private static final Long EXHAUSTED_USER = 2L;
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 500_000;
+
+    // Limites do caminho antigo (BetServiceImpl antes do LimitEvaluator)
+    private static final BigDecimal MAX_DAILY_AMOUNT = new BigDecimal("5000.00");
+    private static final int MAX_DAILY_BETS = 20;
+    private static final BigDecimal MAX_SINGLE_BET = new BigDecimal("2000.00");
+
+    private final BetRepository betRepository = mock(BetRepository.class);
+    private final BetLimitPolicyRepository policyRepository = mock(BetLimitPolicyRepository.class);
+    private final PrimaryReads primaryReads = mock(PrimaryReads.class);
+    private BetLedger betLedger;
+    private LimitEvaluator limitEvaluator;
+
+    @BeforeEach
+    void setUp() {
+        when(primaryReads.read(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        when(betRepository.findAmountsByUserIdAndTimestampAfter(anyLong(), any())).thenReturn(List.of());
+        when(policyRepository.findByUserId(anyLong())).thenReturn(List.of());
+
+        betLedger = new BetLedger(betRepository, primaryReads);
+        limitEvaluator = new LimitEvaluator(betLedger, new LimitPolicyCache(policyRepository, primaryReads));
+
+        // Usuário que já fez as 20 apostas do dia
+        for (int i = 0; i < MAX_DAILY_BETS; i++) {
+            assertTrue(limitEvaluator.reserve(EXHAUSTED_USER, "SPORTS", AMOUNT).isAllowed());
+            limitEvaluator.confirm(EXHAUSTED_USER, "SPORTS", AMOUNT);
+        }
+    }
+
+    @Test
+    void bothPathsAgree() {
+        assertTrue(limitEvaluator.evaluate(ALLOWED_USER, null, AMOUNT).isAllowed());
+        assertTrue(legacyCanUserBet(ALLOWED_USER, AMOUNT));
+        assertFalse(limitEvaluator.evaluate(EXHAUSTED_USER, null, AMOUNT).isAllowed());
+        assertFalse(legacyCanUserBet(EXHAUSTED_USER, AMOUNT));
+        assertEquals(LimitRule.DAILY_COUNT, limitEvaluator.evaluate(EXHAUSTED_USER, null, AMOUNT).getRule());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void rejectionWithoutExceptionIsCheaper() {
+        Predicate<Long> decision = userId -> limitEvaluator.evaluate(userId, null, AMOUNT).isAllowed();
+        Predicate<Long> legacy = userId -> legacyCanUserBet(userId, AMOUNT);
+
+        measure(decision, EXHAUSTED_USER, WARMUP_ITERATIONS);
+        measure(legacy, EXHAUSTED_USER, WARMUP_ITERATIONS);
+        double decisionNanos = measure(decision, EXHAUSTED_USER, MEASURED_ITERATIONS);
+        double legacyNanos = measure(legacy, EXHAUSTED_USER, MEASURED_ITERATIONS);
+
+        // A rejeição antiga captura stack trace e concatena BigDecimals; a nova só devolve a decisão
+        assertTrue(decisionNanos * 1.5 < legacyNanos,
+                String.format("rejected: %.1f ns/op decision vs %.1f ns/op exception", decisionNanos, legacyNanos));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void acceptanceIsNotSlowerThanLegacyPath() {
+        Predicate<Long> decision = userId -> limitEvaluator.evaluate(userId, null, AMOUNT).isAllowed();
+        Predicate<Long> legacy = userId -> legacyCanUserBet(userId, AMOUNT);
+
+        measure(decision, ALLOWED_USER, WARMUP_ITERATIONS);
+        measure(legacy, ALLOWED_USER, WARMUP_ITERATIONS);
+        double decisionNanos = measure(decision, ALLOWED_USER, MEASURED_ITERATIONS);
+        double legacyNanos = measure(legacy, ALLOWED_USER, MEASURED_ITERATIONS);
+
+        // Caminho antigo fazia duas passadas na janela (valor e quantidade); a folga cobre ruído de CI
+        assertTrue(decisionNanos < legacyNanos * 1.5,
+                String.format("allowed: %.1f ns/op decision vs %.1f ns/op exception", decisionNanos, legacyNanos));
+    }
+
+    // ns/op; o resultado é acumulado para o JIT não eliminar as chamadas
+    private static double measure(Predicate<Long> path, Long userId, int iterations) {
+        int allowed = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (path.test(userId)) {
+                allowed++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        assertEquals(userId.equals(ALLOWED_USER) ? iterations : 0, allowed);
+        return (double) elapsed / iterations;
+    }
+
+    private boolean legacyCanUserBet(Long userId, BigDecimal amount) {
+        try {
+            legacyValidateBetCreation(userId, amount);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void legacyValidateBetCreation(Long userId, BigDecimal amount) {
+        if (amount.compareTo(BigDecimal.ONE) < 0) {
+            throw new IllegalArgumentException("Minimum bet amount is R$ 1.00");
+        }
+        if (amount.compareTo(MAX_SINGLE_BET) > 0) {
+            throw new IllegalArgumentException("Maximum single bet amount is R$ " + MAX_SINGLE_BET);
+        }
+
+        BigDecimal dailyTotal = betLedger.getDailyAmount(userId);
+        if (dailyTotal.add(amount).compareTo(MAX_DAILY_AMOUNT) > 0) {
+            throw new IllegalArgumentException("Daily betting limit exceeded. Limit: R$ " + MAX_DAILY_AMOUNT +
+                    ", Current: R$ " + dailyTotal + ", Attempted: R$ " + amount);
+        }
+
+        long dailyCount = betLedger.getDailyCount(userId);
+        if (dailyCount >= MAX_DAILY_BETS) {
+            throw new IllegalArgumentException("Daily bet count limit exceeded. Limit: " + MAX_DAILY_BETS +
+                    ", Current: " + dailyCount);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.fiap.consciousbet.ledger;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.entity.BetLimitPolicy;
+import br.com.fiap.consciousbet.repository.BetLimitPolicyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LimitPolicyCacheTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final BetLimitPolicyRepository policyRepository = mock(BetLimitPolicyRepository.class);
+    private final PrimaryReads primaryReads = mock(PrimaryReads.class);
+    private final LimitPolicyCache cache = new LimitPolicyCache(policyRepository, primaryReads);
+
+    @BeforeEach
+    void runPrimaryReadsInline() {
+        when(primaryReads.read(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+    }
+
+    @Test
+    void versionCountsEveryPolicyRow() {
+        BetLimitPolicy inactive = policy(3L);
+        inactive.setActive(false);
+
+        CompiledLimitPolicy compiled = CompiledLimitPolicy.compile(List.of(policy(0L), inactive));
+
+        // (0 + 1) + (3 + 1)
+        assertEquals(5, compiled.getVersion());
+        assertFalse(compiled.isExtended());
+    }
+
+    @Test
+    void invalidateKeepsPolicyAlreadyAtVersion() {
+        when(policyRepository.findByUserId(USER_ID)).thenReturn(List.of(policy(1L)));
+        CompiledLimitPolicy loaded = cache.get(USER_ID);
+
+        cache.invalidate(USER_ID, loaded.getVersion());
+
+        assertSame(loaded, cache.get(USER_ID));
+        verify(policyRepository, times(1)).findByUserId(USER_ID);
+    }
+
+    @Test
+    void staleLoadIsReloadedUntilItReachesInvalidatedVersion() {
+        when(policyRepository.findByUserId(USER_ID)).thenReturn(List.of(policy(0L)));
+        cache.get(USER_ID);
+
+        // Alteração gravada (versão 2), mas a carga seguinte ainda vê o estado anterior
+        cache.invalidate(USER_ID, 3);
+        assertEquals(1, cache.get(USER_ID).getVersion());
+
+        when(policyRepository.findByUserId(USER_ID)).thenReturn(List.of(policy(2L)));
+        assertEquals(3, cache.get(USER_ID).getVersion());
+        assertEquals(3, cache.get(USER_ID).getVersion());
+        verify(policyRepository, times(3)).findByUserId(USER_ID);
+    }
+
+    private static BetLimitPolicy policy(long version) {
+        BetLimitPolicy policy = new BetLimitPolicy(USER_ID, LimitPeriod.DAILY.name(), BetTypes.ALL);
+        policy.setMaxAmount(new BigDecimal("100.00"));
+        policy.setVersion(version);
+        return policy;
+    }
+}
@@ -0,0 +1,226 @@
+package br.com.fiap.consciousbet.ledger;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.entity.BetLimitPolicy;
+import br.com.fiap.consciousbet.repository.BetLimitPolicyRepository;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Reservas concorrentes pelo LimitEvaluator, com o ledger e o cache de políticas reais
+// (repositórios simulados): nenhum limite é ultrapassado e usuários distintos não disputam lock.
+// A medida de vazão depende da máquina e só roda com -Pbenchmark.
+class LimitReservationContentionTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 500;
+    private static final Long WEEKLY_USER = 2L;
+
+    private final BetRepository betRepository = mock(BetRepository.class);
+    private final BetLimitPolicyRepository policyRepository = mock(BetLimitPolicyRepository.class);
+    private final PrimaryReads primaryReads = mock(PrimaryReads.class);
+    private BetLedger betLedger;
+    private LimitEvaluator limitEvaluator;
+
+    @BeforeEach
+    void setUp() {
+        when(primaryReads.read(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        when(betRepository.findAmountsByUserIdAndTimestampAfter(anyLong(), any())).thenReturn(List.of());
+        when(policyRepository.findByUserId(anyLong())).thenReturn(List.of());
+        when(policyRepository.findByUserId(WEEKLY_USER)).thenReturn(List.of(weeklyLimit()));
+
+        betLedger = new BetLedger(betRepository, primaryReads);
+        limitEvaluator = new LimitEvaluator(betLedger, new LimitPolicyCache(policyRepository, primaryReads));
+    }
+
+    @Test
+    void concurrentReservationsNeverOvershootDailyLimits() throws Exception {
+        Settled settled = reserveConcurrently(1L, "SPORTS");
+
+        // Limites diários globais: R$ 5.000,00 e 20 apostas
+        assertTrue(settled.cents.get() <= 500_000, "daily amount overshot: " + settled.cents.get());
+        assertTrue(settled.count.get() <= 20, "daily count overshot: " + settled.count.get());
+        assertTrue(settled.rejected.get() > 0, "limits should have been reached");
+        assertEquals(settled.cents.get(), betLedger.window(1L, false).dailyCents(BetLedger.now()));
+        assertEquals(settled.count.get(), betLedger.window(1L, false).dailyCount(BetLedger.now()));
+    }
+
+    @Test
+    void concurrentReservationsNeverOvershootPolicyWhileWindowIsExtended() throws Exception {
+        // A primeira reserva estende a janela enquanto as outras threads já reservam
+        Settled settled = reserveConcurrently(WEEKLY_USER, "CASINO");
+
+        assertTrue(settled.cents.get() <= 30_000, "weekly amount overshot: " + settled.cents.get());
+        assertTrue(settled.count.get() <= 20, "daily count overshot: " + settled.count.get());
+        assertTrue(settled.rejected.get() > 0, "limits should have been reached");
+        UserBetWindow window = betLedger.window(WEEKLY_USER, true);
+        assertTrue(window.isExtended());
+        assertEquals(settled.cents.get(), window.dailyCents(BetLedger.now()));
+    }
+
+    @Test
+    void lockOnOneUserDoesNotBlockOthers() throws Exception {
+        UserBetWindow busy = betLedger.window(1L, false);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (busy) {
+                held.countDown();
+                try {
+                    done.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        holder.start();
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (long userId = 100; userId < 200; userId++) {
+                long id = userId;
+                results.add(executor.submit(() -> limitEvaluator.reserve(id, "SPORTS", new BigDecimal("10.00")).isAllowed()));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            done.countDown();
+            executor.shutdownNow();
+            holder.join();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void throughputScalesAcrossDistinctUsers() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        assumeTrue(cores >= 2, "scaling needs more than one core");
+        int threads = Math.min(cores, 8);
+
+        // Aquecimento (JIT) antes de medir
+        measure(1, 100_000);
+        measure(threads, 100_000);
+
+        double single = measure(1, 500_000);
+        double parallel = measure(threads, 500_000);
+
+        // Sem lock compartilhado entre usuários, a vazão cresce com as threads; a folga cobre ruído de CI
+        double speedup = parallel / single;
+        assertTrue(speedup >= threads * 0.5,
+                String.format("speedup %.2f with %d threads (%.0f ops/s single, %.0f ops/s parallel)",
+                        speedup, threads, single, parallel));
+    }
+
+    // Cada thread reserva valores aleatórios para o mesmo usuário; ~1/3 das reservas é desfeita
+    // (rollback) e o restante confirmado, como em BetServiceImpl
+    private Settled reserveConcurrently(Long userId, String type) throws Exception {
+        Settled settled = new Settled();
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        long cents = random.nextLong(100, 200_001);
+                        BigDecimal amount = BetLedger.fromCents(cents);
+                        LimitDecision decision = limitEvaluator.reserve(userId, type, amount);
+                        if (!decision.isAllowed()) {
+                            settled.rejected.incrementAndGet();
+                            continue;
+                        }
+                        if (random.nextInt(3) == 0) {
+                            limitEvaluator.release(userId, type, amount);
+                        } else {
+                            limitEvaluator.confirm(userId, type, amount);
+                            settled.cents.addAndGet(cents);
+                            settled.count.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return settled;
+    }
+
+    // Reserva e desfaz (para nunca bater no limite) em usuários distintos por thread; ops/s
+    private double measure(int threads, int operationsPerThread) throws Exception {
+        AtomicLong userIds = new AtomicLong(1_000_000L * threads + operationsPerThread);
+        BigDecimal amount = new BigDecimal("10.00");
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    // Alguns usuários por thread, para passar pelo mapa de janelas como em produção
+                    long firstUser = userIds.getAndAdd(16);
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        long userId = firstUser + (i & 15);
+                        limitEvaluator.reserve(userId, "SPORTS", amount);
+                        limitEvaluator.release(userId, "SPORTS", amount);
+                    }
+                    return null;
+                }));
+            }
+            start.await();
+            long startNanos = System.nanoTime();
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            return (double) threads * operationsPerThread * 1_000_000_000L / elapsedNanos;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static BetLimitPolicy weeklyLimit() {
+        BetLimitPolicy policy = new BetLimitPolicy(WEEKLY_USER, LimitPeriod.WEEKLY.name(), BetTypes.ALL);
+        policy.setMaxAmount(new BigDecimal("300.00"));
+        policy.setVersion(0L);
+        return policy;
+    }
+
+    private static final class Settled {
+
+        private final AtomicLong cents = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.fiap.consciousbet.ledger;
+
+import br.com.fiap.consciousbet.entity.BetLimitPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserBetWindowTest {
+
+    private static final long NOW = 1_800_000_000L;
+    private static final int SPORTS = BetTypes.slot("SPORTS");
+
+    @Test
+    void extendIsRefusedWhileReservationIsPending() throws InterruptedException {
+        UserBetWindow window = new UserBetWindow(false);
+        assertTrue(window.tryReserve(1_000, SPORTS, CompiledLimitPolicy.DEFAULT, NOW).isAllowed());
+
+        // A leitura do banco pode ou não ver a aposta reservada: não há marca válida até ela terminar
+        assertEquals(-1, window.awaitQuiescent(0));
+
+        window.confirm(SPORTS, 1_000);
+        assertTrue(window.awaitQuiescent(0) >= 0);
+    }
+
+    @Test
+    void extendIsRefusedWhenReservationStartedAfterMark() throws InterruptedException {
+        UserBetWindow window = new UserBetWindow(false);
+        long mark = window.awaitQuiescent(0);
+
+        // Reservada e confirmada durante a leitura, que pode não tê-la visto
+        window.tryReserve(1_000, SPORTS, CompiledLimitPolicy.DEFAULT, NOW);
+        window.confirm(SPORTS, 1_000);
+
+        assertFalse(window.extend(new UserBetWindow(true), mark));
+        assertFalse(window.isExtended());
+    }
+
+    @Test
+    void extendIsRefusedWhileChangeIsInFlight() throws InterruptedException {
+        UserBetWindow window = new UserBetWindow(false);
+        long mark = window.awaitQuiescent(0);
+        window.beginChange();
+
+        assertFalse(window.extend(new UserBetWindow(true), mark));
+        assertEquals(-1, window.awaitQuiescent(0));
+
+        window.endChange();
+        assertTrue(window.extend(new UserBetWindow(true), window.awaitQuiescent(0)));
+    }
+
+    @Test
+    void releaseAfterExtendUndoesReservationInAllRings() throws InterruptedException {
+        CompiledLimitPolicy weekly = weeklyLimit("15.00");
+        UserBetWindow window = new UserBetWindow(false);
+        assertTrue(window.extend(new UserBetWindow(true), window.awaitQuiescent(0)));
+        window.tryReserve(1_000, SPORTS, CompiledLimitPolicy.DEFAULT, NOW);
+        assertFalse(window.check(1_000, SPORTS, weekly, NOW).isAllowed());
+
+        window.release(SPORTS, 1_000, NOW);
+
+        assertTrue(window.check(1_000, SPORTS, weekly, NOW).isAllowed());
+        assertEquals(0, window.dailyCents(NOW));
+    }
+
+    @Test
+    void confirmedReservationIsNotCarriedTwice() throws InterruptedException {
+        CompiledLimitPolicy weekly = weeklyLimit("25.00");
+        UserBetWindow window = new UserBetWindow(false);
+        window.tryReserve(1_000, SPORTS, CompiledLimitPolicy.DEFAULT, NOW);
+        window.confirm(SPORTS, 1_000);
+        long mark = window.awaitQuiescent(0);
+
+        // Já gravada: vem só no histórico carregado
+        UserBetWindow loaded = new UserBetWindow(true);
+        loaded.record(NOW, SPORTS, 1_000, 1, NOW);
+        assertTrue(window.extend(loaded, mark));
+
+        assertTrue(window.check(1_500, SPORTS, weekly, NOW).isAllowed());
+        assertFalse(window.check(1_501, SPORTS, weekly, NOW).isAllowed());
+    }
+
+    @Test
+    void approvalReportsSmallestHeadroom() throws InterruptedException {
+        CompiledLimitPolicy weekly = weeklyLimit("15.00");
+        UserBetWindow window = new UserBetWindow(false);
+        assertTrue(window.extend(new UserBetWindow(true), window.awaitQuiescent(0)));
+        window.tryReserve(1_000, SPORTS, weekly, NOW);
+        window.confirm(SPORTS, 1_000);
+
+        // Semanal de R$ 15,00 é a menor folga de valor; a de quantidade vem do limite diário global
+        LimitDecision decision = window.check(100, SPORTS, weekly, NOW);
+
+        assertTrue(decision.isAllowed());
+        assertEquals(new BigDecimal("5.00"), decision.getRemainingAmount());
+        assertEquals(19L, decision.getRemainingBets());
+    }
+
+    @Test
+    void reservationApprovalSkipsHeadroom() {
+        UserBetWindow window = new UserBetWindow(false);
+
+        assertSame(LimitDecision.ALLOWED, window.tryReserve(1_000, SPORTS, CompiledLimitPolicy.DEFAULT, NOW));
+    }
+
+    private static CompiledLimitPolicy weeklyLimit(String maxAmount) {
+        BetLimitPolicy policy = new BetLimitPolicy(1L, LimitPeriod.WEEKLY.name(), BetTypes.ALL);
+        policy.setMaxAmount(new BigDecimal(maxAmount));
+        policy.setVersion(0L);
+        return CompiledLimitPolicy.compile(List.of(policy));
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.dto.BetResponseDTO;
+import br.com.fiap.consciousbet.dto.BetSearchDTO;
+import br.com.fiap.consciousbet.entity.Bet;
+import br.com.fiap.consciousbet.entity.User;
+import br.com.fiap.consciousbet.mapper.BetMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Número de statements por finder de leitura: a projeção DTO_SELECT traz aposta e usuário numa única
+// consulta, qualquer que seja o número de usuários distintos no resultado (sem N+1 em Bet.user).
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BetRepositoryStatementCountTest {
+
+    private static final int USERS = 3;
+    private static final int BETS_PER_USER = 4;
+
+    @Autowired
+    private BetRepository betRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long firstUserId;
+    private final List<Long> betIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int u = 0; u < USERS; u++) {
+            User user = entityManager.persist(new User("User " + u, "stmt-count-" + u + "@x.com", 30));
+            if (firstUserId == null) {
+                firstUserId = user.getId();
+            }
+            for (int b = 0; b < BETS_PER_USER; b++) {
+                Bet bet = new Bet(new BigDecimal("10.00"), b % 2 == 0 ? "SPORTS" : "CASINO", "bet " + b, user);
+                betIds.add(entityManager.persist(bet).getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void entityFinderWithMapperLoadsEachDistinctUser() {
+        // O caminho antigo (entidade + BetMapper) para comparação: 1 consulta de apostas + 1 por usuário
+        List<BetResponseDTO> bets = statements(() -> betRepository.findAll().stream()
+                .map(BetMapper::toResponseDTO)
+                .toList(), 1 + USERS);
+
+        assertEquals(USERS * BETS_PER_USER, bets.size());
+    }
+
+    @Test
+    void findByIdAsDtoUsesOneStatement() {
+        BetResponseDTO bet = statements(() -> betRepository.findByIdAsDto(betIds.get(0)).orElseThrow(), 1);
+
+        assertEquals("User 0", bet.getUserName());
+    }
+
+    @Test
+    void findAllByIdAsDtoUsesOneStatement() {
+        List<BetResponseDTO> bets = statements(() -> betRepository.findAllByIdAsDto(betIds), 1);
+
+        assertEquals(USERS * BETS_PER_USER, bets.size());
+        assertAllUsersNamed(bets);
+    }
+
+    @Test
+    void findPageAsDtoUsesOneStatement() {
+        List<BetResponseDTO> bets = statements(() -> betRepository.findPageAsDto(PageRequest.of(0, 100)), 1);
+
+        assertEquals(USERS * BETS_PER_USER, bets.size());
+        assertAllUsersNamed(bets);
+    }
+
+    @Test
+    void findByUserIdAsDtoUsesOneStatement() {
+        List<BetResponseDTO> bets = statements(() -> betRepository.findByUserIdAsDto(firstUserId), 1);
+
+        assertEquals(BETS_PER_USER, bets.size());
+    }
+
+    @Test
+    void pagedFindByUserIdAsDtoUsesSelectAndCount() {
+        Page<BetResponseDTO> page = statements(() -> betRepository.findByUserIdAsDto(firstUserId, PageRequest.of(0, 2)), 2);
+
+        assertEquals(BETS_PER_USER, page.getTotalElements());
+    }
+
+    @Test
+    void findByUserIdAndTimestampAfterAsDtoUsesOneStatement() {
+        List<BetResponseDTO> bets = statements(() -> betRepository.findByUserIdAndTimestampAfterAsDto(firstUserId,
+                LocalDateTime.now().minusDays(1)), 1);
+
+        assertEquals(BETS_PER_USER, bets.size());
+    }
+
+    @Test
+    void findByTypeAsDtoUsesOneStatement() {
+        List<BetResponseDTO> bets = statements(() -> betRepository.findByTypeAsDto("SPORTS"), 1);
+
+        assertEquals(USERS * BETS_PER_USER / 2, bets.size());
+        assertAllUsersNamed(bets);
+    }
+
+    @Test
+    void findByStatusAsDtoUsesOneStatement() {
+        List<BetResponseDTO> bets = statements(() -> betRepository.findByStatusAsDto("PENDING"), 1);
+
+        assertEquals(USERS * BETS_PER_USER, bets.size());
+        assertAllUsersNamed(bets);
+    }
+
+    @Test
+    void keysetSlicesUseOneStatement() {
+        Slice<BetResponseDTO> first = statements(() -> betRepository.findFirstSlice(PageRequest.of(0, 5)), 1);
+        BetResponseDTO last = first.getContent().get(first.getNumberOfElements() - 1);
+        statistics.clear();
+        statements(() -> betRepository.findSliceBefore(last.getTimestamp(), last.getId(), PageRequest.of(0, 5)), 1);
+        statistics.clear();
+        Slice<BetResponseDTO> byUser = statements(() -> betRepository.findFirstSliceByUserId(firstUserId,
+                PageRequest.of(0, 2)), 1);
+        BetResponseDTO lastOfUser = byUser.getContent().get(byUser.getNumberOfElements() - 1);
+        statistics.clear();
+        statements(() -> betRepository.findSliceByUserIdBefore(firstUserId, lastOfUser.getTimestamp(),
+                lastOfUser.getId(), PageRequest.of(0, 2)), 1);
+
+        assertTrue(first.hasNext());
+        assertAllUsersNamed(first.getContent());
+    }
+
+    @Test
+    void searchUsesOneStatement() {
+        BetSearchDTO filters = new BetSearchDTO();
+        filters.setType("CASINO");
+
+        Slice<BetResponseDTO> slice = statements(() -> betRepository.search(filters, null, null, 100), 1);
+
+        assertEquals(USERS * BETS_PER_USER / 2, slice.getNumberOfElements());
+        assertAllUsersNamed(slice.getContent());
+    }
+
+    @Test
+    void streamAllAsDtoUsesOneStatement() {
+        List<BetResponseDTO> bets = statements(() -> {
+            try (Stream<BetResponseDTO> stream = betRepository.streamAllAsDto()) {
+                return stream.toList();
+            }
+        }, 1);
+
+        assertEquals(USERS * BETS_PER_USER, bets.size());
+        assertEquals(betIds, bets.stream().map(BetResponseDTO::getId).toList());
+        assertAllUsersNamed(bets);
+    }
+
+    private <T> T statements(Supplier<T> finder, long expected) {
+        T result = finder.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "prepared statements");
+        return result;
+    }
+
+    private static void assertAllUsersNamed(List<BetResponseDTO> bets) {
+        for (BetResponseDTO bet : bets) {
+            assertNotNull(bet.getUserName());
+            assertNotNull(bet.getUserEmail());
+        }
+    }
+}
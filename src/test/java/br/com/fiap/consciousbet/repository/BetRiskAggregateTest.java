@@ -0,0 +1,61 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.entity.Bet;
+import br.com.fiap.consciousbet.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Agregado da varredura de risco: todos os usuários da faixa, com ou sem apostas no período
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BetRiskAggregateTest {
+
+    @Autowired
+    private BetRepository betRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void aggregateIncludesUsersWithoutRecentBets() {
+        User active = entityManager.persist(new User("Active", "sweep-active@x.com", 30));
+        User idle = entityManager.persist(new User("Idle", "sweep-idle@x.com", 30));
+        User cancelledOnly = entityManager.persist(new User("Cancelled", "sweep-cancelled@x.com", 30));
+        entityManager.persist(new Bet(new BigDecimal("10.00"), "SPORTS", "a", active));
+        entityManager.persist(new Bet(new BigDecimal("15.00"), "CASINO", "b", active));
+        Bet cancelled = new Bet(new BigDecimal("20.00"), "SPORTS", "c", cancelledOnly);
+        cancelled.setStatus("CANCELLED");
+        entityManager.persist(cancelled);
+        entityManager.flush();
+        entityManager.clear();
+
+        long from = Math.min(active.getId(), Math.min(idle.getId(), cancelledOnly.getId()));
+        long to = Math.max(active.getId(), Math.max(idle.getId(), cancelledOnly.getId()));
+        List<BetRiskAggregateView> rows = betRepository.aggregateByUserIdRangeSince(from, to,
+                LocalDateTime.now().minusHours(24));
+        Map<Long, BetRiskAggregateView> byUser = rows.stream()
+                .collect(Collectors.toMap(BetRiskAggregateView::getUserId, Function.identity()));
+
+        assertEquals(3, rows.size());
+        assertEquals(2, byUser.get(active.getId()).getBets());
+        assertEquals(0, new BigDecimal("25.00").compareTo(byUser.get(active.getId()).getAmount()));
+        assertEquals(0, byUser.get(idle.getId()).getBets());
+        assertNull(byUser.get(idle.getId()).getAmount());
+        assertNull(byUser.get(idle.getId()).getLastBetAt());
+        assertEquals(0, byUser.get(cancelledOnly.getId()).getBets());
+    }
+}
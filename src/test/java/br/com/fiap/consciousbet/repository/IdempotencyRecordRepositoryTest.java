@@ -0,0 +1,50 @@
+package br.com.fiap.consciousbet.repository;
+
+import br.com.fiap.consciousbet.entity.IdempotencyRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Banco H2 do perfil h2 (modo MySQL), com as migrações do Flyway aplicadas
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IdempotencyRecordRepositoryTest {
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Test
+    void saveInsertsNewKey() {
+        recordRepository.saveAndFlush(new IdempotencyRecord("key-insert", "hash-a", 1L));
+
+        IdempotencyRecord stored = recordRepository.findById("key-insert").orElseThrow();
+        assertEquals("hash-a", stored.getRequestHash());
+        assertEquals(1L, stored.getBetId());
+        assertFalse(stored.isNew());
+    }
+
+    @Test
+    void duplicateKeyViolatesPrimaryKeyInsteadOfMerging() {
+        recordRepository.saveAndFlush(new IdempotencyRecord("key-duplicate", "hash-a", 1L));
+
+        // Simula a outra requisição: instância nova com a mesma chave
+        assertThrows(DataIntegrityViolationException.class, () ->
+                recordRepository.saveAndFlush(new IdempotencyRecord("key-duplicate", "hash-b", 2L)));
+    }
+
+    @Test
+    void deleteExpiredOnlyRemovesOldKey() {
+        recordRepository.saveAndFlush(new IdempotencyRecord("key-fresh", "hash-a", 1L));
+
+        assertEquals(0, recordRepository.deleteExpired("key-fresh", LocalDateTime.now().minusHours(1)));
+        assertEquals(1, recordRepository.deleteExpired("key-fresh", LocalDateTime.now().plusMinutes(1)));
+    }
+}
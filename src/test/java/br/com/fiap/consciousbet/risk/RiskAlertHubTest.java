@@ -0,0 +1,122 @@
+package br.com.fiap.consciousbet.risk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class RiskAlertHubTest {
+
+    private static final long SEND_TIMEOUT_MS = 1_000;
+
+    private final RiskAlertHub hub = new RiskAlertHub(mock(RiskStateStore.class), 100, 5, 30, 2, SEND_TIMEOUT_MS);
+
+    @AfterEach
+    void stop() {
+        hub.stop();
+    }
+
+    @Test
+    void stalledClientDoesNotDelayOthersAndIsDropped() throws InterruptedException {
+        TestEmitter stalled = new TestEmitter(true);
+        TestEmitter healthy = new TestEmitter(false);
+        hub.subscribe(1L, stalled);
+        hub.subscribe(2L, healthy);
+
+        hub.publish(1L, "risk", "a");
+        assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+        hub.publish(1L, "risk", "b");
+        hub.publish(2L, "risk", "c");
+
+        // O envio preso ocupa uma thread; o outro cliente recebe pela outra
+        assertTrue(healthy.sent.await(5, TimeUnit.SECONDS));
+
+        hub.dropStalled(System.currentTimeMillis() + SEND_TIMEOUT_MS + 1);
+        assertFalse(hub.hasSubscribers(1L));
+        assertTrue(hub.hasSubscribers(2L));
+        assertEquals(1, hub.getSubscriberCount());
+
+        // Quando o container desiste da escrita, o evento pendente é descartado e o emitter encerrado
+        stalled.release.countDown();
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, stalled.sendCount.get());
+    }
+
+    @Test
+    void clientFallingTooFarBehindIsDropped() throws InterruptedException {
+        TestEmitter stalled = new TestEmitter(true);
+        hub.subscribe(1L, stalled);
+
+        hub.publish(1L, "risk", "first");
+        assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i <= RiskAlertHub.MAX_PENDING_EVENTS; i++) {
+            hub.publish(1L, "risk", i);
+        }
+
+        assertFalse(hub.hasSubscribers(1L));
+        assertEquals(0, hub.getSubscriberCount());
+        stalled.release.countDown();
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, stalled.sendCount.get());
+    }
+
+    @Test
+    void failedSendDropsTheSubscriber() throws InterruptedException {
+        TestEmitter broken = new TestEmitter(false) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        hub.subscribe(1L, broken);
+
+        hub.publish(1L, "risk", "a");
+
+        assertTrue(broken.completed.await(5, TimeUnit.SECONDS));
+        assertFalse(hub.hasSubscribers(1L));
+    }
+
+    private static class TestEmitter extends SseEmitter {
+
+        private final boolean blocking;
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch sent = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final AtomicInteger sendCount = new AtomicInteger();
+
+        TestEmitter(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sendCount.incrementAndGet();
+            sending.countDown();
+            if (blocking) {
+                try {
+                    // Simula um cliente que parou de ler: a escrita só volta quando liberada
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.countDown();
+        }
+
+        @Override
+        public void complete() {
+            super.complete();
+            completed.countDown();
+        }
+    }
+}
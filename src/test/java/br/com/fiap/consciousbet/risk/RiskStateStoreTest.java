@@ -0,0 +1,178 @@
+package br.com.fiap.consciousbet.risk;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.entity.UserBetStatsHourly;
+import br.com.fiap.consciousbet.event.BetEvent;
+import br.com.fiap.consciousbet.repository.BetAmountView;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import br.com.fiap.consciousbet.repository.UserBetStatsHourlyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RiskStateStoreTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final LocalDateTime recent = LocalDateTime.now().minusHours(2);
+
+    private final BetRepository betRepository = mock(BetRepository.class);
+    private final UserBetStatsHourlyRepository hourlyRepository = mock(UserBetStatsHourlyRepository.class);
+    private final PrimaryReads primaryReads = mock(PrimaryReads.class);
+    private final RiskStateStore store = new RiskStateStore(betRepository, hourlyRepository,
+            mock(ApplicationEventPublisher.class), primaryReads);
+
+    @BeforeEach
+    void runPrimaryReadsInline() {
+        when(primaryReads.read(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+    }
+
+    @Test
+    void reconcileCountsEachBetOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime recent = now.minusHours(2);
+        LocalDateTime old = now.minusDays(3);
+
+        // Banco: uma aposta recente e uma antiga, ambas também presentes no rollup por hora
+        when(betRepository.findAmountsByUserIdAndTimestampAfter(eq(USER_ID), any())).thenAnswer(invocation -> {
+            LocalDateTime since = invocation.getArgument(1);
+            return List.of(amount(recent, "10.00"), amount(old, "20.00")).stream()
+                    .filter(bet -> !bet.getTimestamp().isBefore(since))
+                    .collect(Collectors.toList());
+        });
+        when(hourlyRepository.findByUserIdAndHourStartGreaterThanEqualAndHourStartLessThan(eq(USER_ID), any(), any()))
+                .thenAnswer(invocation -> {
+                    LocalDateTime since = invocation.getArgument(1);
+                    LocalDateTime until = invocation.getArgument(2);
+                    return List.of(hourly(recent, "10.00"), hourly(old, "20.00")).stream()
+                            .filter(bucket -> !bucket.getHourStart().isBefore(since) && bucket.getHourStart().isBefore(until))
+                            .collect(Collectors.toList());
+                });
+
+        RiskFeatures features = store.snapshot(USER_ID).getFeatures();
+
+        assertEquals(1, features.getBets24h());
+        assertEquals(1000, features.getCents24h());
+        assertEquals(2, features.getBets7d());
+        assertEquals(3000, features.getCents7d());
+        assertEquals(2, features.getBets30d());
+        assertEquals(3000, features.getCents30d());
+    }
+
+    @Test
+    void betCommittedDuringLoadIsCountedOnce() {
+        // A carga já leu a aposta 1; o evento dela chega antes de o estado ser instalado
+        givenLoad(() -> store.onBetEvent(BetEvent.created(1L, USER_ID, "SPORTS", recent, new BigDecimal("10.00"))),
+                amount(1L, recent, "10.00"));
+
+        RiskFeatures features = store.snapshot(USER_ID).getFeatures();
+
+        assertEquals(1, features.getBets24h());
+        assertEquals(1000, features.getCents24h());
+    }
+
+    @Test
+    void betCommittedAfterReadIsAppliedFromBuffer() {
+        // A aposta 2 foi gravada depois da leitura: só o evento a traz
+        givenLoad(() -> store.onBetEvent(BetEvent.created(2L, USER_ID, "SPORTS", recent, new BigDecimal("5.00"))),
+                amount(1L, recent, "10.00"));
+
+        RiskFeatures features = store.snapshot(USER_ID).getFeatures();
+
+        assertEquals(2, features.getBets24h());
+        assertEquals(1500, features.getCents24h());
+        verify(betRepository, times(1)).findAmountsByUserIdAndTimestampAfter(eq(USER_ID), any());
+    }
+
+    @Test
+    void cancellationDuringLoadForcesReload() {
+        AtomicInteger loads = new AtomicInteger();
+        when(betRepository.findAmountsByUserIdAndTimestampAfter(eq(USER_ID), any())).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                // Não dá para saber se a linha lida é de antes ou depois do cancelamento
+                store.onBetEvent(new BetEvent(BetEvent.Kind.CANCELLED, 1L, USER_ID, "SPORTS", recent,
+                        new BigDecimal("-10.00"), -1));
+                return List.of(amount(1L, recent, "10.00"));
+            }
+            return List.of();
+        });
+
+        RiskFeatures features = store.snapshot(USER_ID).getFeatures();
+
+        assertEquals(2, loads.get());
+        assertEquals(0, features.getBets24h());
+        assertEquals(0, features.getCents24h());
+    }
+
+    @Test
+    void eventsAfterInstallAreAppliedDirectly() {
+        givenLoad(() -> { }, amount(1L, recent, "10.00"));
+        store.snapshot(USER_ID);
+
+        store.onBetEvent(BetEvent.created(2L, USER_ID, "SPORTS", recent, new BigDecimal("5.00")));
+
+        assertEquals(2, store.snapshot(USER_ID).getFeatures().getBets24h());
+        verify(betRepository, times(1)).findAmountsByUserIdAndTimestampAfter(eq(USER_ID), any());
+    }
+
+    // Banco com as apostas 'rows'; 'duringRead' roda no meio da leitura, depois de as linhas serem lidas
+    private void givenLoad(Runnable duringRead, BetAmountView... rows) {
+        when(betRepository.findAmountsByUserIdAndTimestampAfter(eq(USER_ID), any())).thenAnswer(invocation -> {
+            duringRead.run();
+            return List.of(rows);
+        });
+    }
+
+    private static BetAmountView amount(LocalDateTime timestamp, String value) {
+        return amount(null, timestamp, value);
+    }
+
+    private static BetAmountView amount(Long id, LocalDateTime timestamp, String value) {
+        return new BetAmountView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getTimestamp() {
+                return timestamp;
+            }
+
+            @Override
+            public String getType() {
+                return "SPORTS";
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(value);
+            }
+        };
+    }
+
+    private static UserBetStatsHourly hourly(LocalDateTime timestamp, String value) {
+        UserBetStatsHourly bucket = new UserBetStatsHourly();
+        bucket.setUserId(USER_ID);
+        bucket.setHourStart(timestamp.truncatedTo(ChronoUnit.HOURS));
+        bucket.setTotalAmount(new BigDecimal(value));
+        bucket.setTotalBets(1L);
+        return bucket;
+    }
+}
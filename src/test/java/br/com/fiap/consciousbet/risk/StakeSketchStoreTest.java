@@ -0,0 +1,133 @@
+package br.com.fiap.consciousbet.risk;
+
+import br.com.fiap.consciousbet.datasource.PrimaryReads;
+import br.com.fiap.consciousbet.entity.UserStakeSketch;
+import br.com.fiap.consciousbet.event.BetEvent;
+import br.com.fiap.consciousbet.repository.BetRepository;
+import br.com.fiap.consciousbet.repository.UserStakeSketchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Gravação dos sketches com várias instâncias: cada uma soma só as suas apostas ao sketch da tabela
+class StakeSketchStoreTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final BetRepository betRepository = mock(BetRepository.class);
+    private final UserStakeSketchRepository sketchRepository = mock(UserStakeSketchRepository.class);
+    private final PrimaryReads primaryReads = mock(PrimaryReads.class);
+    private final StakeSketchStore store = new StakeSketchStore(betRepository, sketchRepository,
+            mock(ApplicationEventPublisher.class), mock(PlatformTransactionManager.class), primaryReads, 90, 1000);
+
+    @BeforeEach
+    void runPrimaryReadsInline() {
+        when(primaryReads.read(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+    }
+
+    @Test
+    void versionConflictMergesIntoTheOtherInstanceSketch() {
+        when(sketchRepository.findById(USER_ID)).thenReturn(row(20, 3L));
+        store.onBetEvent(created("10.00"));
+        store.onBetEvent(created("10.00"));
+
+        // Outra instância gravou 5 apostas entre a leitura e o UPDATE
+        when(sketchRepository.findById(USER_ID)).thenReturn(row(20, 3L), row(25, 4L));
+        when(sketchRepository.updateIfVersion(eq(USER_ID), any(), anyLong(), eq(3L))).thenReturn(0);
+        when(sketchRepository.updateIfVersion(eq(USER_ID), any(), anyLong(), eq(4L))).thenReturn(1);
+        store.flush();
+
+        verify(sketchRepository).updateIfVersion(eq(USER_ID), any(), eq(22L), eq(3L));
+        verify(sketchRepository).updateIfVersion(eq(USER_ID), any(), eq(27L), eq(4L));
+    }
+
+    @Test
+    void firstWriteInsertsRecentHistoryCapped() {
+        when(sketchRepository.findById(USER_ID)).thenReturn(Optional.empty());
+        when(betRepository.findRecentAmountsByUserId(eq(USER_ID), any(), eq(PageRequest.of(0, 1000))))
+                .thenReturn(List.of(new BigDecimal("10.00"), new BigDecimal("12.00"), new BigDecimal("8.00")));
+        // A primeira aposta já está no histórico carregado; a segunda é nova
+        store.onBetEvent(created("10.00"));
+        store.onBetEvent(created("11.00"));
+
+        store.flush();
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(betRepository).findRecentAmountsByUserId(eq(USER_ID), since.capture(), any());
+        assertEquals(LocalDateTime.now().minusDays(90).toLocalDate(), since.getValue().toLocalDate());
+        verify(sketchRepository).insert(eq(USER_ID), any(), eq(4L));
+    }
+
+    @Test
+    void rowCreatedByAnotherInstanceReplacesLoadedHistory() {
+        when(sketchRepository.findById(USER_ID)).thenReturn(Optional.empty());
+        when(betRepository.findRecentAmountsByUserId(eq(USER_ID), any(), any()))
+                .thenReturn(List.of(new BigDecimal("10.00"), new BigDecimal("12.00")));
+        store.onBetEvent(created("10.00"));
+        store.onBetEvent(created("11.00"));
+
+        // A outra instância inseriu primeiro, com o mesmo histórico: só a aposta nova é somada a ele
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(sketchRepository).insert(eq(USER_ID), any(), anyLong());
+        when(sketchRepository.findById(USER_ID)).thenReturn(Optional.empty(), row(2, 0L));
+        when(sketchRepository.updateIfVersion(eq(USER_ID), any(), anyLong(), eq(0L))).thenReturn(1);
+        store.flush();
+
+        verify(sketchRepository).updateIfVersion(eq(USER_ID), any(), eq(3L), eq(0L));
+
+        // Nada pendente: a próxima gravação não reescreve
+        store.flush();
+        verify(sketchRepository, never()).updateIfVersion(eq(USER_ID), any(), eq(3L), eq(1L));
+    }
+
+    @Test
+    void failedWriteKeepsBetsForNextFlush() {
+        when(sketchRepository.findById(USER_ID)).thenReturn(row(20, 3L));
+        store.onBetEvent(created("10.00"));
+        when(sketchRepository.updateIfVersion(eq(USER_ID), any(), anyLong(), eq(3L))).thenReturn(0);
+        store.flush();
+
+        store.onBetEvent(created("10.00"));
+        when(sketchRepository.updateIfVersion(eq(USER_ID), any(), anyLong(), eq(3L))).thenReturn(1);
+        store.flush();
+
+        verify(sketchRepository).updateIfVersion(eq(USER_ID), any(), eq(22L), eq(3L));
+    }
+
+    private static BetEvent created(String amount) {
+        return BetEvent.created(null, USER_ID, "SPORTS", LocalDateTime.now(), new BigDecimal(amount));
+    }
+
+    private static Optional<UserStakeSketch> row(int bets, long version) {
+        StakeSketch sketch = new StakeSketch();
+        for (int i = 0; i < bets; i++) {
+            sketch.add(1_000);
+        }
+        UserStakeSketch row = new UserStakeSketch();
+        row.setUserId(USER_ID);
+        row.setSketch(sketch.toBytes());
+        row.setBetCount((long) bets);
+        row.setVersion(version);
+        return Optional.of(row);
+    }
+}
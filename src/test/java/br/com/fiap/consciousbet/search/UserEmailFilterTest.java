@@ -0,0 +1,69 @@
+package br.com.fiap.consciousbet.search;
+
+import br.com.fiap.consciousbet.repository.UserEmailView;
+import br.com.fiap.consciousbet.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserEmailFilterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void syncAddsEmailsWrittenByOtherInstances() {
+        UserEmailFilter filter = loadedFilter(60_000, "ana@x.com");
+        assertFalse(filter.mightContain("bia@x.com"));
+
+        // Cadastrado em outra instância: chega pela sincronização incremental
+        when(userRepository.findEmailsUpdatedAfter(any())).thenReturn(List.of(email(2L, "bia@x.com")));
+        filter.sync();
+
+        assertTrue(filter.mightContain("bia@x.com"));
+        assertTrue(filter.mightContain("ana@x.com"));
+    }
+
+    @Test
+    void negativesAreNotTrustedWhenSyncFallsBehind() throws InterruptedException {
+        UserEmailFilter filter = loadedFilter(1, "ana@x.com");
+        when(userRepository.findEmailsUpdatedAfter(any())).thenThrow(new IllegalStateException("database down"));
+
+        Thread.sleep(20);
+        filter.sync();
+
+        assertTrue(filter.mightContain("bia@x.com"));
+    }
+
+    private UserEmailFilter loadedFilter(long syncMs, String email) {
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.findEmailSliceAfter(anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(email(1L, email)), PageRequest.of(0, 1), false));
+        UserEmailFilter filter = new UserEmailFilter(userRepository, mock(PlatformTransactionManager.class), 0.01, syncMs);
+        filter.rebuild();
+        return filter;
+    }
+
+    private static UserEmailView email(Long id, String emailNormalized) {
+        return new UserEmailView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmailNormalized() {
+                return emailNormalized;
+            }
+        };
+    }
+}
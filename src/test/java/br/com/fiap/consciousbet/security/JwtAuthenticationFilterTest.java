@@ -0,0 +1,66 @@
+package br.com.fiap.consciousbet.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtUtil jwtUtil = spy(new JwtUtil(10_000));
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatedRequestVerifiesTokenOnce() throws Exception {
+        String token = new JwtUtil(10_000).generateToken("ana@x.com");
+
+        filter.doFilter(request("/api/bets", token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("ana@x.com", authentication.getPrincipal());
+        // Nenhuma outra chamada (isTokenExpired, validateToken, extractEmail) parseando o token de novo
+        verify(jwtUtil, times(1)).verify(token);
+        verifyNoMoreInteractions(jwtUtil);
+    }
+
+    @Test
+    void invalidTokenLeavesRequestUnauthenticated() throws Exception {
+        filter.doFilter(request("/api/bets", "not-a-jwt"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(jwtUtil, times(1)).verify("not-a-jwt");
+        verifyNoMoreInteractions(jwtUtil);
+    }
+
+    @Test
+    void publicUrlSkipsVerification() throws Exception {
+        filter.doFilter(request("/auth/login", "not-a-jwt"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(jwtUtil, never()).verify(anyString());
+    }
+
+    private static MockHttpServletRequest request(String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.fiap.consciousbet.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTest {
+
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+
+    private final JwtUtil jwtUtil = new JwtUtil(10_000);
+
+    @Test
+    void verifyReturnsSubjectOfValidToken() {
+        String token = jwtUtil.generateToken("ana@x.com");
+
+        assertEquals("ana@x.com", jwtUtil.verify(token));
+        // Segunda vez vem do cache
+        assertEquals("ana@x.com", jwtUtil.verify(token));
+        assertTrue(jwtUtil.validateToken(token));
+    }
+
+    @Test
+    void verifyRejectsTamperedForeignAndExpiredTokens() {
+        String token = jwtUtil.generateToken("ana@x.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String foreign = Jwts.builder()
+                .setSubject("ana@x.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("another-secret-key-that-is-long-enough-for-hs512-algorithm-requirements"
+                        .getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+        String expired = Jwts.builder()
+                .setSubject("ana@x.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(("consciousbet-secret-key-that-is-long-enough-for-hs512-algorithm-" +
+                        "security-requirements").getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertNull(jwtUtil.verify(tampered));
+        assertNull(jwtUtil.verify(foreign));
+        assertNull(jwtUtil.verify(expired));
+        assertNull(jwtUtil.verify("not-a-jwt"));
+    }
+
+    @Test
+    void cacheStaysBounded() {
+        JwtUtil small = new JwtUtil(10);
+        for (int i = 0; i < 50; i++) {
+            String email = "user" + i + "@x.com";
+            assertEquals(email, small.verify(small.generateToken(email)));
+            assertTrue(small.cachedTokens() <= 10, "cached tokens: " + small.cachedTokens());
+        }
+    }
+
+    @Test
+    void concurrentVerificationsReturnEachSubject() throws Exception {
+        JwtUtil small = new JwtUtil(16);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            tokens.add(small.generateToken("user" + i + "@x.com"));
+        }
+
+        // Mais tokens que a capacidade: acertos, inserções e remoções ao mesmo tempo
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        int index = (i + offset) % tokens.size();
+                        assertEquals("user" + index + "@x.com", small.verify(tokens.get(index)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // Inserções concorrentes com uma limpeza em andamento podem passar do limite por uma por thread
+        assertTrue(small.cachedTokens() <= 16 + 8, "cached tokens: " + small.cachedTokens());
+    }
+
+    // Microbenchmark (JUnit, sem JMH): verificação completa (HMAC-SHA512 + parse) contra acerto no cache.
+    // Só roda com -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void cachedVerificationIsCheaperThanParsing() {
+        JwtUtil uncached = new JwtUtil(0);
+        String token = jwtUtil.generateToken("ana@x.com");
+
+        measure(uncached, token, WARMUP_ITERATIONS);
+        measure(jwtUtil, token, WARMUP_ITERATIONS);
+        double parseNanos = measure(uncached, token, MEASURED_ITERATIONS);
+        double cachedNanos = measure(jwtUtil, token, MEASURED_ITERATIONS);
+
+        assertTrue(cachedNanos * 3 < parseNanos,
+                String.format("%.0f ns/op cached vs %.0f ns/op parsed", cachedNanos, parseNanos));
+    }
+
+    // ns/op; o resultado é conferido para o JIT não eliminar as chamadas
+    private static double measure(JwtUtil jwtUtil, String token, int iterations) {
+        int verified = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (jwtUtil.verify(token) != null) {
+                verified++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        assertEquals(iterations, verified);
+        return (double) elapsed / iterations;
+    }
+}